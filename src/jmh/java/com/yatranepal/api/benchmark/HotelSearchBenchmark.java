@@ -0,0 +1,104 @@
+package com.yatranepal.api.benchmark;
+
+import com.yatranepal.api.repository.HotelRepository;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.HotelSearchIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One /hotels/search request against the in-memory index: the scan, the facet counts and the sort
+// of the matches; loading the page of hotels from the database is not included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotelSearchBenchmark {
+
+    private static final String[] CITIES = {"Kathmandu", "Pokhara", "Chitwan", "Lumbini", "Nagarkot", "Bandipur",
+            "Mustang", "Dharan", "Janakpur", "Ilam", "Bhaktapur", "Lalitpur"};
+    private static final String[] TYPES = {"Hotel", "Resort", "Lodge", "Guest House"};
+
+    @Param({"10000", "100000"})
+    private int hotels;
+
+    private HotelSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<HotelRepository.SearchRow> rows = new ArrayList<>();
+        for (int h = 0; h < hotels; h++) {
+            rows.add(new Row(h + 1L, "Hotel " + h, TYPES[random.nextInt(TYPES.length)],
+                    CITIES[random.nextInt(CITIES.length)], (1 + random.nextInt(150)) / 10.0 + "km from center",
+                    1 + random.nextInt(40) / 10.0, 500.0 + random.nextInt(300) * 50, random.nextInt(20) == 0));
+        }
+        HotelRepository repository = Mockito.mock(HotelRepository.class);
+        Mockito.when(repository.findSearchRows()).thenReturn(rows);
+        index = new HotelSearchIndex();
+        ReflectionTestUtils.setField(index, "hotelRepository", repository);
+        ReflectionTestUtils.setField(index, "catalogVersionService", Mockito.mock(CatalogVersionService.class));
+        ReflectionTestUtils.setField(index, "priceBuckets", new double[]{1000, 2500, 5000, 10000});
+        index.reload();
+    }
+
+    // Landing page: no filters, default order, all facets
+    @Benchmark
+    public HotelSearchIndex.Result unfiltered() {
+        return index.search(new HotelSearchIndex.Query(null, null, null, null, null, null, null,
+                null, false, 0, 20));
+    }
+
+    // City + type + price band + rating, cheapest first
+    @Benchmark
+    public HotelSearchIndex.Result combinedFiltersByPrice() {
+        return index.search(new HotelSearchIndex.Query(List.of("Pokhara"), List.of("Hotel", "Resort"), 2000.0,
+                9000.0, 3.0, null, null, HotelSearchIndex.SortField.PRICE, false, 0, 20));
+    }
+
+    // Every hotel matches and gets sorted, the worst case for the sort
+    @Benchmark
+    public HotelSearchIndex.Result allByDistance() {
+        return index.search(new HotelSearchIndex.Query(null, null, null, null, null, null, null,
+                HotelSearchIndex.SortField.DISTANCE, false, 0, 20));
+    }
+
+    private static final class Row implements HotelRepository.SearchRow {
+        private final Long id;
+        private final String name;
+        private final String type;
+        private final String city;
+        private final String distance;
+        private final Double rating;
+        private final Double cheapestPrice;
+        private final Boolean featured;
+
+        Row(Long id, String name, String type, String city, String distance, Double rating, Double cheapestPrice,
+            Boolean featured) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.city = city;
+            this.distance = distance;
+            this.rating = rating;
+            this.cheapestPrice = cheapestPrice;
+            this.featured = featured;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getType() { return type; }
+        public String getCity() { return city; }
+        public String getDistance() { return distance; }
+        public Double getRating() { return rating; }
+        public Double getCheapestPrice() { return cheapestPrice; }
+        public Boolean getFeatured() { return featured; }
+    }
+}
@@ -0,0 +1,117 @@
+package com.yatranepal.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.yatranepal.api.model.Hotel;
+import com.yatranepal.api.model.Reservation;
+import com.yatranepal.api.model.Room;
+import com.yatranepal.api.model.Views;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies for the hotel listing and a user's reservations, serialised the way the
+// MVC message converter does it, with and without the Blackbird module JacksonConfig registers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int hotels;
+
+    @Param({"5"})
+    private int roomsPerHotel;
+
+    @Param({"50"})
+    private int reservations;
+
+    @Param({"reflection", "blackbird"})
+    private String access;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter summaryWriter;
+    private List<Hotel> hotelList;
+    private List<Reservation> reservationList;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().defaultViewInclusion(true);
+        if (access.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        summaryWriter = objectMapper.writerWithView(Views.Summary.class);
+        hotelList = new ArrayList<>();
+        for (int h = 0; h < hotels; h++) {
+            hotelList.add(hotel(h));
+        }
+        reservationList = new ArrayList<>();
+        for (int r = 0; r < reservations; r++) {
+            reservationList.add(reservation(r));
+        }
+    }
+
+    @Benchmark
+    public byte[] hotelsWithRooms() throws Exception {
+        return objectMapper.writeValueAsBytes(hotelList);
+    }
+
+    // What GET /hotels writes: the list view without rooms and descriptions
+    @Benchmark
+    public byte[] hotelsSummaryView() throws Exception {
+        return summaryWriter.writeValueAsBytes(hotelList);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws Exception {
+        return objectMapper.writeValueAsBytes(reservationList);
+    }
+
+    private Hotel hotel(int index) {
+        Hotel hotel = new Hotel("Hotel " + index, "Hotel", "Kathmandu", "Thamel, Kathmandu", "2km from center",
+                "Luxury stay in the heart of Kathmandu", "A beautiful hotel with modern amenities", 2500.0 + index);
+        hotel.setId((long) index);
+        hotel.setRating(4.5);
+        hotel.setPhotos(List.of("photo1.jpg", "photo2.jpg", "photo3.jpg"));
+        hotel.setCreatedAt(LocalDateTime.now());
+        hotel.setUpdatedAt(LocalDateTime.now());
+        // Rooms without the back-reference, which JSON leaves out anyway
+        List<Room> rooms = new ArrayList<>();
+        for (int r = 0; r < roomsPerHotel; r++) {
+            Room room = new Room("Deluxe Double Room", 3500.0, 2, "Spacious room with mountain view", null);
+            room.setId((long) index * roomsPerHotel + r);
+            List<Room.RoomNumber> numbers = new ArrayList<>();
+            for (int n = 0; n < 4; n++) {
+                numbers.add(new Room.RoomNumber(100 * (r + 1) + n, List.of(new Date(), new Date())));
+            }
+            room.setRoomNumbers(numbers);
+            rooms.add(room);
+        }
+        hotel.setRooms(rooms);
+        return hotel;
+    }
+
+    private Reservation reservation(int index) {
+        LocalDate checkIn = LocalDate.now().plusDays(index % 30);
+        Reservation reservation = new Reservation(7L, (long) index % 20, List.of(1L, 2L),
+                List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)), 10500.0);
+        reservation.setId((long) index);
+        reservation.setRoomDetails(List.of(new Reservation.RoomDetail(1L, 101, "Deluxe Double Room"),
+                new Reservation.RoomDetail(2L, 102, "Deluxe Double Room")));
+        reservation.setTransactionId("txn-" + index);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        return reservation;
+    }
+}
@@ -0,0 +1,44 @@
+package com.yatranepal.api.benchmark;
+
+import com.yatranepal.api.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Token work done on every authenticated request: signing at login, parsing in the auth filter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtService, "expiration", 86400000L);
+        token = jwtService.generateToken("42", "john_doe", "user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("42", "john_doe", "user");
+    }
+
+    // Goes through extractAllClaims: signature check plus claims parsing
+    @Benchmark
+    public String extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, "42");
+    }
+}
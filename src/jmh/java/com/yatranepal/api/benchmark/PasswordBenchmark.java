@@ -0,0 +1,34 @@
+package com.yatranepal.api.benchmark;
+
+import com.yatranepal.api.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt dominates login latency and caps logins per core, so regressions here show up directly
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User("john_doe", "john@example.com", "Nepal", "Kathmandu", "+977-9841234567", "correct horse");
+        user.encodePassword();
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return user.verifyPassword("correct horse");
+    }
+
+    @Benchmark
+    public boolean rejectPassword() {
+        return user.verifyPassword("wrong horse");
+    }
+}
@@ -0,0 +1,90 @@
+package com.yatranepal.api.benchmark.integration;
+
+import com.yatranepal.api.YatraNepalApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boots the application against a local PostgreSQL (BENCH_DB_URL, BENCH_DB_USER, BENCH_DB_PASSWORD)
+// and seeds it once. Flyway creates the schema, so the database only has to exist. Background
+// work that would compete with the measured queries is switched off.
+final class BenchmarkDatabase {
+
+    static final String[] CITIES = {"Kathmandu", "Pokhara", "Chitwan", "Lalitpur", "Bhaktapur",
+            "Lumbini", "Nagarkot", "Bandipur"};
+
+    private BenchmarkDatabase() {}
+
+    static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    // Overrides replace the defaults below, so a benchmark can switch the event dispatcher back on
+    static ConfigurableApplicationContext start(Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", env("BENCH_DB_URL", "jdbc:postgresql://localhost:5432/yatranepal_bench"));
+        properties.put("spring.datasource.username", env("BENCH_DB_USER", "postgres"));
+        properties.put("spring.datasource.password", env("BENCH_DB_PASSWORD", "postgres"));
+        properties.put("server.port", "0");
+        properties.put("spring.profiles.active", "prod"); // No per-statement SQL logging
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("sql.slow-query.enabled", "false");
+        properties.put("mail.dispatch-enabled", "false");
+        properties.put("events.dispatch-enabled", "false");
+        properties.put("rate-limit.enabled", "false");
+        properties.put("flight.opensky.url", "http://127.0.0.1:9/");
+        properties.put("flight.max-backoff-ms", "3600000");
+        properties.putAll(overrides);
+        SpringApplication application = new SpringApplication(YatraNepalApiApplication.class);
+        return application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+
+    // Idempotent: reruns against the same database reuse the data seeded the first time
+    static List<Long> seed(JdbcTemplate jdbc, int hotels, int reservationsPerHotel, int exchangeCenters) {
+        Integer existing = jdbc.queryForObject("SELECT count(*) FROM hotels WHERE name LIKE 'Bench Hotel %'", Integer.class);
+        if (existing == null || existing == 0) {
+            jdbc.update("INSERT INTO hotels (name, type, city, address, distance, title, \"desc\", rating, " +
+                    "cheapest_price, featured, created_at, updated_at) " +
+                    "SELECT 'Bench Hotel ' || g, 'Hotel', (?::text[])[1 + g % ?], 'Street ' || g, '2km from center', " +
+                    "'Bench stay', 'Seeded for benchmarks', 3 + (g % 20) / 10.0, 1000 + (g * 37) % 9000, g % 10 = 0, " +
+                    "now(), now() FROM generate_series(1, ?) g",
+                    "{" + String.join(",", CITIES) + "}", CITIES.length, hotels);
+            jdbc.update("INSERT INTO reservations (user_id, hotel_id, total_price, status, payment_method, " +
+                    "payment_status, created_at, updated_at) " +
+                    "SELECT 1 + g % 1000, h.id, 5000, (ARRAY['PENDING','CONFIRMED','CANCELLED'])[1 + g % 3], 'CASH', " +
+                    "'PENDING', now(), now() " +
+                    "FROM hotels h CROSS JOIN generate_series(1, ?) g WHERE h.name LIKE 'Bench Hotel %'",
+                    reservationsPerHotel);
+            // Two or three consecutive nights each, spread over the next six months
+            jdbc.update("INSERT INTO reservation_dates (reservation_id, reservation_date) " +
+                    "SELECT r.id, current_date + (r.id * 7 % 180)::int + n FROM reservations r " +
+                    "JOIN hotels h ON h.id = r.hotel_id CROSS JOIN generate_series(0, 2) n " +
+                    "WHERE h.name LIKE 'Bench Hotel %' AND (n < 2 OR r.id % 2 = 0)");
+            jdbc.update("INSERT INTO reservation_room_ids (reservation_id, room_id) " +
+                    "SELECT r.id, 1 + r.id % 5 FROM reservations r JOIN hotels h ON h.id = r.hotel_id " +
+                    "WHERE h.name LIKE 'Bench Hotel %'");
+            // Scattered over Nepal's bounding box, denser around the Kathmandu valley
+            jdbc.update("INSERT INTO exchange_centers (name, address, lat, lng, contact_number, hours, services, " +
+                    "owner_id, is_active, created_at, updated_at) " +
+                    "SELECT 'Bench Exchange ' || g, 'Street ' || g, " +
+                    "CASE WHEN g % 2 = 0 THEN 27.60 + random() * 0.20 ELSE 26.40 + random() * 4.00 END, " +
+                    "CASE WHEN g % 2 = 0 THEN 85.20 + random() * 0.30 ELSE 80.10 + random() * 8.00 END, " +
+                    "'01-4000000', '10:00-17:00', 'USD,EUR,INR', 1, true, now(), now() FROM generate_series(1, ?) g",
+                    exchangeCenters);
+            jdbc.execute("ANALYZE");
+        }
+        return jdbc.queryForList("SELECT id FROM hotels WHERE name LIKE 'Bench Hotel %' ORDER BY id", Long.class);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
@@ -0,0 +1,106 @@
+package com.yatranepal.api.benchmark.integration;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end throughput of the outbox dispatcher: a backlog of events becomes due at once and
+// each invocation lasts until the poller and workers have marked every one DELIVERED. Scores are
+// per event. MessagePosted has no listener, so it measures claim, lease and mark alone;
+// ReviewCreated adds HotelRatingListener's average and rating update. The timed part includes the
+// single UPDATE that makes the backlog due.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(DomainEventDispatcherBenchmark.EVENTS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DomainEventDispatcherBenchmark {
+
+    static final int EVENTS = 5000;
+
+    @Param({"MessagePosted", "ReviewCreated"})
+    private String eventType;
+
+    @Param({"2", "8"})
+    private int workers;
+
+    @Param({"100"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private List<Long> hotelIds;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(Map.of(
+                "events.dispatch-enabled", "true",
+                "events.workers", String.valueOf(workers),
+                "events.batch-size", String.valueOf(batchSize),
+                "events.poll-interval-ms", "10"));
+        jdbc = context.getBean(JdbcTemplate.class);
+        hotelIds = BenchmarkDatabase.seed(jdbc, 500, 200, 2000);
+        // Twenty reviews per benchmark hotel for the rating listener to average
+        Integer reviews = jdbc.queryForObject("SELECT count(*) FROM reviews WHERE comment = 'Bench review'", Integer.class);
+        if (reviews == null || reviews == 0) {
+            jdbc.update("INSERT INTO reviews (comment, created_at, rating, reviewed_item_id, reviewed_model, " +
+                    "updated_at, user_id) SELECT 'Bench review', now(), 1 + (h.id + g) % 5, h.id, 'HOTEL', now(), 1 " +
+                    "FROM hotels h CROSS JOIN generate_series(1, 20) g WHERE h.name LIKE 'Bench Hotel %'");
+            jdbc.execute("ANALYZE reviews");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Queued an hour ahead so the poller leaves them alone until the benchmark makes them due
+    @Setup(Level.Invocation)
+    public void queueBacklog() {
+        Long next = jdbc.queryForObject("SELECT coalesce(max(id), 0) + 1 FROM domain_events", Long.class);
+        firstId = next != null ? next : 1;
+        if (eventType.equals("ReviewCreated")) {
+            jdbc.update("INSERT INTO domain_events (aggregate_id, attempts, created_at, event_type, next_attempt_at, " +
+                    "payload, status) SELECT hotel_id, 0, localtimestamp, 'ReviewCreated', " +
+                    "localtimestamp + interval '1 hour', json_build_object('reviewId', g, 'reviewedItemId', hotel_id, " +
+                    "'reviewedModel', 'HOTEL', 'rating', 1 + g % 5)::text, 'PENDING' " +
+                    "FROM (SELECT g, (?::bigint[])[1 + g % ?] AS hotel_id FROM generate_series(1, ?) g) e",
+                    toArray(hotelIds), hotelIds.size(), EVENTS);
+        } else {
+            jdbc.update("INSERT INTO domain_events (aggregate_id, attempts, created_at, event_type, next_attempt_at, " +
+                    "payload, status) SELECT 1 + g % 50, 0, localtimestamp, 'MessagePosted', " +
+                    "localtimestamp + interval '1 hour', json_build_object('messageId', g, 'chatId', 1 + g % 50, " +
+                    "'senderId', 1)::text, 'PENDING' FROM generate_series(1, ?) g", EVENTS);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearBacklog() {
+        jdbc.update("DELETE FROM domain_events WHERE id >= ?", firstId);
+    }
+
+    @Benchmark
+    public void drainBacklog() throws InterruptedException {
+        jdbc.update("UPDATE domain_events SET next_attempt_at = localtimestamp WHERE id >= ?", firstId);
+        while (!jdbc.queryForList("SELECT 1 FROM domain_events WHERE id >= ? AND status <> 'DELIVERED' LIMIT 1",
+                Integer.class, firstId).isEmpty()) {
+            Thread.sleep(2);
+        }
+    }
+
+    private static String toArray(List<Long> ids) {
+        StringBuilder array = new StringBuilder("{");
+        for (int i = 0; i < ids.size(); i++) {
+            array.append(i > 0 ? "," : "").append(ids.get(i));
+        }
+        return array.append('}').toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.yatranepal.api.benchmark.integration;
+
+import com.yatranepal.api.dto.HotelStatsResponse;
+import com.yatranepal.api.model.Reservation;
+import com.yatranepal.api.service.HotelStatsService;
+import com.yatranepal.api.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Owner analytics at 2M reservations: series read from hotel_daily_stats against the only
+// option before it, loading the hotel's reservations and aggregating them in Java. Setup times
+// the backfill when the table is empty; refreshStay is what each reservation event costs afterwards.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class HotelStatsBenchmark {
+
+    @Param({"10000"})
+    private int hotels;
+
+    @Param({"2000000"})
+    private int reservations;
+
+    private ConfigurableApplicationContext context;
+    private HotelStatsService hotelStatsService;
+    private ReservationService reservationService;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> hotelIds;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        context = BenchmarkDatabase.start();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.executeWithoutResult(status -> seed(jdbc));
+        hotelStatsService = context.getBean(HotelStatsService.class);
+        reservationService = context.getBean(ReservationService.class);
+        today = LocalDate.now();
+
+        Integer rows = jdbc.queryForObject("SELECT count(*) FROM (SELECT 1 FROM hotel_daily_stats LIMIT 1) t", Integer.class);
+        if (rows == null || rows == 0) {
+            long started = System.nanoTime();
+            hotelStatsService.startBackfill();
+            HotelStatsService.BackfillStatus status;
+            while ((status = hotelStatsService.getBackfillStatus()).state() == HotelStatsService.BackfillState.RUNNING) {
+                Thread.sleep(100);
+            }
+            if (status.state() != HotelStatsService.BackfillState.DONE) {
+                throw new IllegalStateException("Backfill failed: " + status.error());
+            }
+            System.out.printf("hotel_daily_stats backfill: %d hotels in %d ms%n", status.hotels(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            jdbc.execute("ANALYZE");
+        }
+
+        // Sampled by reservation, so busy hotels come up as often as they're booked
+        hotelIds = jdbc.queryForList("SELECT r.hotel_id FROM reservations r JOIN hotels h ON h.id = r.hotel_id " +
+                "WHERE h.name LIKE 'Stats Hotel %' ORDER BY random() LIMIT 1000", Long.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int dailySeriesOneYear() {
+        HotelStatsResponse stats = hotelStatsService.getSeries(randomHotel(), today.minusDays(180), today.plusDays(184), "day");
+        return stats.getPoints().size();
+    }
+
+    @Benchmark
+    public int monthlySeriesTwoYears() {
+        HotelStatsResponse stats = hotelStatsService.getSeries(randomHotel(), today.minusDays(365), today.plusDays(364), "month");
+        return stats.getPoints().size();
+    }
+
+    // Daily room nights and revenue the way a client had to compute them: every reservation
+    // of the hotel with its dates and rooms
+    @Benchmark
+    public int dailySeriesClientSide() {
+        Long hotelId = randomHotel();
+        LocalDate from = today.minusDays(180);
+        LocalDate to = today.plusDays(184);
+        Map<LocalDate, double[]> byDay = transactionTemplate.execute(status -> {
+            Map<LocalDate, double[]> totals = new HashMap<>();
+            for (Reservation reservation : reservationService.getReservationsByHotelId(hotelId)) {
+                if (reservation.getStatus() == Reservation.ReservationStatus.CANCELLED || reservation.getDates().isEmpty()) {
+                    continue;
+                }
+                int rooms = Math.max(1, reservation.getRoomIds().size());
+                double nightly = reservation.getTotalPrice() / reservation.getDates().size();
+                for (LocalDate day : reservation.getDates()) {
+                    if (!day.isBefore(from) && !day.isAfter(to)) {
+                        double[] total = totals.computeIfAbsent(day, d -> new double[2]);
+                        total[0] += rooms;
+                        total[1] += nightly;
+                    }
+                }
+            }
+            return totals;
+        });
+        return byDay.size();
+    }
+
+    // One reservation event: a stay of three nights re-aggregated for its hotel
+    @Benchmark
+    public void refreshStay() {
+        LocalDate arrival = today.plusDays(ThreadLocalRandom.current().nextInt(-180, 180));
+        hotelStatsService.refreshDays(randomHotel(), List.of(arrival, arrival.plusDays(1), arrival.plusDays(2)));
+    }
+
+    private Long randomHotel() {
+        return hotelIds.get(ThreadLocalRandom.current().nextInt(hotelIds.size()));
+    }
+
+    // Idempotent like BenchmarkDatabase.seed. Hotels are picked with a squared skew, so a few
+    // hundred busy hotels hold thousands of reservations each; stays of one to four nights fall
+    // within a year either side of today.
+    private void seed(JdbcTemplate jdbc) {
+        Integer existing = jdbc.queryForObject("SELECT count(*) FROM hotels WHERE name LIKE 'Stats Hotel %'", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbc.update("INSERT INTO hotels (name, type, city, address, distance, title, \"desc\", rating, " +
+                "cheapest_price, featured, created_at, updated_at) " +
+                "SELECT 'Stats Hotel ' || g, 'Hotel', (?::text[])[1 + g % ?], 'Street ' || g, '2km from center', " +
+                "'Stats stay', 'Seeded for benchmarks', 3 + (g % 20) / 10.0, 1000 + (g * 37) % 9000, false, " +
+                "now(), now() FROM generate_series(1, ?) g",
+                "{" + String.join(",", BenchmarkDatabase.CITIES) + "}", BenchmarkDatabase.CITIES.length, hotels);
+        Long firstHotel = jdbc.queryForObject("SELECT min(id) FROM hotels WHERE name LIKE 'Stats Hotel %'", Long.class);
+        Long firstReservation = jdbc.queryForObject("SELECT coalesce(max(id), 0) + 1 FROM reservations", Long.class);
+        jdbc.update("INSERT INTO reservations (id, user_id, hotel_id, total_price, status, payment_method, " +
+                "payment_status, created_at, updated_at) " +
+                "SELECT ? + g, 1 + g % 1000, ? + floor(? * power(((g * 7919) % 1000003) / 1000003.0, 2))::bigint, " +
+                "(1 + g % 4) * (2000 + (g * 31) % 6000), " +
+                "(ARRAY['CONFIRMED','CONFIRMED','CONFIRMED','PENDING','CANCELLED','CONFIRMED','PENDING'," +
+                "'CANCELLED','CONFIRMED','CANCEL_REQUESTED'])[1 + g % 10], 'CASH', 'PENDING', now(), now() " +
+                "FROM generate_series(0, ? - 1) AS s(n) CROSS JOIN LATERAL (SELECT CAST(n AS bigint) AS g) b",
+                firstReservation, firstHotel, hotels, reservations);
+        jdbc.update("INSERT INTO reservation_dates (reservation_id, reservation_date) " +
+                "SELECT r.id, current_date - 365 + ((r.id * 104729) % 730)::int + n " +
+                "FROM reservations r CROSS JOIN generate_series(0, 3) n " +
+                "WHERE r.id >= ? AND n < 1 + (r.id - ?) % 4",
+                firstReservation, firstReservation);
+        jdbc.update("INSERT INTO reservation_room_ids (reservation_id, room_id) " +
+                "SELECT r.id, 1 + r.id % 5 FROM reservations r CROSS JOIN generate_series(1, 2) n " +
+                "WHERE r.id >= ? AND (n = 1 OR r.id % 3 = 0)", firstReservation);
+        jdbc.queryForObject("SELECT setval(pg_get_serial_sequence('reservations', 'id'), max(id)) FROM reservations", Long.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.yatranepal.api.benchmark.integration;
+
+import com.yatranepal.api.model.ExchangeCenter;
+import com.yatranepal.api.model.Reservation;
+import com.yatranepal.api.service.ExchangeCenterService;
+import com.yatranepal.api.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository hot paths through the real services, Hibernate and HikariCP. Sample mode keeps the
+// latency distribution, so the JSON result carries p50/p99 per query as well as the mean.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"500"})
+    private int hotels;
+
+    @Param({"200"})
+    private int reservationsPerHotel;
+
+    @Param({"2000"})
+    private int exchangeCenters;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private ExchangeCenterService exchangeCenterService;
+    private List<Long> hotelIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        hotelIds = BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), hotels, reservationsPerHotel, exchangeCenters);
+        reservationService = context.getBean(ReservationService.class);
+        exchangeCenterService = context.getBean(ExchangeCenterService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Which bookings hold a hotel on a given night
+    @Benchmark
+    public int availabilityLookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long hotelId = hotelIds.get(random.nextInt(hotelIds.size()));
+        List<Reservation> booked = reservationService.getReservationsByHotelAndDate(hotelId,
+                LocalDate.now().plusDays(random.nextInt(180)));
+        return booked.size();
+    }
+
+    // Great-circle filter evaluated per row in PostgreSQL
+    @Benchmark
+    public int exchangeCentersNearby() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal lat = BigDecimal.valueOf(27.60 + random.nextDouble() * 0.20);
+        BigDecimal lng = BigDecimal.valueOf(85.20 + random.nextDouble() * 0.30);
+        List<ExchangeCenter> nearby = exchangeCenterService.getExchangeCentersNearLocation(lat, lng, 5.0);
+        return nearby.size();
+    }
+}
@@ -0,0 +1,403 @@
+package com.yatranepal.api.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+// Bulk-loads a production-sized synthetic dataset with COPY. Rows get explicit ids above whatever
+// the tables already hold, so relationships are generated without reading anything back and a
+// rerun appends another batch. Every count scales with --scale (0.01 gives a laptop-sized set).
+//
+//   mvn -P benchmark test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.yatranepal.api.benchmark.load.DatasetSeeder \
+//       -Dexec.args="--url=jdbc:postgresql://localhost:5432/yatranepal_bench --scale=0.1"
+public final class DatasetSeeder {
+
+    static final String[] CITIES = {"Kathmandu", "Pokhara", "Chitwan", "Lalitpur", "Bhaktapur", "Lumbini",
+            "Nagarkot", "Bandipur", "Janakpur", "Biratnagar", "Dharan", "Ilam", "Dhulikhel", "Gorkha", "Mustang"};
+    private static final String[] HOTEL_TYPES = {"Hotel", "Resort", "Guest House", "Homestay", "Lodge"};
+    private static final String[] PLACE_CATEGORIES = {"Temple", "Trekking", "Lake", "Museum", "Park", "Viewpoint"};
+    private static final String[] ROOM_TITLES = {"Standard Single", "Standard Double", "Deluxe Double",
+            "Family Suite", "Mountain View Suite"};
+    private static final String[] RESERVATION_STATUSES = {"CONFIRMED", "CONFIRMED", "CONFIRMED", "PENDING",
+            "CANCELLED", "CANCEL_REQUESTED"};
+    private static final String[] PAYMENT_METHODS = {"ESEWA", "KHALTI", "CASH"};
+    private static final String PASSWORD = "bench-password";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Connection connection;
+    private final long seed;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private DatasetSeeder(String url, String user, String password, long seed) throws SQLException {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.connection = DriverManager.getConnection(url, user, password);
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String url = options.get("url", "BENCH_DB_URL", "jdbc:postgresql://localhost:5432/yatranepal_bench");
+        String user = options.get("user", "BENCH_DB_USER", "postgres");
+        String password = options.get("password", "BENCH_DB_PASSWORD", "postgres");
+        double scale = options.getDouble("scale", 1.0);
+
+        Flyway.configure().dataSource(url, user, password).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        DatasetSeeder seeder = new DatasetSeeder(url, user, password, options.getInt("seed", 42));
+        try {
+            SeedManifest manifest = seeder.seed(
+                    scaled(options.getInt("users", 200_000), scale),
+                    scaled(options.getInt("hotels", 50_000), scale),
+                    scaled(options.getInt("places", 5_000), scale),
+                    scaled(options.getInt("exchange-centers", 5_000), scale),
+                    scaled(options.getInt("reservations", 2_000_000), scale),
+                    scaled(options.getInt("reviews", 1_000_000), scale),
+                    scaled(options.getInt("chats", 250_000), scale),
+                    scaled(options.getInt("messages", 5_000_000), scale));
+            File manifestFile = new File(options.get("manifest", "target/seed-manifest.json"));
+            manifestFile.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(manifestFile, manifest);
+            System.out.println("Manifest written to " + manifestFile.getPath());
+        } finally {
+            seeder.connection.close();
+        }
+    }
+
+    private SeedManifest seed(int users, int hotels, int places, int exchangeCenters, int reservations,
+                              int reviews, int chats, int messages) throws SQLException {
+        long userBase = nextId("users");
+        long hotelBase = nextId("hotels");
+        long roomBase = nextId("rooms");
+        long placeBase = nextId("places");
+        long reservationBase = nextId("reservations");
+        long chatBase = nextId("chats");
+        String usernamePrefix = "bench" + userBase + "_";
+
+        timed("users", () -> copyUsers(userBase, users, usernamePrefix));
+        timed("hotels, rooms and room numbers", () -> copyHotels(hotelBase, hotels, roomBase));
+        timed("places", () -> copyPlaces(placeBase, places));
+        timed("exchange centers", () -> copyExchangeCenters(exchangeCenters, userBase, users));
+        timed("reservations", () -> copyReservations(reservationBase, reservations, userBase, users, hotelBase, hotels, roomBase));
+        timed("reviews", () -> copyReviews(reviews, userBase, users, hotelBase, hotels, placeBase, places));
+        timed("chats and messages", () -> copyChats(chatBase, chats, messages, userBase, users));
+
+        for (String table : new String[] {"users", "hotels", "rooms", "places", "exchange_centers",
+                "reservations", "reviews", "chats", "messages"}) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                        "(SELECT max(id) FROM " + table + "))");
+            }
+        }
+        timed("analyze", () -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        });
+        return new SeedManifest(userBase, userBase + users - 1, usernamePrefix, PASSWORD,
+                hotelBase, hotelBase + hotels - 1, roomBase, nextId("rooms") - 1, placeBase, placeBase + places - 1,
+                chatBase, chatBase + chats - 1, CITIES);
+    }
+
+    private void copyUsers(long base, int count, String usernamePrefix) throws SQLException {
+        // One hash for everyone: BCrypt per user would take longer than the rest of the load
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (CopyWriter copy = copy("users",
+                "id, username, email, country, city, phone, password, is_admin, role, created_at, updated_at")) {
+            SplittableRandom random = random("users");
+            for (long id = base; id < base + count; id++) {
+                copy.add(id).add(usernamePrefix + id).add(usernamePrefix + id + "@bench.yatranepal.test")
+                        .add("Nepal").add(pick(random, CITIES)).add("+977-98" + (10_000_000 + random.nextInt(89_999_999)))
+                        .add(passwordHash).add(false).add(id % 50 == 0 ? "tourist guide" : "user")
+                        .add(timestamp(random, 720)).add(format(now));
+                copy.endRow();
+            }
+        }
+    }
+
+    // Rooms are derived from a per-hotel generator, so the hotel row can carry the cheapest price
+    // of rooms that are only written in the second pass
+    private void copyHotels(long base, int count, long roomBase) throws SQLException {
+        try (CopyWriter copy = copy("hotels",
+                "id, name, type, city, address, distance, photos, title, \"desc\", rating, cheapest_price, " +
+                        "featured, created_at, updated_at")) {
+            SplittableRandom random = random("hotels");
+            for (long id = base; id < base + count; id++) {
+                double cheapest = Double.MAX_VALUE;
+                for (Room room : rooms(id)) {
+                    cheapest = Math.min(cheapest, room.price);
+                }
+                String city = pick(random, CITIES);
+                copy.add(id).add("Hotel " + city + " " + id).add(pick(random, HOTEL_TYPES)).add(city)
+                        .add("Ward " + (1 + random.nextInt(32)) + ", " + city)
+                        .add((1 + random.nextInt(15)) + "km from center")
+                        .add("{photos/hotel-" + id + "-1.jpg,photos/hotel-" + id + "-2.jpg}")
+                        .add("Stay in " + city).add("Seeded hotel " + id + " with " + pick(random, ROOM_TITLES).toLowerCase() + " rooms")
+                        .add(Math.round((2.5 + random.nextDouble() * 2.5) * 10) / 10.0).add(cheapest)
+                        .add(random.nextInt(20) == 0).add(timestamp(random, 1500)).add(format(now));
+                copy.endRow();
+            }
+        }
+        try (CopyWriter rooms = copy("rooms",
+                "id, hotel_id, title, price, max_people, \"desc\", created_at, updated_at")) {
+            long roomId = roomBase;
+            for (long hotelId = base; hotelId < base + count; hotelId++) {
+                for (Room room : rooms(hotelId)) {
+                    rooms.add(roomId).add(hotelId).add(room.title).add(room.price).add(room.maxPeople)
+                            .add("Seeded " + room.title.toLowerCase()).add(format(now)).add(format(now));
+                    rooms.endRow();
+                    roomId++;
+                }
+            }
+        }
+        try (CopyWriter numbers = copy("room_numbers", "room_id, number, unavailable_dates")) {
+            long roomId = roomBase;
+            for (long hotelId = base; hotelId < base + count; hotelId++) {
+                SplittableRandom random = new SplittableRandom(seed ^ hotelId * 31);
+                Room[] hotelRooms = rooms(hotelId);
+                for (int r = 0; r < hotelRooms.length; r++) {
+                    for (int n = 0; n < hotelRooms[r].numbers; n++) {
+                        StringBuilder dates = new StringBuilder("{");
+                        int blocked = random.nextInt(4);
+                        for (int d = 0; d < blocked; d++) {
+                            dates.append(d > 0 ? "," : "").append('"')
+                                    .append(format(now.toLocalDate().plusDays(random.nextInt(180)).atStartOfDay())).append('"');
+                        }
+                        numbers.add(roomId).add(100 * (r + 1) + n).add(dates.append('}'));
+                        numbers.endRow();
+                    }
+                    roomId++;
+                }
+            }
+        }
+    }
+
+    private void copyPlaces(long base, int count) throws SQLException {
+        try (CopyWriter copy = copy("places",
+                "id, name, city, address, category, description, img, type, coordinates, created_at, updated_at")) {
+            SplittableRandom random = random("places");
+            for (long id = base; id < base + count; id++) {
+                String city = pick(random, CITIES);
+                String category = pick(random, PLACE_CATEGORIES);
+                double[] point = nepalPoint(random);
+                copy.add(id).add(category + " " + id).add(city).add("Near " + city).add(category)
+                        .add("Seeded " + category.toLowerCase() + " in " + city).add("places/place-" + id + ".jpg")
+                        .add("Point").add("{" + point[1] + "," + point[0] + "}")
+                        .add(format(now)).add(format(now));
+                copy.endRow();
+            }
+        }
+    }
+
+    private void copyExchangeCenters(int count, long userBase, int users) throws SQLException {
+        try (CopyWriter copy = copy("exchange_centers",
+                "name, address, lat, lng, contact_number, hours, services, description, owner_id, is_active, " +
+                        "created_at, updated_at")) {
+            SplittableRandom random = random("exchange_centers");
+            for (int i = 0; i < count; i++) {
+                double[] point = nepalPoint(random);
+                copy.add("Exchange " + i).add("Ward " + (1 + random.nextInt(32)) + ", " + pick(random, CITIES))
+                        .add(String.format("%.8f", point[0])).add(String.format("%.8f", point[1]))
+                        .add("01-" + (4_000_000 + random.nextInt(999_999))).add("10:00-17:00").add("USD,EUR,INR,CNY")
+                        .add(null).add(userBase + random.nextInt(users)).add(random.nextInt(10) != 0)
+                        .add(format(now)).add(format(now));
+                copy.endRow();
+            }
+        }
+    }
+
+    // Bookings lean towards popular hotels, and their nights cluster around today. Each booking
+    // comes from its own generator, so the child tables can be written after the parent rows
+    // have committed and still agree with them.
+    private void copyReservations(long base, int count, long userBase, int users, long hotelBase, int hotels,
+                                  long roomBase) throws SQLException {
+        long[] firstRoomOfHotel = new long[hotels];
+        long roomId = roomBase;
+        for (int h = 0; h < hotels; h++) {
+            firstRoomOfHotel[h] = roomId;
+            roomId += rooms(hotelBase + h).length;
+        }
+        try (CopyWriter copy = copy("reservations",
+                "id, user_id, hotel_id, total_price, transaction_id, payment_method, payment_status, status, " +
+                        "cancellation_requested_at, pidx, product_code, created_at, updated_at")) {
+            for (long id = base; id < base + count; id++) {
+                Booking booking = booking(id, hotels, hotelBase);
+                String method = booking.paymentMethod;
+                copy.add(id).add(userBase + booking.random.nextInt(users)).add(hotelBase + booking.hotel)
+                        .add(booking.room.price * booking.nights).add(method.equals("CASH") ? null : "txn-" + id)
+                        .add(method).add(booking.status.equals("PENDING") ? "PENDING" : "SUCCESS").add(booking.status)
+                        .add(booking.status.equals("CANCEL_REQUESTED") ? format(now.minusHours(booking.random.nextInt(72))) : null)
+                        .add(method.equals("KHALTI") ? "pidx-" + id : null)
+                        .add(method.equals("ESEWA") ? "EPAYTEST-" + id : null)
+                        .add(format(booking.checkIn.atStartOfDay().minusDays(booking.random.nextInt(60)))).add(format(now));
+                copy.endRow();
+            }
+        }
+        try (CopyWriter dates = copy("reservation_dates", "reservation_id, reservation_date");
+             CopyWriter roomIds = copy("reservation_room_ids", "reservation_id, room_id");
+             CopyWriter details = copy("reservation_room_details", "reservation_id, room_id, room_number, room_title")) {
+            for (long id = base; id < base + count; id++) {
+                Booking booking = booking(id, hotels, hotelBase);
+                for (int n = 0; n < booking.nights; n++) {
+                    dates.add(id).add(booking.checkIn.plusDays(n));
+                    dates.endRow();
+                }
+                long room = firstRoomOfHotel[booking.hotel] + booking.roomIndex;
+                roomIds.add(id).add(room);
+                roomIds.endRow();
+                details.add(id).add(room).add(100 * (booking.roomIndex + 1)).add(booking.room.title);
+                details.endRow();
+            }
+        }
+    }
+
+    private record Booking(SplittableRandom random, int hotel, int roomIndex, Room room, int nights,
+                           LocalDate checkIn, String status, String paymentMethod) {}
+
+    private Booking booking(long id, int hotels, long hotelBase) {
+        SplittableRandom random = new SplittableRandom(seed ^ id * 0x9E3779B97F4A7C15L);
+        int hotel = (int) (hotels * Math.pow(random.nextDouble(), 2));
+        Room[] hotelRooms = rooms(hotelBase + hotel);
+        int roomIndex = random.nextInt(hotelRooms.length);
+        return new Booking(random, hotel, roomIndex, hotelRooms[roomIndex], 1 + random.nextInt(4),
+                now.toLocalDate().plusDays((long) (random.nextGaussian() * 60)),
+                pick(random, RESERVATION_STATUSES), pick(random, PAYMENT_METHODS));
+    }
+
+    private void copyReviews(int count, long userBase, int users, long hotelBase, int hotels,
+                             long placeBase, int places) throws SQLException {
+        try (CopyWriter copy = copy("reviews",
+                "user_id, reviewed_item_id, reviewed_model, rating, comment, created_at, updated_at")) {
+            SplittableRandom random = random("reviews");
+            for (int i = 0; i < count; i++) {
+                boolean hotel = places == 0 || random.nextInt(5) != 0;
+                long item = hotel ? hotelBase + (long) (hotels * Math.pow(random.nextDouble(), 2))
+                        : placeBase + random.nextInt(places);
+                int rating = 1 + Math.min(4, (int) Math.abs(4.2 + random.nextGaussian()));
+                copy.add(userBase + random.nextInt(users)).add(item).add(hotel ? "HOTEL" : "PLACE").add(rating)
+                        .add(rating >= 4 ? "Lovely stay, would come back" : "Could be better")
+                        .add(timestamp(random, 720)).add(format(now));
+                copy.endRow();
+            }
+        }
+    }
+
+    // Two members per chat; messages alternate between them and are spread across chats unevenly
+    private void copyChats(long base, int chats, int messages, long userBase, int users) throws SQLException {
+        if (chats == 0) {
+            return;
+        }
+        long[][] members = new long[chats][2];
+        SplittableRandom random = random("chats");
+        try (CopyWriter copy = copy("chats", "id, created_at, updated_at")) {
+            for (int c = 0; c < chats; c++) {
+                members[c][0] = userBase + random.nextInt(users);
+                members[c][1] = userBase + random.nextInt(users);
+                copy.add(base + c).add(timestamp(random, 365)).add(format(now));
+                copy.endRow();
+            }
+        }
+        try (CopyWriter memberRows = copy("chat_members", "chat_id, user_id")) {
+            for (int c = 0; c < chats; c++) {
+                for (long member : members[c]) {
+                    memberRows.add(base + c).add(member);
+                    memberRows.endRow();
+                }
+            }
+        }
+        try (CopyWriter copy = copy("messages",
+                "chat_id, sender_id, text, created_at, updated_at")) {
+            LocalDateTime start = now.minusDays(365);
+            for (int m = 0; m < messages; m++) {
+                int chat = (int) (chats * Math.pow(random.nextDouble(), 3));
+                LocalDateTime sentAt = start.plusSeconds((long) m * 365 * 86_400 / messages);
+                copy.add(base + chat).add(members[chat][m % 2]).add("Message " + m + " about the trip")
+                        .add(format(sentAt)).add(format(sentAt));
+                copy.endRow();
+            }
+        }
+    }
+
+    private record Room(String title, double price, int maxPeople, int numbers) {}
+
+    private Room[] rooms(long hotelId) {
+        SplittableRandom random = new SplittableRandom(seed ^ hotelId);
+        Room[] rooms = new Room[1 + random.nextInt(5)];
+        for (int r = 0; r < rooms.length; r++) {
+            rooms[r] = new Room(pick(random, ROOM_TITLES), 800 + random.nextInt(60) * 250, 1 + random.nextInt(4),
+                    2 + random.nextInt(5));
+        }
+        return rooms;
+    }
+
+    private CopyWriter copy(String table, String columns) throws SQLException {
+        Connection copyConnection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = copyConnection.createStatement()) {
+            statement.execute("SET synchronous_commit = off");
+        }
+        return new CopyWriter(copyConnection, table, columns);
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private SplittableRandom random(String table) {
+        return new SplittableRandom(seed ^ table.hashCode());
+    }
+
+    private String timestamp(SplittableRandom random, int maxDaysAgo) {
+        return format(now.minusMinutes(random.nextInt(maxDaysAgo * 1440 + 1)));
+    }
+
+    private static String format(LocalDateTime time) {
+        return TIMESTAMP.format(time);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // Half the points in the Kathmandu valley, the rest anywhere in Nepal's bounding box
+    private static double[] nepalPoint(SplittableRandom random) {
+        if (random.nextBoolean()) {
+            return new double[] {27.60 + random.nextDouble() * 0.20, 85.20 + random.nextDouble() * 0.30};
+        }
+        return new double[] {26.40 + random.nextDouble() * 4.00, 80.10 + random.nextDouble() * 8.00};
+    }
+
+    private static int scaled(int count, double scale) {
+        return (int) Math.max(count > 0 ? 1 : 0, Math.round(count * scale));
+    }
+
+    private interface Step {
+        void run() throws SQLException;
+    }
+
+    private static void timed(String name, Step step) throws SQLException {
+        long start = System.nanoTime();
+        step.run();
+        System.out.printf("Loaded %s in %.1fs%n", name, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,484 @@
+package com.yatranepal.api.benchmark.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop HTTP load test against a running instance seeded by DatasetSeeder. Each virtual
+// user logs in as a seeded user and then repeatedly runs one of the weighted scenarios (browse,
+// search, book, chat) until the run ends. Requests during the warmup are sent but not recorded.
+// Reports throughput, status codes and exact latency percentiles per endpoint, to stdout and JSON.
+//
+// --sse-subscribers=N adds the flight stream capacity scenario alongside: N /api/flight/stream
+// connections are opened at the start, at most --sse-connect-concurrency at a time, and held
+// until the end. It reports how many were accepted, turned away with 503 or dropped by the
+// server, the time to response headers, and the events received while recording.
+// --sse-slow-subscribers=N also opens N streams that never read past the request: their
+// receive buffers fill up and the server's writes to them block, as with clients on a stalled
+// mobile link. The events the other subscribers receive show whether delivery kept up.
+//
+//   mvn -P benchmark test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.yatranepal.api.benchmark.load.LoadTestDriver \
+//       -Dexec.args="--base-url=http://localhost:8082 --concurrency=64 --duration=120"
+public final class LoadTestDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final SeedManifest manifest;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final EndpointStats streamConnects = new EndpointStats();
+    private final List<Flow.Subscription> streams = new CopyOnWriteArrayList<>();
+    private final LongAdder streamEvents = new LongAdder();
+    private final LongAdder streamsDropped = new LongAdder();
+    private final List<Socket> slowStreams = new CopyOnWriteArrayList<>();
+    private final long thinkMs;
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    public record EndpointReport(String endpoint, long requests, long errors, double throughputPerSecond,
+                                 double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                                 double maxMs, Map<Integer, Long> statuses) {}
+
+    public record SseReport(int subscribers, long connected, long rejected, long failed, long dropped,
+                            long events, double eventsPerSecond, int slowSubscribers, int slowOpened,
+                            EndpointReport connect) {}
+
+    public record Report(int concurrency, long durationSeconds, long requests, double throughputPerSecond,
+                         Map<String, Integer> mix, List<EndpointReport> endpoints, SseReport sse) {}
+
+    private LoadTestDriver(String baseUrl, SeedManifest manifest, long thinkMs) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.manifest = manifest;
+        this.thinkMs = thinkMs;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        SeedManifest manifest = JSON.readValue(new File(options.get("manifest", "target/seed-manifest.json")),
+                SeedManifest.class);
+        int concurrency = options.getInt("concurrency", 32);
+        int warmupSeconds = options.getInt("warmup", 15);
+        int durationSeconds = options.getInt("duration", 60);
+        Map<String, Integer> mix = parseMix(options.get("mix", "browse:60,search:25,book:10,chat:5"));
+
+        LoadTestDriver driver = new LoadTestDriver(options.get("base-url", "http://localhost:8082"), manifest,
+                options.getInt("think-ms", 0));
+        Report report = driver.run(concurrency, warmupSeconds, durationSeconds, mix,
+                options.getInt("sse-subscribers", 0), options.getInt("sse-connect-concurrency", 64),
+                options.getInt("sse-slow-subscribers", 0));
+
+        print(report);
+        File reportFile = new File(options.get("report", "target/load-report.json"));
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        JSON.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getPath());
+    }
+
+    private Report run(int concurrency, int warmupSeconds, int durationSeconds, Map<String, Integer> mix,
+                       int sseSubscribers, int sseConnectConcurrency, int sseSlowSubscribers)
+            throws InterruptedException {
+        openSlowStreams(sseSlowSubscribers);
+        Thread streamOpener = new Thread(() -> openStreams(sseSubscribers, sseConnectConcurrency), "sse-opener");
+        streamOpener.setDaemon(true);
+        streamOpener.start();
+        List<String> scenarios = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                scenarios.add(scenario);
+            }
+        });
+        ExecutorService users = Executors.newFixedThreadPool(Math.max(1, concurrency)); // 0 runs only the stream
+        for (int i = 0; i < concurrency; i++) {
+            users.execute(() -> virtualUser(scenarios));
+        }
+        Thread.sleep(warmupSeconds * 1000L);
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        users.shutdown();
+        users.awaitTermination(60, TimeUnit.SECONDS);
+        streamOpener.interrupt();
+        streams.forEach(Flow.Subscription::cancel);
+        for (Socket socket : slowStreams) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already reset by the server
+            }
+        }
+
+        List<EndpointReport> reports = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointReport report = entry.getValue().report(entry.getKey(), elapsedSeconds);
+            reports.add(report);
+            total += report.requests();
+        }
+        SseReport sse = null;
+        if (sseSubscribers > 0) {
+            EndpointReport connect = streamConnects.report("GET /api/flight/stream", elapsedSeconds);
+            long connected = connect.statuses().getOrDefault(200, 0L);
+            long rejected = connect.statuses().getOrDefault(503, 0L);
+            sse = new SseReport(sseSubscribers, connected, rejected, connect.requests() - connected - rejected,
+                    streamsDropped.sum(), streamEvents.sum(), streamEvents.sum() / elapsedSeconds,
+                    sseSlowSubscribers, slowStreams.size(), connect);
+        }
+        return new Report(concurrency, durationSeconds, total, total / elapsedSeconds, mix, reports, sse);
+    }
+
+    // Connection attempts are recorded whether or not the warmup is over: each happens only once
+    private void openStreams(int subscribers, int connectConcurrency) {
+        Semaphore connecting = new Semaphore(connectConcurrency);
+        try {
+            for (int i = 0; i < subscribers && running; i++) {
+                connecting.acquire();
+                AtomicBoolean released = new AtomicBoolean();
+                Runnable release = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        connecting.release();
+                    }
+                };
+                long start = System.nanoTime();
+                // No request timeout: the stream is held for the whole run
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/flight/stream"))
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                client.sendAsync(request, info -> {
+                    release.run();
+                    streamConnects.record(System.nanoTime() - start, info.statusCode());
+                    return info.statusCode() == 200
+                            ? HttpResponse.BodySubscribers.fromLineSubscriber(new StreamSubscriber())
+                            : HttpResponse.BodySubscribers.discarding();
+                }).whenComplete((response, failure) -> {
+                    if (!released.get()) {
+                        streamConnects.record(System.nanoTime() - start, 0);
+                    }
+                    release.run();
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A small receive buffer, set before connecting so the advertised window stays small, fills
+    // within a few events. The response is never read, so whether the server accepted the
+    // stream is not known; slowOpened counts the connections that were established.
+    private void openSlowStreams(int subscribers) {
+        URI uri = URI.create(baseUrl + "/api/flight/stream");
+        int port = uri.getPort() == -1 ? 80 : uri.getPort();
+        byte[] request = ("GET /api/flight/stream HTTP/1.1\r\nHost: " + uri.getHost() + ":" + port
+                + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < subscribers; i++) {
+            Socket socket = new Socket();
+            try {
+                socket.setReceiveBufferSize(1024);
+                socket.connect(new InetSocketAddress(uri.getHost(), port), 5000);
+                socket.getOutputStream().write(request);
+                socket.getOutputStream().flush();
+                slowStreams.add(socket);
+            } catch (IOException e) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // Nothing to release
+                }
+            }
+        }
+    }
+
+    // Counts events by their id line; every event the publisher sends carries one
+    private final class StreamSubscriber implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            streams.add(subscription);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (recording && line.startsWith("id:")) {
+                streamEvents.increment();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (running) {
+                streamsDropped.increment();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (running) {
+                streamsDropped.increment();
+            }
+        }
+    }
+
+    private void virtualUser(List<String> scenarios) {
+        Session session = null;
+        while (running) {
+            try {
+                if (session == null) {
+                    session = login();
+                    continue;
+                }
+                switch (scenarios.get(ThreadLocalRandom.current().nextInt(scenarios.size()))) {
+                    case "browse" -> browse(session);
+                    case "search" -> search(session);
+                    case "book" -> book(session);
+                    case "chat" -> chat(session);
+                    default -> throw new IllegalStateException("Unknown scenario");
+                }
+                if (thinkMs > 0) {
+                    Thread.sleep(thinkMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Recorded as an error by send(); start the next iteration
+            }
+        }
+    }
+
+    private record Session(String token, long userId) {}
+
+    private Session login() throws InterruptedException {
+        long userId = between(manifest.firstUserId(), manifest.lastUserId());
+        String body = "{\"usernameOrEmail\":\"" + manifest.usernamePrefix() + userId + "\",\"password\":\""
+                + manifest.password() + "\"}";
+        JsonNode response = send("POST /auth/login", post("/auth/login", null, body));
+        if (response == null || !response.hasNonNull("token")) {
+            return null;
+        }
+        return new Session(response.get("token").asText(), response.path("userId").asLong(userId));
+    }
+
+    // Listing for a city, one hotel's page and its reviews
+    private void browse(Session session) throws InterruptedException {
+        long hotelId = hotel();
+        send("GET /hotels?city", get("/hotels?city=" + encode(city()), session));
+        send("GET /hotels/{id}", get("/hotels/" + hotelId, session));
+        send("GET /api/reviews/HOTEL/{id}", get("/api/reviews/HOTEL/" + hotelId, session));
+        send("GET /api/reviews/HOTEL/{id}/average", get("/api/reviews/HOTEL/" + hotelId + "/average", session));
+    }
+
+    private void search(Session session) throws InterruptedException {
+        send("GET /hotels/search", get("/hotels/search?name=" + encode(city()), session));
+        send("GET /hotels?minPrice&maxPrice", get("/hotels?minPrice=1000&maxPrice=" +
+                (2000 + ThreadLocalRandom.current().nextInt(10) * 1000), session));
+        send("GET /place?city", get("/place?city=" + encode(city()), session));
+        double lat = 27.60 + ThreadLocalRandom.current().nextDouble() * 0.20;
+        double lng = 85.20 + ThreadLocalRandom.current().nextDouble() * 0.30;
+        send("GET /api/exchange-centers/nearby", get(String.format("/api/exchange-centers/nearby?lat=%.6f&lng=%.6f&radius=5",
+                lat, lng), session));
+    }
+
+    // Availability check for a stay, then the booking itself
+    private void book(Session session) throws InterruptedException {
+        long hotelId = hotel();
+        LocalDate checkIn = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(1, 120));
+        send("GET /api/reservations/hotel/{id}/date/{date}",
+                get("/api/reservations/hotel/" + hotelId + "/date/" + checkIn, session));
+        String body = "{\"userId\":" + session.userId() + ",\"hotelId\":" + hotelId + ",\"roomIds\":[" +
+                between(manifest.firstRoomId(), manifest.lastRoomId()) + "],\"dates\":[\"" + checkIn + "\",\"" +
+                checkIn.plusDays(1) + "\"],\"totalPrice\":5000,\"paymentMethod\":\"CASH\"}";
+        send("POST /api/reservations", post("/api/reservations", session, body));
+        send("GET /api/reservations/user/{id}", get("/api/reservations/user/" + session.userId(), session));
+    }
+
+    // Open the user's chat list, read one conversation and reply to it
+    private void chat(Session session) throws InterruptedException {
+        JsonNode chats = send("GET /api/chats/user/{id}", get("/api/chats/user/" + session.userId(), session));
+        long chatId = chats != null && chats.isArray() && chats.size() > 0
+                ? chats.get(ThreadLocalRandom.current().nextInt(chats.size())).path("id").asLong()
+                : between(manifest.firstChatId(), manifest.lastChatId());
+        send("GET /api/messages/chat/{id}", get("/api/messages/chat/" + chatId, session));
+        String body = "{\"chatId\":" + chatId + ",\"senderId\":" + session.userId() + ",\"text\":\"On my way\"}";
+        send("POST /api/messages", post("/api/messages", session, body));
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return request(path, session).GET().build();
+    }
+
+    private HttpRequest post(String path, Session session, String json) {
+        return request(path, session)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    // Returns the parsed body of a 2xx JSON response, null otherwise
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        boolean record = recording;
+        long start = System.nanoTime();
+        int status;
+        byte[] body;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            body = response.body();
+        } catch (IOException e) {
+            if (record) {
+                endpoints.computeIfAbsent(endpoint, k -> new EndpointStats()).record(System.nanoTime() - start, 0);
+            }
+            return null;
+        }
+        if (record) {
+            endpoints.computeIfAbsent(endpoint, k -> new EndpointStats()).record(System.nanoTime() - start, status);
+        }
+        if (status / 100 != 2 || body.length == 0) {
+            return null;
+        }
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private long hotel() {
+        // Same skew as the seeded bookings, so popular hotels are also the most browsed
+        long span = manifest.lastHotelId() - manifest.firstHotelId() + 1;
+        return manifest.firstHotelId() + (long) (span * Math.pow(ThreadLocalRandom.current().nextDouble(), 2));
+    }
+
+    private String city() {
+        return manifest.cities()[ThreadLocalRandom.current().nextInt(manifest.cities().length)];
+    }
+
+    private static long between(long first, long last) {
+        return first + ThreadLocalRandom.current().nextLong(last - first + 1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%d virtual users, %ds: %d requests, %.1f req/s%n%n", report.concurrency(),
+                report.durationSeconds(), report.requests(), report.throughputPerSecond());
+        System.out.printf("%-46s %8s %7s %8s %8s %8s %8s %8s %8s  %s%n", "endpoint", "requests", "errors",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (EndpointReport endpoint : report.endpoints()) {
+            System.out.printf("%-46s %8d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f  %s%n", endpoint.endpoint(),
+                    endpoint.requests(), endpoint.errors(), endpoint.throughputPerSecond(), endpoint.p50Ms(),
+                    endpoint.p90Ms(), endpoint.p99Ms(), endpoint.p999Ms(), endpoint.maxMs(), endpoint.statuses());
+        }
+        SseReport sse = report.sse();
+        if (sse != null) {
+            System.out.printf("%nFlight stream: %d subscribers, %d connected, %d rejected, %d failed, %d dropped; " +
+                            "headers p50 %.1f ms, p99 %.1f ms, max %.1f ms; %d events, %.1f events/s%n",
+                    sse.subscribers(), sse.connected(), sse.rejected(), sse.failed(), sse.dropped(),
+                    sse.connect().p50Ms(), sse.connect().p99Ms(), sse.connect().maxMs(), sse.events(),
+                    sse.eventsPerSecond());
+            if (sse.slowSubscribers() > 0) {
+                System.out.printf("Slow subscribers: %d requested, %d opened%n", sse.slowSubscribers(),
+                        sse.slowOpened());
+            }
+        }
+    }
+
+    // Keeps every sample so percentiles are exact; a run is at most a few million requests.
+    // Status 0 counts transport failures: refused or reset connections, truncated bodies, timeouts.
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status / 100 != 2) {
+                errors++;
+            }
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        synchronized EndpointReport report(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (long latency : sorted) {
+                sum += latency;
+            }
+            return new EndpointReport(endpoint, count, errors, count / elapsedSeconds,
+                    count == 0 ? 0 : sum / count / 1e6, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6, new TreeMap<>(statuses));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, rank)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.yatranepal.api.benchmark.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --key=value command line options, falling back to an environment variable and then a default
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+    }
+
+    String get(String key, String env, String fallback) {
+        String value = values.get(key);
+        if (value == null && env != null) {
+            value = System.getenv(env);
+        }
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    String get(String key, String fallback) {
+        return get(key, null, fallback);
+    }
+
+    int getInt(String key, int fallback) {
+        return Integer.parseInt(get(key, Integer.toString(fallback)));
+    }
+
+    double getDouble(String key, double fallback) {
+        return Double.parseDouble(get(key, Double.toString(fallback)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.yatranepal.api.benchmark.load;
+
+// What the seeder loaded, so the load driver can pick ids and log in without scanning the API.
+// Ranges are inclusive; every seeded user shares the same password.
+record SeedManifest(long firstUserId, long lastUserId, String usernamePrefix, String password,
+                    long firstHotelId, long lastHotelId, long firstRoomId, long lastRoomId,
+                    long firstPlaceId, long lastPlaceId,
+                    long firstChatId, long lastChatId, String[] cities) {
+}
@@ -0,0 +1,31 @@
+package com.yatranepal.api.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class DataSourceInstrumentationConfig {
+
+    // Listeners are looked up on the first statement; they may depend on beans that need the DataSource
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentationPostProcessor(
+            ObjectProvider<InstrumentedDataSource.StatementListener> listenerProvider) {
+        SingletonSupplier<List<InstrumentedDataSource.StatementListener>> listeners =
+                SingletonSupplier.of(() -> listenerProvider.orderedStream().toList());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, listeners);
+                }
+                return bean;
+            }
+        };
+    }
+}
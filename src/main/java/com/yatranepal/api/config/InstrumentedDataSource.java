@@ -0,0 +1,257 @@
+package com.yatranepal.api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Wraps the pool so every statement execution is timed and reported to the StatementListeners,
+// with its bind values when a prepared statement is used and the rows it read or wrote. Only
+// Connection, Statement and ResultSet are proxied; unwrap() still reaches the HikariDataSource.
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public interface StatementListener {
+
+        // Binds are only captured while capturesBinds() is true for some listener
+        default boolean capturesBinds() {
+            return false;
+        }
+
+        void statementExecuted(StatementExecution execution);
+
+        default void rowsFetched(StatementExecution execution, long rows) {
+        }
+    }
+
+    // binds[i] is the value bound to parameter i + 1, or null if none was captured. caller is the
+    // repository method that issued it (see QueryContext). updateCount is -1 for queries, whose
+    // rows are reported through rowsFetched once the result set is closed.
+    public record StatementExecution(String sql, Object[] binds, String caller, long nanos, boolean batch,
+                                     boolean failed, long updateCount) {}
+
+    private final Supplier<List<StatementListener>> listeners;
+
+    public InstrumentedDataSource(DataSource target, Supplier<List<StatementListener>> listeners) {
+        super(target);
+        this.listeners = listeners;
+    }
+
+    // The wrapper replaces the pool bean, so it must also close the pool on shutdown
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = proceed(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return statementProxy(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statementProxy(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return statementProxy(Statement.class, statement, null);
+            }
+            return result;
+        }
+    }
+
+    private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new StatementHandler(statement, sql));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final boolean captureBinds;
+        private Object[] binds;
+        private StatementExecution lastExecution;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.captureBinds = preparedSql != null && listeners.get().stream().anyMatch(StatementListener::capturesBinds);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (captureBinds && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+                return proceed(target, method, args);
+            }
+            if ("clearParameters".equals(name)) {
+                binds = null;
+                return proceed(target, method, args);
+            }
+            if ("getResultSet".equals(name)) {
+                Object result = proceed(target, method, args);
+                return result instanceof ResultSet resultSet && lastExecution != null ? resultSetProxy(resultSet, lastExecution) : result;
+            }
+            if (!name.startsWith("execute")) {
+                return proceed(target, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+            String caller = QueryContext.currentCaller();
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = proceed(target, method, args);
+                failed = false;
+            } finally {
+                QueryContext.statementExecuted(caller);
+                StatementExecution execution = new StatementExecution(sql, binds != null ? binds.clone() : null, caller,
+                        System.nanoTime() - start, "executeBatch".equals(name) || "executeLargeBatch".equals(name),
+                        failed, updateCount(result));
+                lastExecution = execution;
+                for (StatementListener listener : listeners.get()) {
+                    listener.statementExecuted(execution);
+                }
+            }
+            return result instanceof ResultSet resultSet ? resultSetProxy(resultSet, lastExecution) : result;
+        }
+
+        private void bind(int index, Object value) {
+            if (binds == null) {
+                binds = new Object[Math.max(index, 8)];
+            } else if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+        }
+    }
+
+    private Object resultSetProxy(ResultSet resultSet, StatementExecution execution) {
+        return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                new ResultSetHandler(resultSet, execution));
+    }
+
+    // Counts rows read with next() and reports them when the result set is closed
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final StatementExecution execution;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, StatementExecution execution) {
+            this.target = target;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = proceed(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> report();
+                default -> { }
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                for (StatementListener listener : listeners.get()) {
+                    listener.rowsFetched(execution, rows);
+                }
+            }
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    // Pools and Hibernate keep statements in hash maps, so a proxy must be equal only to itself
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> args != null && args.length == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object proceed(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.yatranepal.api.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+// One JSON object per line: {"timestamp","level","logger","thread","message","mdc"?,"exception"?}.
+// Logback's own JsonEncoder (1.4) writes the unformatted template plus an argument array, which
+// log pipelines can't search, so this renders the formatted message instead.
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private String service = "yatranepal-api";
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder out = new StringBuilder(256);
+        out.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+        field(out, "level", event.getLevel().toString());
+        field(out, "service", service);
+        field(out, "logger", event.getLoggerName());
+        field(out, "thread", event.getThreadName());
+        field(out, "message", event.getFormattedMessage());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            out.append(",\"mdc\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                quote(out, entry.getKey());
+                out.append(':');
+                quote(out, entry.getValue());
+            }
+            out.append('}');
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(out, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        out.append("}\n");
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void field(StringBuilder out, String name, String value) {
+        out.append(",\"").append(name).append("\":");
+        quote(out, value);
+    }
+
+    private static void quote(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, out);
+        out.append('"');
+    }
+}
@@ -0,0 +1,105 @@
+package com.yatranepal.api.config;
+
+// Per-thread context for JDBC statements: which repository method is running (so a statement can
+// be attributed to it) and which StatementCounters are open (so a request, or a test, can count
+// the statements it caused). Statements issued outside any repository call, typically lazy
+// loads while rendering a response or the flush at commit, have no caller.
+public final class QueryContext {
+
+    private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+    private static final ThreadLocal<StatementCounter> COUNTER = new ThreadLocal<>();
+
+    private QueryContext() {}
+
+    // Returns the previous caller, to be handed back to exitRepository
+    static String enterRepository(String label) {
+        String previous = CALLER.get();
+        CALLER.set(label);
+        return previous;
+    }
+
+    static void exitRepository(String previous) {
+        CALLER.set(previous);
+    }
+
+    public static String currentCaller() {
+        return CALLER.get();
+    }
+
+    static void statementExecuted(String caller) {
+        for (StatementCounter counter = COUNTER.get(); counter != null; counter = counter.parent) {
+            counter.record(caller);
+        }
+    }
+
+    // Counts statements on this thread until closed; counters nest. Usable from tests:
+    //   try (StatementCounter counter = QueryContext.count()) { mockMvc.perform(get("/hotels/1")); }
+    //   assertThat(counter.count()).isLessThanOrEqualTo(2);
+    public static StatementCounter count() {
+        StatementCounter counter = new StatementCounter(COUNTER.get());
+        COUNTER.set(counter);
+        return counter;
+    }
+
+    public static final class StatementCounter implements AutoCloseable {
+        private static final int TRACKED_CALLERS = 8;
+
+        private final StatementCounter parent;
+        private final String[] callers = new String[TRACKED_CALLERS];
+        private final int[] callerCounts = new int[TRACKED_CALLERS];
+        private int count;
+        private boolean closed;
+
+        private StatementCounter(StatementCounter parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        // The caller that issued the most statements ("unattributed" for lazy loads), or null
+        public String topCaller() {
+            int best = -1;
+            for (int i = 0; i < TRACKED_CALLERS && callers[i] != null; i++) {
+                if (best < 0 || callerCounts[i] > callerCounts[best]) {
+                    best = i;
+                }
+            }
+            return best < 0 ? null : callers[best];
+        }
+
+        public int topCallerCount() {
+            int max = 0;
+            for (int i = 0; i < TRACKED_CALLERS; i++) {
+                max = Math.max(max, callerCounts[i]);
+            }
+            return max;
+        }
+
+        // Labels are the interned strings built once per repository method, so == is enough
+        private void record(String caller) {
+            count++;
+            String label = caller != null ? caller : "unattributed";
+            for (int i = 0; i < TRACKED_CALLERS; i++) {
+                if (callers[i] == null) {
+                    callers[i] = label;
+                    callerCounts[i] = 1;
+                    return;
+                }
+                if (callers[i] == label || callers[i].equals(label)) {
+                    callerCounts[i]++;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                COUNTER.set(parent);
+            }
+        }
+    }
+}
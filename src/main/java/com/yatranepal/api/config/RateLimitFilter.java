@@ -0,0 +1,153 @@
+package com.yatranepal.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.controller.AuthController;
+import com.yatranepal.api.service.JwtService;
+import com.yatranepal.api.service.RateLimitBackend;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Throttles the public endpoints before they reach a controller. Routes are configured in order
+// under rate-limit.routes[n].* and the first match applies. Each route has a bucket per client IP
+// and, when the request carries a valid JWT, one per user, so a logged-in user can't dodge the
+// limit by switching networks and a shared NAT isn't punished for one user's traffic.
+// Runs after the security chain so 429s still carry CORS headers.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitBackend rateLimitBackend;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // A zero capacity disables that dimension; methods empty means every method
+    public record Route(String name, List<String> paths, List<String> methods,
+                       int ipCapacity, double ipPerMinute, int userCapacity, double userPerMinute) {}
+
+    public record RouteStats(String name, long allowed, long rejected) {}
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private List<Route> routes = List.of();
+    private List<LongAdder[]> counters = List.of();
+
+    @PostConstruct
+    public void loadRoutes() {
+        routes = Binder.get(environment).bind("rate-limit.routes", Bindable.listOf(Route.class)).orElse(List.of());
+        List<LongAdder[]> created = new ArrayList<>();
+        for (int i = 0; i < routes.size(); i++) {
+            created.add(new LongAdder[] { new LongAdder(), new LongAdder() });
+        }
+        counters = created;
+    }
+
+    public List<RouteStats> getStats() {
+        List<RouteStats> stats = new ArrayList<>();
+        for (int i = 0; i < routes.size(); i++) {
+            stats.add(new RouteStats(routes.get(i).name(), counters.get(i)[0].sum(), counters.get(i)[1].sum()));
+        }
+        return stats;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty() || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int index = match(request);
+        if (index < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Route route = routes.get(index);
+        // getRemoteAddr is the client address once server.forward-headers-strategy trusts the proxy
+        long waitMs = acquire(route.name() + ":ip:" + request.getRemoteAddr(), route.ipCapacity(), route.ipPerMinute());
+        if (waitMs == 0 && route.userCapacity() > 0) {
+            String userId = userId(request);
+            if (userId != null) {
+                waitMs = acquire(route.name() + ":user:" + userId, route.userCapacity(), route.userPerMinute());
+            }
+        }
+        if (waitMs > 0) {
+            counters.get(index)[1].increment();
+            reject(response, waitMs);
+            return;
+        }
+        counters.get(index)[0].increment();
+        chain.doFilter(request, response);
+    }
+
+    private int match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route.methods() != null && !route.methods().isEmpty() && !route.methods().contains(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : route.paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long acquire(String key, int capacity, double perMinute) {
+        if (capacity <= 0 || perMinute <= 0) {
+            return 0;
+        }
+        return rateLimitBackend.tryAcquire(key, capacity, perMinute / 60.0);
+    }
+
+    // Only a token that verifies counts; anything else is limited by IP alone
+    private String userId(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtService.extractUserId(header.substring(7));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitMs) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((waitMs + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new AuthController.ErrorResponse("Too many requests"));
+    }
+}
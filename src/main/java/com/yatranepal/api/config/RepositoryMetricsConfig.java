@@ -0,0 +1,52 @@
+package com.yatranepal.api.config;
+
+import com.yatranepal.api.service.RequestMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+// Times every call on every Spring Data repository by adding an interceptor to the repository
+// proxies as they are built, so each query method gets its own series without touching the
+// repositories themselves. The interceptor also marks the running method in QueryContext so
+// JDBC statements can be attributed to it.
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<RequestMetrics> requestMetricsProvider) {
+        // Resolved on the first query; repositories are built before the metrics bean may exist
+        SingletonSupplier<RequestMetrics> requestMetrics = SingletonSupplier.of(requestMetricsProvider::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(timing(repositoryInformation.getRepositoryInterface(), requestMetrics))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor timing(Class<?> repository, SingletonSupplier<RequestMetrics> requestMetrics) {
+        return invocation -> {
+            RequestMetrics.QuerySeries series = requestMetrics.obtain().querySeries(repository, invocation.getMethod());
+            String previousCaller = QueryContext.enterRepository(series.label());
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                series.record(System.nanoTime() - start, failed);
+                QueryContext.exitRepository(previousCaller);
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.yatranepal.api.config;
+
+import com.yatranepal.api.service.RequestMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Outermost filter, so the time includes security and rate limiting. Requests are labelled with
+// the matched mapping pattern (/hotels/{id}), never the raw path. Streams that go async (SSE)
+// are left out: their lifetime is not a latency.
+// Also counts the JDBC statements each request issues and flags requests over the budget, which
+// is how N+1 loads show up: the log names the repository method (or "unattributed" lazy loads)
+// responsible for most of them.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger budgetLog = LoggerFactory.getLogger("sql.budget");
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Value("${sql.statement-budget.per-request:25}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = 500;
+        QueryContext.StatementCounter statements = QueryContext.count();
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            statements.close();
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern instanceof String mapped ? mapped : null;
+                boolean overBudget = statementBudget > 0 && statements.count() > statementBudget;
+                requestMetrics.recordRequest(request.getMethod(), uri, status, System.nanoTime() - start,
+                        statements.count(), overBudget);
+                if (overBudget) {
+                    budgetLog.warn("{} {} issued {} statements (budget {}); {} issued {}", request.getMethod(), uri,
+                            statements.count(), statementBudget, statements.topCaller(), statements.topCallerCount());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.yatranepal.api.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// Compresses response bodies for clients that accept it: brotli when the native encoder loaded
+// and the client prefers it at least as much as gzip, otherwise gzip. A body is held until it
+// reaches compression.min-response-size bytes, so small ones go out as they are; unlike Tomcat's
+// own compression this also holds for chunked JSON, whose length isn't known up front.
+// Event streams, byte ranges, already encoded bodies and responses finished asynchronously are
+// passed through untouched.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCompressionFilter.class);
+
+    @Value("${compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${compression.min-response-size:1024}")
+    private int minResponseSize;
+
+    @Value("${compression.mime-types:application/json,application/*+json,application/x-jackson-smile,application/cbor,"
+            + "text/html,text/plain,text/css,text/csv,text/javascript,application/javascript,application/xml,image/svg+xml}")
+    private String mimeTypes;
+
+    // 4-5 is where brotli beats gzip -6 on size at similar CPU; 11 is for static assets only
+    @Value("${compression.brotli-quality:4}")
+    private int brotliQuality;
+
+    @Value("${compression.gzip-level:6}")
+    private int gzipLevel;
+
+    private List<MediaType> compressibleTypes;
+    private boolean brotliAvailable;
+
+    @PostConstruct
+    public void init() {
+        compressibleTypes = MediaType.parseMediaTypes(mimeTypes);
+        try {
+            brotliAvailable = Brotli4jLoader.isAvailable();
+            if (!brotliAvailable) {
+                log.info("Brotli unavailable, compressing with gzip only: {}", Brotli4jLoader.getUnavailabilityCause().getMessage());
+            }
+        } catch (LinkageError e) {
+            log.info("Brotli unavailable, compressing with gzip only: {}", e.toString());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponse compressing = new CompressingResponse(response, encoding);
+        chain.doFilter(request, compressing);
+        if (request.isAsyncStarted()) {
+            // The rest is written after this returns, by threads that may flush at any point
+            compressing.body().passThrough();
+        } else {
+            compressing.finish();
+        }
+    }
+
+    // "br" or "gzip", or null when the client accepts neither
+    private String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        double br = -1;
+        double gzip = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "br" -> br = quality;
+                case "gzip", "x-gzip" -> gzip = quality;
+                case "*" -> any = quality;
+                default -> { }
+            }
+        }
+        br = br >= 0 ? br : any;
+        gzip = gzip >= 0 ? gzip : any;
+        if (brotliAvailable && br > 0 && br >= gzip) {
+            return "br";
+        }
+        return gzip > 0 ? "gzip" : null;
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private CompressingBody body;
+        private PrintWriter writer;
+        // Held until it's known whether the body goes out compressed, which changes its length
+        private Long contentLength;
+        private boolean errorSent;
+
+        CompressingResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        CompressingBody body() throws IOException {
+            if (body == null) {
+                body = new CompressingBody(this);
+            }
+            return body;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return body();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (body != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(body(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (body != null && body.decided()) {
+                if (!body.compressing) {
+                    super.setContentLengthLong(length);
+                }
+            } else {
+                contentLength = length;
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, String.valueOf(value));
+        }
+
+        // The error page is rendered later by the container, outside this wrapper
+        @Override
+        public void sendError(int status) throws IOException {
+            errorSent = true;
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            errorSent = true;
+            super.sendError(status, message);
+        }
+
+        // Committing before the decision would send headers without Content-Encoding
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (body == null || body.decided()) {
+                if (body != null) {
+                    body.flush();
+                }
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (body != null && !body.decided()) {
+                body.pending.reset();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (body != null && !body.decided()) {
+                body.pending.reset();
+            }
+            contentLength = null;
+            super.reset();
+        }
+
+        void finish() throws IOException {
+            if (errorSent) {
+                return;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            if (body != null) {
+                body.finish();
+            } else if (contentLength != null) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        boolean mayCompress() {
+            int status = getStatus();
+            if (status < 200 || status == SC_NO_CONTENT || status == SC_PARTIAL_CONTENT || status == SC_NOT_MODIFIED
+                    || getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                    || getHeader(HttpHeaders.CONTENT_RANGE) != null
+                    || getHeader(HttpHeaders.ACCEPT_RANGES) != null) {
+                return false;
+            }
+            return compressibleType();
+        }
+
+        boolean compressibleType() {
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            try {
+                MediaType type = MediaType.parseMediaType(contentType);
+                for (MediaType compressible : compressibleTypes) {
+                    if (compressible.includes(type)) {
+                        return true;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+            return false;
+        }
+
+        void addVary() {
+            for (String vary : getHeaders(HttpHeaders.VARY)) {
+                if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) {
+                    return;
+                }
+            }
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        HttpServletResponse raw() {
+            return (HttpServletResponse) getResponse();
+        }
+    }
+
+    // Buffers until the body is big enough to compress or turns out not to be compressible
+    private final class CompressingBody extends ServletOutputStream {
+
+        private final CompressingResponse response;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean compressing;
+
+        CompressingBody(CompressingResponse response) {
+            this.response = response;
+        }
+
+        boolean decided() {
+            return target != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                if (!response.mayCompress()) {
+                    passThrough();
+                } else {
+                    pending.write(bytes, offset, length);
+                    if (pending.size() >= minResponseSize) {
+                        startCompressing();
+                    }
+                    return;
+                }
+            }
+            target.write(bytes, offset, length);
+        }
+
+        // Undecided bodies stay held: a flush mid-body must not commit headers before the decision
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            try {
+                return response.raw().getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                response.raw().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void passThrough() throws IOException {
+            if (target != null) {
+                return;
+            }
+            if (response.compressibleType()) {
+                response.addVary();
+            }
+            if (response.contentLength != null) {
+                response.raw().setContentLengthLong(response.contentLength);
+            }
+            target = response.raw().getOutputStream();
+            pending.writeTo(target);
+            pending.reset();
+        }
+
+        void finish() throws IOException {
+            if (target == null) {
+                if (response.contentLength == null) {
+                    response.contentLength = (long) pending.size();
+                }
+                passThrough();
+            } else if (compressing) {
+                target.close();
+            }
+        }
+
+        private void startCompressing() throws IOException {
+            HttpServletResponse raw = response.raw();
+            raw.setHeader(HttpHeaders.CONTENT_ENCODING, response.encoding);
+            response.addVary();
+            response.contentLength = null;
+            ServletOutputStream out = raw.getOutputStream();
+            if ("br".equals(response.encoding)) {
+                target = new BrotliOutputStream(out, new Encoder.Parameters().setQuality(brotliQuality));
+            } else {
+                target = new GZIPOutputStream(out, 8192, true) {
+                    {
+                        def.setLevel(gzipLevel);
+                    }
+                };
+            }
+            compressing = true;
+            pending.writeTo(target);
+            pending.reset();
+        }
+    }
+}
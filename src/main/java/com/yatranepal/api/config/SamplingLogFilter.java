@@ -0,0 +1,48 @@
+package com.yatranepal.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one in `rate` INFO-and-below events from the configured high-volume logger prefixes;
+// WARN and above always pass. Configured from logback-spring.xml:
+//   <filter class="com.yatranepal.api.config.SamplingLogFilter"><loggers>a.b,c.d</loggers><rate>100</rate></filter>
+public class SamplingLogFilter extends Filter<ILoggingEvent> {
+
+    private String[] prefixes = new String[0];
+    private int rate = 100;
+    private AtomicLong[] counters = new AtomicLong[0];
+
+    public void setLoggers(String loggers) {
+        this.prefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+        this.counters = new AtomicLong[prefixes.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new AtomicLong();
+        }
+    }
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String logger = event.getLoggerName();
+        for (int i = 0; i < prefixes.length; i++) {
+            if (logger.startsWith(prefixes[i])) {
+                return counters[i].getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -2,6 +2,7 @@ package com.yatranepal.api.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -28,7 +29,13 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/auth/**", "/auth/register", "/auth/login").permitAll()
-                .requestMatchers("/health", "/api/flight/**").permitAll()
+                .requestMatchers("/health", "/health/**", "/api/flight/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/metrics").permitAll() // Guarded by metrics.scrape-token when set, which prod requires
+                .requestMatchers("/admin/**").permitAll() // Admin controllers check the bearer token themselves
+                .requestMatchers(HttpMethod.GET, "/api/chats/*/presence").permitAll() // So does ChatController for presence
+                .requestMatchers("/api/attachments/**").permitAll() // And AttachmentController
+                .requestMatchers(HttpMethod.GET, "/images/**", "/api/image-sliders/*/image").permitAll()
+                .requestMatchers("/ws/**").permitAll() // WebSocket handshakes authenticate with the JWT query parameter
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/hotels/**", "/places/**").permitAll() // Allow public access for now
                 .anyRequest().authenticated()
@@ -0,0 +1,85 @@
+package com.yatranepal.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+// Logs statements slower than sql.slow-query.threshold-ms, with their bind values, to the
+// "sql.slow" logger. This replaces show-sql and the BasicBinder TRACE log in production: only the
+// statements worth looking at are formatted at all.
+@Component
+public class SlowQueryLogger implements InstrumentedDataSource.StatementListener {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+    private static final int MAX_BIND_LENGTH = 200;
+
+    @Value("${sql.slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql.slow-query.threshold-ms:500}")
+    private long thresholdMs;
+
+    // Binds include password hashes and token hashes; turn off where logs leave the trust boundary
+    @Value("${sql.slow-query.log-binds:true}")
+    private boolean logBinds;
+
+    @Override
+    public boolean capturesBinds() {
+        return enabled && logBinds;
+    }
+
+    @Override
+    public void statementExecuted(InstrumentedDataSource.StatementExecution execution) {
+        if (!enabled || execution.nanos() < TimeUnit.MILLISECONDS.toNanos(thresholdMs) || !log.isWarnEnabled()) {
+            return;
+        }
+        log.warn("Slow {}statement took {} ms{} in {}: {} binds={}",
+                execution.batch() ? "batch " : "", TimeUnit.NANOSECONDS.toMillis(execution.nanos()),
+                execution.failed() ? " and failed" : "", execution.caller() != null ? execution.caller() : "unattributed",
+                oneLine(execution.sql()), formatBinds(execution.binds()));
+    }
+
+    private static String oneLine(String sql) {
+        return sql == null ? "" : sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private static String formatBinds(Object[] binds) {
+        if (binds == null) {
+            return "[]";
+        }
+        int last = binds.length;
+        while (last > 0 && binds[last - 1] == null) {
+            last--;
+        }
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < last; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(formatBind(binds[i]));
+        }
+        return out.append(']').toString();
+    }
+
+    private static String formatBind(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<stream>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_BIND_LENGTH) {
+            text = text.substring(0, MAX_BIND_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+}
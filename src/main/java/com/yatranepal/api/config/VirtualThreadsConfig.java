@@ -0,0 +1,24 @@
+package com.yatranepal.api.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+
+// Before Java 21 Spring Boot silently ignores spring.threads.virtual.enabled. The virtual profile
+// would then still put 20000 connections and a fixed 40-connection pool in front of Tomcat's 200
+// platform workers, so startup fails instead of running with settings meant for another runtime.
+@Configuration
+public class VirtualThreadsConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @PostConstruct
+    public void checkRuntime() {
+        if (virtualThreadsEnabled && JavaVersion.getJavaVersion().isOlderThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled (the virtual profile) needs Java 21 or "
+                    + "newer, this is Java " + Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.yatranepal.api.config;
+
+import com.yatranepal.api.controller.PresenceWebSocketHandler;
+import com.yatranepal.api.service.JwtService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final PresenceWebSocketHandler presenceWebSocketHandler;
+    private final JwtService jwtService;
+
+    public WebSocketConfig(PresenceWebSocketHandler presenceWebSocketHandler, JwtService jwtService) {
+        this.presenceWebSocketHandler = presenceWebSocketHandler;
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(presenceWebSocketHandler, "/ws/presence")
+                .addInterceptors(new JwtHandshakeInterceptor())
+                .setAllowedOrigins("http://localhost:3000", "http://localhost:3001");
+    }
+
+    // Browsers cannot set headers on the WebSocket handshake, so the JWT comes in as ?token=
+    private class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+            try {
+                if (token != null && !jwtService.isTokenExpired(token)) {
+                    attributes.put("userId", Long.parseLong(jwtService.extractUserId(token)));
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                // fall through to 401
+            }
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.dto.HotelStatsResponse;
+import com.yatranepal.api.service.HotelStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/admin/analytics")
+@Tag(name = "Admin", description = "Operational endpoints for administrators")
+public class AdminAnalyticsController {
+
+    @Autowired
+    private HotelStatsService hotelStatsService;
+
+    @Autowired
+    private AdminAuthorization adminAuthorization;
+
+    // Hotels carry no owner yet, so revenue figures are for administrators only
+    @GetMapping("/hotels/{hotelId}")
+    @Operation(summary = "Get hotel statistics", description = "Daily or monthly occupancy, revenue and cancellations between two nights, both included")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid range or interval"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getHotelStats(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable Long hotelId,
+            @Parameter(description = "First night, e.g. 2024-01-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last night, e.g. 2024-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "day or month") @RequestParam(defaultValue = "day") String interval) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        try {
+            HotelStatsResponse stats = hotelStatsService.getSeries(hotelId, from, to, interval);
+            return ResponseEntity.ok(stats);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Rebuild hotel statistics", description = "Recomputes hotel_daily_stats from all reservations in the background; "
+            + "run once after deploying the table and whenever the rows are suspect")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Backfill started, or already running"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> startBackfill(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(hotelStatsService.startBackfill());
+    }
+
+    @GetMapping("/backfill")
+    @Operation(summary = "Backfill progress", description = "State of the current or last backfill")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Backfill status"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> getBackfill(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        return ResponseEntity.ok(hotelStatsService.getBackfillStatus());
+    }
+}
@@ -0,0 +1,18 @@
+package com.yatranepal.api.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Admin endpoints authenticate like /auth/: the bearer token is checked in the controller
+@Component
+public class AdminAuthorization {
+
+    @Autowired
+    private BearerTokenAuthentication bearerTokenAuthentication;
+
+    public boolean isAdmin(String authHeader) {
+        return bearerTokenAuthentication.authenticate(authHeader)
+                .map(user -> Boolean.TRUE.equals(user.getIsAdmin()))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,37 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.service.HotelPriceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/hotels")
+@Tag(name = "Admin", description = "Operational endpoints for administrators")
+public class AdminHotelController {
+
+    @Autowired
+    private HotelPriceService hotelPriceService;
+
+    @Autowired
+    private AdminAuthorization adminAuthorization;
+
+    @PostMapping("/recompute-prices")
+    @Operation(summary = "Recompute cheapest prices", description = "Re-derives every hotel's cheapestPrice from its rooms "
+            + "and rebuilds the price index; hotels without rooms keep their price")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hotels checked and corrected"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> recomputePrices(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        return ResponseEntity.ok(hotelPriceService.recomputeAll());
+    }
+}
@@ -0,0 +1,89 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.dto.LogLevelRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Runtime log levels, e.g. PUT /admin/loggers/sql.slow {"level":"OFF"} or
+// PUT /admin/loggers/com.yatranepal.api.service {"level":"DEBUG"} while chasing an incident.
+// Changes last until restart.
+@RestController
+@RequestMapping("/admin/loggers")
+@Tag(name = "Admin", description = "Operational endpoints for administrators")
+public class AdminLoggingController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminLoggingController.class);
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private AdminAuthorization adminAuthorization;
+
+    @GetMapping
+    @Operation(summary = "List log levels", description = "Loggers with an explicitly configured level, or all loggers under a prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Logger levels"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> getLoggers(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @Parameter(description = "Logger name prefix") @RequestParam(required = false) String prefix) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        Map<String, Map<String, String>> loggers = new LinkedHashMap<>();
+        for (LoggerConfiguration configuration : loggingSystem.getLoggerConfigurations()) {
+            boolean listed = prefix != null ? configuration.getName().startsWith(prefix) : configuration.getConfiguredLevel() != null;
+            if (listed) {
+                Map<String, String> levels = new LinkedHashMap<>();
+                levels.put("configuredLevel", configuration.getConfiguredLevel() != null ? configuration.getConfiguredLevel().name() : null);
+                levels.put("effectiveLevel", configuration.getEffectiveLevel().name());
+                loggers.put(configuration.getName(), levels);
+            }
+        }
+        return ResponseEntity.ok(loggers);
+    }
+
+    @PutMapping("/{name:.+}")
+    @Operation(summary = "Set log level", description = "Change a logger's level without a restart; a null level resets it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Level changed"),
+        @ApiResponse(responseCode = "400", description = "Invalid level"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> setLevel(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @Parameter(description = "Logger name, or ROOT") @PathVariable String name,
+            @Valid @RequestBody LogLevelRequest request) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        try {
+            LogLevel level = request.getLevel() != null ? LogLevel.valueOf(request.getLevel().toUpperCase(Locale.ROOT)) : null;
+            loggingSystem.setLogLevel(LoggingSystem.ROOT_LOGGER_NAME.equalsIgnoreCase(name) ? null : name, level);
+            log.warn("Log level of {} set to {}", name, level);
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            return ResponseEntity.ok(Map.of("name", name, "effectiveLevel", configuration.getEffectiveLevel().name()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.service.SqlStatementStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/admin/queries")
+@Tag(name = "Admin", description = "Operational endpoints for administrators")
+public class AdminQueryController {
+
+    @Autowired
+    private SqlStatementStats sqlStatementStats;
+
+    @Autowired
+    private AdminAuthorization adminAuthorization;
+
+    @GetMapping
+    @Operation(summary = "Top SQL statements", description = "Statements since startup or the last reset, worst first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statement statistics"),
+        @ApiResponse(responseCode = "400", description = "Unknown sort order"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> getTopQueries(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @Parameter(description = "total, mean, max, count or rows") @RequestParam(defaultValue = "total") String sort,
+            @Parameter(description = "Number of statements") @RequestParam(defaultValue = "20") int limit) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        try {
+            SqlStatementStats.SortBy sortBy = SqlStatementStats.SortBy.valueOf(sort.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(sqlStatementStats.top(sortBy, Math.max(1, Math.min(limit, 500))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Reset statement statistics", description = "Start a fresh measurement window")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Statistics cleared"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    public ResponseEntity<?> reset(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!adminAuthorization.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Admin access required"));
+        }
+        sqlStatementStats.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
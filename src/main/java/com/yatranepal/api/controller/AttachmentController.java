@@ -0,0 +1,185 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.dto.AttachmentUploadRequest;
+import com.yatranepal.api.dto.AttachmentUploadResponse;
+import com.yatranepal.api.model.Attachment;
+import com.yatranepal.api.service.AttachmentService;
+import com.yatranepal.api.service.AttachmentStorage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/attachments")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@Tag(name = "Attachment Management", description = "APIs for uploading and downloading message attachments")
+public class AttachmentController {
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private BearerTokenAuthentication bearerTokenAuthentication;
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Start attachment upload", description = "Open a resumable upload for a file of the given size")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload started"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or file too large"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> startUpload(@Valid @RequestBody AttachmentUploadRequest request,
+                                         @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            return unauthenticated();
+        }
+        try {
+            return ResponseEntity.ok(attachmentService.startUpload(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @Operation(summary = "Get upload state", description = "Get the offset an interrupted upload should resume from")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload found"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "404", description = "Upload not found or expired"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getUpload(@PathVariable String uploadId,
+                                       @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            return unauthenticated();
+        }
+        Optional<AttachmentUploadResponse> upload = attachmentService.getUpload(uploadId);
+        return upload.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload chunk", description = "Append the raw request body at the given offset")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chunk stored"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "404", description = "Upload not found or expired"),
+        @ApiResponse(responseCode = "409", description = "Offset does not match the bytes received so far"),
+        @ApiResponse(responseCode = "400", description = "Chunk runs past the declared size"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId, @RequestParam long offset,
+                                         @RequestHeader(value = "Authorization", required = false) String authHeader,
+                                         HttpServletRequest request) throws IOException {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            return unauthenticated();
+        }
+        Optional<AttachmentUploadResponse> upload = attachmentService.getUpload(uploadId);
+        if (upload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (upload.get().getOffset() != offset) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(upload.get());
+        }
+        try {
+            return ResponseEntity.ok(attachmentService.appendChunk(uploadId, offset, request.getInputStream()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new AuthController.ErrorResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @Operation(summary = "Complete upload", description = "Finish an upload and return the stored attachment")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Attachment stored"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "400", description = "Upload not found or incomplete"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId,
+                                            @RequestHeader(value = "Authorization", required = false) String authHeader) throws IOException {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            return unauthenticated();
+        }
+        try {
+            Attachment attachment = attachmentService.completeUpload(uploadId);
+            return ResponseEntity.ok(attachment);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @Operation(summary = "Cancel upload", description = "Discard an unfinished upload")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload discarded"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided")
+    })
+    public ResponseEntity<?> cancelUpload(@PathVariable String uploadId,
+                                          @RequestHeader(value = "Authorization", required = false) String authHeader) throws IOException {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            return unauthenticated();
+        }
+        attachmentService.cancelUpload(uploadId);
+        return ResponseEntity.ok().build();
+    }
+
+    // The hash in the path keeps attachment URLs unguessable, as they were when it was the whole path
+    @GetMapping("/{id:\\d+}/{contentHash:[0-9a-f]{64}}")
+    @Operation(summary = "Download attachment", description = "Download an attachment; supports single byte ranges and If-None-Match")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Attachment content"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range"),
+        @ApiResponse(responseCode = "304", description = "Client copy is current"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found"),
+        @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    public void downloadAttachment(@PathVariable Long id, @PathVariable String contentHash,
+                                   @RequestHeader(value = "Authorization", required = false) String authHeader,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (bearerTokenAuthentication.authenticate(authHeader).isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        Optional<Attachment> attachment = attachmentService.getAttachment(id);
+        if (attachment.isEmpty() || !attachment.get().getContentHash().equals(contentHash)
+                || !attachmentStorage.contains(contentHash)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Neither the content nor the row's name and type ever change
+        response.setHeader("Cache-Control", "private, max-age=31536000, immutable");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + contentHash + "\"")) {
+            return;
+        }
+        try (FileChannel channel = attachmentStorage.openContent(contentHash)) {
+            FileResponseWriter.write(request, response, channel, attachmentStorage.localPath(contentHash),
+                    attachment.get().getContentType());
+        }
+    }
+
+    private static ResponseEntity<AuthController.ErrorResponse> unauthenticated() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new AuthController.ErrorResponse("No valid token provided"));
+    }
+}
@@ -2,9 +2,12 @@ package com.yatranepal.api.controller;
 
 import com.yatranepal.api.dto.AuthRequest;
 import com.yatranepal.api.dto.AuthResponse;
+import com.yatranepal.api.dto.ForgotPasswordRequest;
 import com.yatranepal.api.dto.RegisterRequest;
+import com.yatranepal.api.dto.ResetPasswordRequest;
 import com.yatranepal.api.model.User;
 import com.yatranepal.api.service.AuthService;
+import com.yatranepal.api.service.PasswordResetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private PasswordResetService passwordResetService;
+
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Create a new user account")
     @ApiResponses(value = {
@@ -79,6 +85,62 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/forgot-password")
+    @Operation(summary = "Request password reset", description = "Email a password reset link if the account exists")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Request accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+        passwordResetService.requestReset(request.getEmail());
+        // Same answer whether or not the email is registered
+        return ResponseEntity.accepted().body(new MessageResponse("If the email is registered, a reset link has been sent"));
+    }
+
+    @GetMapping("/reset-password/validate")
+    @Operation(summary = "Validate reset token", description = "Check whether a password reset token is still usable")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token is valid"),
+        @ApiResponse(responseCode = "400", description = "Token is invalid or expired")
+    })
+    public ResponseEntity<?> validateResetToken(@RequestParam String token) {
+        if (!passwordResetService.isValid(token)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid or expired reset token"));
+        }
+        return ResponseEntity.ok(new MessageResponse("Token is valid"));
+    }
+
+    @PostMapping("/reset-password")
+    @Operation(summary = "Reset password", description = "Set a new password using a reset token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Password reset successfully"),
+        @ApiResponse(responseCode = "400", description = "Token is invalid or expired")
+    })
+    public ResponseEntity<?> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+        try {
+            passwordResetService.resetPassword(request.getToken(), request.getNewPassword());
+            return ResponseEntity.ok(new MessageResponse("Password reset successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Success response class
+    public static class MessageResponse {
+        private String message;
+        private boolean success = true;
+
+        public MessageResponse(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+    }
+
     // Error response class
     public static class ErrorResponse {
         private String message;
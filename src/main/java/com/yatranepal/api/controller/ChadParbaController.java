@@ -1,6 +1,8 @@
 package com.yatranepal.api.controller;
 
 import com.yatranepal.api.model.ChadParba;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.CatalogVersionService.Catalog;
 import com.yatranepal.api.service.ChadParbaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,8 +10,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,13 +27,20 @@ public class ChadParbaController {
     @Autowired
     private ChadParbaService chadParbaService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
     @GetMapping
     @Operation(summary = "Get all festivals", description = "Retrieve all Nepali festivals ordered by date")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Festivals retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Festivals not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ChadParba>> getAllChadParba() {
+    public ResponseEntity<List<ChadParba>> getAllChadParba(WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.CHAD_PARBA)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ChadParba> festivals = chadParbaService.getAllChadParba();
         return ResponseEntity.ok(festivals);
     }
@@ -38,10 +49,14 @@ public class ChadParbaController {
     @Operation(summary = "Get festival by ID", description = "Retrieve a specific festival by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Festival found"),
+        @ApiResponse(responseCode = "304", description = "Festival not modified"),
         @ApiResponse(responseCode = "404", description = "Festival not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ChadParba> getChadParbaById(@PathVariable Long id) {
+    public ResponseEntity<ChadParba> getChadParbaById(@PathVariable Long id, WebRequest webRequest) {
+        if (catalogVersionService.checkEntityNotModified(webRequest, Catalog.CHAD_PARBA, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<ChadParba> festival = chadParbaService.getChadParbaById(id);
         return festival.map(ResponseEntity::ok)
                      .orElse(ResponseEntity.notFound().build());
@@ -94,9 +109,15 @@ public class ChadParbaController {
     @Operation(summary = "Get festivals by month", description = "Retrieve festivals by Nepali month")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Festivals retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Festivals not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ChadParba>> getChadParbaByMonth(@PathVariable ChadParba.NepaliMonth nepaliMonth) {
+    public ResponseEntity<List<ChadParba>> getChadParbaByMonth(
+            @PathVariable ChadParba.NepaliMonth nepaliMonth,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.CHAD_PARBA)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ChadParba> festivals = chadParbaService.getChadParbaByMonth(nepaliMonth);
         return ResponseEntity.ok(festivals);
     }
@@ -105,9 +126,15 @@ public class ChadParbaController {
     @Operation(summary = "Get festivals by category", description = "Retrieve festivals by category")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Festivals retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Festivals not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ChadParba>> getChadParbaByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ChadParba>> getChadParbaByCategory(
+            @PathVariable String category,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.CHAD_PARBA)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ChadParba> festivals = chadParbaService.getChadParbaByCategory(category);
         return ResponseEntity.ok(festivals);
     }
@@ -116,9 +143,13 @@ public class ChadParbaController {
     @Operation(summary = "Search festivals by title", description = "Search festivals by title")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Festivals not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ChadParba>> searchChadParbaByTitle(@RequestParam String title) {
+    public ResponseEntity<List<ChadParba>> searchChadParbaByTitle(@RequestParam String title, WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.CHAD_PARBA)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ChadParba> festivals = chadParbaService.searchChadParbaByTitle(title);
         return ResponseEntity.ok(festivals);
     }
@@ -127,11 +158,16 @@ public class ChadParbaController {
     @Operation(summary = "Get festivals by specific date", description = "Retrieve festivals by specific Nepali date")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Festivals retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Festivals not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<ChadParba>> getChadParbaByDate(
             @PathVariable ChadParba.NepaliMonth nepaliMonth,
-            @PathVariable Integer nepaliDay) {
+            @PathVariable Integer nepaliDay,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.CHAD_PARBA)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ChadParba> festivals = chadParbaService.getChadParbaByDate(nepaliMonth, nepaliDay);
         return ResponseEntity.ok(festivals);
     }
@@ -1,13 +1,17 @@
 package com.yatranepal.api.controller;
 
+import com.yatranepal.api.dto.ChatPresenceResponse;
 import com.yatranepal.api.model.Chat;
+import com.yatranepal.api.model.User;
 import com.yatranepal.api.service.ChatService;
+import com.yatranepal.api.service.PresenceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,6 +27,12 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private BearerTokenAuthentication bearerTokenAuthentication;
+
     @GetMapping
     @Operation(summary = "Get all chats", description = "Retrieve all chat conversations")
     @ApiResponses(value = {
@@ -111,4 +121,30 @@ public class ChatController {
         List<Chat> chats = chatService.getChatBetweenUsers(userId1, userId2);
         return ResponseEntity.ok(chats);
     }
+
+    @GetMapping("/{id}/presence")
+    @Operation(summary = "Get chat presence", description = "Retrieve which chat members are online or typing")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Presence retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "No valid token provided"),
+        @ApiResponse(responseCode = "403", description = "Not a member of the chat"),
+        @ApiResponse(responseCode = "404", description = "Chat not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getChatPresence(@PathVariable Long id,
+                                             @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Optional<User> user = bearerTokenAuthentication.authenticate(authHeader);
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new AuthController.ErrorResponse("No valid token provided"));
+        }
+        Optional<Chat> chat = chatService.getChatWithMembers(id);
+        if (chat.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (chat.get().getMembers() == null || !chat.get().getMembers().contains(user.get().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new AuthController.ErrorResponse("Not a member of this chat"));
+        }
+        ChatPresenceResponse presence = presenceService.getChatPresence(chat.get());
+        return ResponseEntity.ok(presence);
+    }
 }
@@ -1,6 +1,8 @@
 package com.yatranepal.api.controller;
 
 import com.yatranepal.api.model.ExchangeCenter;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.CatalogVersionService.Catalog;
 import com.yatranepal.api.service.ExchangeCenterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,8 +10,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -24,13 +28,20 @@ public class ExchangeCenterController {
     @Autowired
     private ExchangeCenterService exchangeCenterService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
     @GetMapping
     @Operation(summary = "Get all exchange centers", description = "Retrieve all exchange centers")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Exchange centers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> getAllExchangeCenters() {
+    public ResponseEntity<List<ExchangeCenter>> getAllExchangeCenters(WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.getAllExchangeCenters();
         return ResponseEntity.ok(centers);
     }
@@ -39,10 +50,14 @@ public class ExchangeCenterController {
     @Operation(summary = "Get exchange center by ID", description = "Retrieve a specific exchange center by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Exchange center found"),
+        @ApiResponse(responseCode = "304", description = "Exchange center not modified"),
         @ApiResponse(responseCode = "404", description = "Exchange center not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ExchangeCenter> getExchangeCenterById(@PathVariable Long id) {
+    public ResponseEntity<ExchangeCenter> getExchangeCenterById(@PathVariable Long id, WebRequest webRequest) {
+        if (catalogVersionService.checkEntityNotModified(webRequest, Catalog.EXCHANGE_CENTERS, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<ExchangeCenter> center = exchangeCenterService.getExchangeCenterById(id);
         return center.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
@@ -95,9 +110,15 @@ public class ExchangeCenterController {
     @Operation(summary = "Get exchange centers by owner", description = "Retrieve all exchange centers owned by a specific user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Exchange centers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> getExchangeCentersByOwnerId(@PathVariable Long ownerId) {
+    public ResponseEntity<List<ExchangeCenter>> getExchangeCentersByOwnerId(
+            @PathVariable Long ownerId,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.getExchangeCentersByOwnerId(ownerId);
         return ResponseEntity.ok(centers);
     }
@@ -106,9 +127,13 @@ public class ExchangeCenterController {
     @Operation(summary = "Get active exchange centers", description = "Retrieve all active exchange centers")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Active exchange centers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> getActiveExchangeCenters() {
+    public ResponseEntity<List<ExchangeCenter>> getActiveExchangeCenters(WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.getActiveExchangeCenters();
         return ResponseEntity.ok(centers);
     }
@@ -117,9 +142,15 @@ public class ExchangeCenterController {
     @Operation(summary = "Get exchange centers by status", description = "Retrieve exchange centers by active/inactive status")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Exchange centers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> getExchangeCentersByStatus(@PathVariable Boolean isActive) {
+    public ResponseEntity<List<ExchangeCenter>> getExchangeCentersByStatus(
+            @PathVariable Boolean isActive,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.getExchangeCentersByStatus(isActive);
         return ResponseEntity.ok(centers);
     }
@@ -128,9 +159,15 @@ public class ExchangeCenterController {
     @Operation(summary = "Search exchange centers by name", description = "Search exchange centers by name")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByName(@RequestParam String name) {
+    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByName(
+            @RequestParam String name,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.searchExchangeCentersByName(name);
         return ResponseEntity.ok(centers);
     }
@@ -139,9 +176,15 @@ public class ExchangeCenterController {
     @Operation(summary = "Search exchange centers by address", description = "Search exchange centers by address")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByAddress(@RequestParam String address) {
+    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByAddress(
+            @RequestParam String address,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.searchExchangeCentersByAddress(address);
         return ResponseEntity.ok(centers);
     }
@@ -150,9 +193,15 @@ public class ExchangeCenterController {
     @Operation(summary = "Search exchange centers by service", description = "Search exchange centers by service offered")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByService(@RequestParam String service) {
+    public ResponseEntity<List<ExchangeCenter>> searchExchangeCentersByService(
+            @RequestParam String service,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.searchExchangeCentersByService(service);
         return ResponseEntity.ok(centers);
     }
@@ -161,12 +210,17 @@ public class ExchangeCenterController {
     @Operation(summary = "Get nearby exchange centers", description = "Find exchange centers within specified radius")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Nearby exchange centers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Exchange centers not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<ExchangeCenter>> getExchangeCentersNearLocation(
             @RequestParam BigDecimal lat,
             @RequestParam BigDecimal lng,
-            @RequestParam(defaultValue = "10.0") Double radius) {
+            @RequestParam(defaultValue = "10.0") Double radius,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.EXCHANGE_CENTERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ExchangeCenter> centers = exchangeCenterService.getExchangeCentersNearLocation(lat, lng, radius);
         return ResponseEntity.ok(centers);
     }
@@ -1,24 +1,102 @@
 package com.yatranepal.api.controller;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.yatranepal.api.dto.FlightDeltaResponse;
+import com.yatranepal.api.dto.FlightListResponse;
 import com.yatranepal.api.service.FlightService;
+import com.yatranepal.api.service.FlightService.FlightSnapshot;
 
 @RestController
 @RequestMapping("/api/flight")
+@Tag(name = "Flights", description = "Live flights over Nepal from OpenSky")
 public class FlightController {
 
     @Autowired
     private FlightService flightService;
 
+    @Autowired
+    private FlightStreamPublisher flightStreamPublisher;
+
+    // Returns the cached OpenSky body as-is; Age tells clients how old it is
     @GetMapping("/flights/nepal")
-    public Map getNepalFlights() {
-        return flightService.getNepalFlights();
+    @Operation(summary = "Raw flights", description = "Latest OpenSky response for the Nepal bounding box, unchanged")
+    public ResponseEntity<byte[]> getNepalFlights() {
+        Optional<FlightSnapshot> snapshot = flightService.getNepalFlights();
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        long ageSeconds = Duration.ofMillis(System.currentTimeMillis() - snapshot.get().fetchedAt()).toSeconds();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(flightService.getRefreshIntervalMs(), TimeUnit.MILLISECONDS).cachePublic())
+                .header(HttpHeaders.AGE, Long.toString(Math.max(0, ageSeconds)))
+                .body(snapshot.get().body());
+    }
+
+    @GetMapping("/flights")
+    @Operation(summary = "Filter flights", description = "Aircraft near an airport, in an altitude band or with a callsign prefix")
+    public ResponseEntity<?> getFlights(
+            @Parameter(description = "IATA code of a Nepali airport, e.g. KTM") @RequestParam(required = false) String airport,
+            @Parameter(description = "Radius around the airport in km, default 30") @RequestParam(required = false) Double radiusKm,
+            @Parameter(description = "Minimum altitude in meters") @RequestParam(required = false) Double minAltitude,
+            @Parameter(description = "Maximum altitude in meters") @RequestParam(required = false) Double maxAltitude,
+            @Parameter(description = "Callsign prefix, e.g. RNA") @RequestParam(required = false) String callsign) {
+        try {
+            Optional<FlightListResponse> flights = flightService.getFlights(airport, radiusKm, minAltitude, maxAltitude, callsign);
+            if (flights.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+            }
+            return ResponseEntity.ok(flights.get());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/flights/delta")
+    @Operation(summary = "Flight delta", description = "Aircraft that changed since the given snapshot version")
+    public ResponseEntity<FlightDeltaResponse> getFlightDelta(
+            @Parameter(description = "Version from a previous list or delta response") @RequestParam long since) {
+        Optional<FlightDeltaResponse> delta = flightService.getDelta(since);
+        if (delta.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok(delta.get());
+    }
+
+    // Events: "snapshot" (FlightListResponse) first, then "delta" (FlightDeltaResponse); the event
+    // id carries the snapshot version, so a reconnecting EventSource resumes with a delta
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flight stream", description = "Server-Sent Events carrying every refreshed flight snapshot")
+    public ResponseEntity<SseEmitter> streamFlights(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        Optional<SseEmitter> emitter = flightStreamPublisher.subscribe(lastEventId);
+        if (emitter.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // Stop nginx from buffering the stream
+                .body(emitter.get());
     }
 
 }
@@ -0,0 +1,321 @@
+package com.yatranepal.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.service.FlightService;
+import com.yatranepal.api.service.FlightStateTable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Fans each refreshed flight snapshot out to SSE subscribers. A subscriber only ever has the
+// latest publication pending: a slow client skips intermediate versions and gets one delta from
+// the last version it actually received, so it never holds more than one queued event.
+// Snapshot versions count from 1 on every node start, so event ids are "<epoch>-<version>" with
+// an epoch drawn at startup; an id from another node or an earlier run gets a full snapshot.
+// Senders stay on platform threads even in the virtual-thread profile: SseEmitter.send holds
+// a monitor while writing to the socket, which would pin the carrier.
+// A client that stops reading blocks its sender inside that write until Tomcat's write timeout;
+// neither interrupting the thread nor completing the emitter cuts it short. Sends running past
+// flight.stream.send-timeout-ms are given up on instead: the subscriber is dropped and the pool
+// gets a thread in place of the stuck one until Tomcat fails the write, so stalled clients
+// can't hold up delivery to everyone else.
+@Component
+public class FlightStreamPublisher implements FlightService.FlightListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightStreamPublisher.class);
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${flight.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${flight.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${flight.stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${flight.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    // Replacement threads at most; stalls beyond this drop the subscriber without one
+    @Value("${flight.stream.max-stalled-sends:64}")
+    private int maxStalledSends;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots are taken before the subscriber is added, so concurrent subscribes cannot overshoot
+    private final AtomicInteger slots = new AtomicInteger();
+    private ThreadPoolExecutor senders;
+    private int stalledSends; // Guarded by this
+    private volatile Publication latest;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        senders = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "flight-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flightService.addListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // Returns empty when the node is at its subscriber limit. lastEventId is the id of the event
+    // the client last saw (sent back by EventSource on reconnect), so it resumes with a delta.
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        return subscribe(lastEventId, () -> new SseEmitter(timeoutMs));
+    }
+
+    Optional<SseEmitter> subscribe(String lastEventId, Supplier<SseEmitter> emitters) {
+        if (slots.incrementAndGet() > maxSubscribers) {
+            slots.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = emitters.get();
+        Subscriber subscriber = new Subscriber(emitter, resumeVersion(lastEventId));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        if (latest == null) {
+            flightService.getNepalFlights().ifPresent(snapshot -> publish(snapshot.states()));
+        }
+        schedule(subscriber);
+        return Optional.of(emitter);
+    }
+
+    // 0, meaning snapshot first, unless the id is one of this run's
+    private long resumeVersion(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return 0;
+        }
+        try {
+            long version = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+            Publication publication = latest;
+            return version > 0 && publication != null && version <= publication.states.getVersion() ? version : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Sender threads stuck in a write that was given up on
+    public synchronized int getStalledSendCount() {
+        return stalledSends;
+    }
+
+    @Override
+    public void flightsUpdated(FlightStateTable states) {
+        publish(states);
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    // Comment frames keep proxies from idling out the connection and surface dead clients
+    @Scheduled(fixedRateString = "${flight.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${flight.stream.send-watchdog-ms:1000}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedAt.get();
+            if (started == IDLE || started == STALLED || now - started < TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                continue;
+            }
+            // The replacement is added before claiming the send, so the pool never shrinks below its size
+            boolean replaced = resizeSenders(1);
+            subscriber.replaced = replaced;
+            if (subscriber.sendStartedAt.compareAndSet(started, STALLED)) {
+                log.debug("Flight stream send stalled for over {} ms, dropping subscriber", sendTimeoutMs);
+                close(subscriber);
+            } else if (replaced) {
+                resizeSenders(-1);
+            }
+        }
+    }
+
+    // Returns false when growing would pass flight.stream.max-stalled-sends
+    private synchronized boolean resizeSenders(int delta) {
+        if (delta > 0 && stalledSends >= maxStalledSends) {
+            return false;
+        }
+        stalledSends += delta;
+        int size = sendThreads + stalledSends;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+        return true;
+    }
+
+    private synchronized void publish(FlightStateTable states) {
+        if (latest == null || latest.states.getVersion() < states.getVersion()) {
+            latest = new Publication(states);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed && subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Publication publication;
+            while (!subscriber.closed && (publication = latest) != null
+                    && publication.states.getVersion() != subscriber.sentVersion) {
+                long version = publication.states.getVersion();
+                SseEmitter.SseEventBuilder event = subscriber.sentVersion == 0
+                        ? SseEmitter.event().name("snapshot").data(publication.snapshot(), MediaType.APPLICATION_JSON)
+                        : SseEmitter.event().name("delta").data(publication.deltaSince(subscriber.sentVersion), MediaType.APPLICATION_JSON);
+                send(subscriber, event.id(epoch + "-" + version));
+                subscriber.sentVersion = version;
+            }
+            if (!subscriber.closed && subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("keepalive"));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping flight stream subscriber: {}", e.getMessage());
+            close(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // A publication that landed after the loop's last check would otherwise wait for the next one
+        Publication publication = latest;
+        if (publication != null && publication.states.getVersion() != subscriber.sentVersion) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        long started = System.nanoTime();
+        if (started == IDLE || started == STALLED) {
+            started++;
+        }
+        subscriber.sendStartedAt.set(started);
+        boolean stalled;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            // Failing means the watchdog gave up on this send while it was blocked
+            stalled = !subscriber.sendStartedAt.compareAndSet(started, IDLE);
+            if (stalled && subscriber.replaced) {
+                resizeSenders(-1);
+            }
+        }
+        if (stalled) {
+            throw new IOException("Send took longer than " + sendTimeoutMs + " ms");
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            slots.decrementAndGet();
+        }
+    }
+
+    private static final long IDLE = 0;
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // nanoTime the send in progress started, IDLE between sends, STALLED once given up on
+        final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+        volatile boolean replaced;
+        volatile long sentVersion;
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long sentVersion) {
+            this.emitter = emitter;
+            this.sentVersion = sentVersion;
+        }
+    }
+
+    // Serialized payloads are shared by every subscriber at the same version
+    private final class Publication {
+        final FlightStateTable states;
+        final Map<Long, String> deltas = new ConcurrentHashMap<>();
+        private volatile String snapshot;
+
+        Publication(FlightStateTable states) {
+            this.states = states;
+        }
+
+        String snapshot() {
+            String json = snapshot;
+            if (json == null) {
+                json = toJson(flightService.toListResponse(states, null));
+                snapshot = json;
+            }
+            return json;
+        }
+
+        String deltaSince(long since) {
+            return deltas.computeIfAbsent(since, v -> toJson(flightService.toDeltaResponse(states, v)));
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
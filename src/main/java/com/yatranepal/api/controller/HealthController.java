@@ -1,30 +1,65 @@
 package com.yatranepal.api.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.yatranepal.api.service.HealthProbeService;
+import com.yatranepal.api.service.HealthProbeService.Report;
+import com.yatranepal.api.service.HealthProbeService.Status;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+// All endpoints read the report HealthProbeService keeps up to date; none of them touch a dependency
 @RestController
 @RequestMapping("/health")
 @Tag(name = "Health", description = "Health check APIs")
 public class HealthController {
 
+    @Autowired
+    private HealthProbeService healthProbeService;
+
     @GetMapping
-    @Operation(summary = "Health check", description = "Check if the API is running")
-    @ApiResponse(responseCode = "200", description = "API is healthy")
+    @Operation(summary = "Health check", description = "Check if the API is running and its dependencies are reachable")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "API is healthy"),
+        @ApiResponse(responseCode = "503", description = "A critical dependency is down")
+    })
     public ResponseEntity<Map<String, Object>> healthCheck() {
+        Report report = healthProbeService.getReadiness();
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "ok");
+        response.put("status", report.status() == Status.DOWN ? "down" : "ok");
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "YatraNepal API");
         response.put("version", "1.0.0");
-        return ResponseEntity.ok(response);
+        response.put("checks", report.probes());
+        return ResponseEntity.status(report.status() == Status.DOWN ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(response);
+    }
+
+    // Liveness only says the process can serve requests; restarting it won't fix a database outage
+    @GetMapping("/live")
+    @Operation(summary = "Liveness probe", description = "Check that the process is up")
+    @ApiResponse(responseCode = "200", description = "Process is alive")
+    public ResponseEntity<Map<String, String>> liveness() {
+        return ResponseEntity.ok(Map.of("status", "UP"));
+    }
+
+    @GetMapping("/ready")
+    @Operation(summary = "Readiness probe", description = "Check whether this node should receive traffic")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ready, possibly degraded"),
+        @ApiResponse(responseCode = "503", description = "Not ready")
+    })
+    public ResponseEntity<Report> readiness() {
+        Report report = healthProbeService.getReadiness();
+        return ResponseEntity.status(report.status() == Status.DOWN ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(report);
     }
 }
@@ -1,13 +1,22 @@
 package com.yatranepal.api.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.yatranepal.api.dto.HotelSearchResponse;
 import com.yatranepal.api.model.Hotel;
+import com.yatranepal.api.model.Views;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.CatalogVersionService.Catalog;
+import com.yatranepal.api.service.HotelSearchIndex;
 import com.yatranepal.api.service.HotelService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -24,10 +33,15 @@ public class HotelController {
     @Autowired
     private HotelService hotelService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
     @GetMapping
+    @JsonView(Views.Summary.class)
     @Operation(summary = "Get all hotels", description = "Retrieve all hotels with optional filtering")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Hotels retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Hotels not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<Hotel>> getAllHotels(
@@ -35,20 +49,31 @@ public class HotelController {
             @RequestParam(required = false) String type,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
-            @RequestParam(required = false) Boolean featured) {
+            @RequestParam(required = false) Boolean featured,
+            @Parameter(description = "price for cheapest first, -price for most expensive first")
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest) {
         
         List<Hotel> hotels;
         
+        if (sort != null && !sort.equals("price") && !sort.equals("-price")) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean byPrice = (featured == null || !featured) && (minPrice != null || maxPrice != null || sort != null);
+        CatalogVersionService.IndexVersion indexVersion = byPrice ? hotelService.getPriceIndexVersion() : null;
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.HOTELS, indexVersion)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         if (featured != null && featured) {
             hotels = hotelService.getFeaturedHotels();
+        } else if (byPrice) {
+            hotels = hotelService.getHotelsByPrice(city, type, minPrice, maxPrice, "-price".equals(sort));
         } else if (city != null && type != null) {
             hotels = hotelService.getHotelsByCityAndType(city, type);
         } else if (city != null) {
             hotels = hotelService.getHotelsByCity(city);
         } else if (type != null) {
             hotels = hotelService.getHotelsByType(type);
-        } else if (minPrice != null && maxPrice != null) {
-            hotels = hotelService.getHotelsByPriceRange(minPrice, maxPrice);
         } else {
             hotels = hotelService.getAllHotels();
         }
@@ -60,10 +85,14 @@ public class HotelController {
     @Operation(summary = "Get hotel by ID", description = "Retrieve a specific hotel by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Hotel found"),
+        @ApiResponse(responseCode = "304", description = "Hotel not modified"),
         @ApiResponse(responseCode = "404", description = "Hotel not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Hotel> getHotelById(@PathVariable Long id) {
+    public ResponseEntity<Hotel> getHotelById(@PathVariable Long id, WebRequest webRequest) {
+        if (catalogVersionService.checkEntityNotModified(webRequest, Catalog.HOTELS, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<Hotel> hotel = hotelService.getHotelById(id);
         return hotel.map(ResponseEntity::ok)
                    .orElse(ResponseEntity.notFound().build());
@@ -112,14 +141,53 @@ public class HotelController {
         return ResponseEntity.ok().build();
     }
 
-    @GetMapping("/search")
-    @Operation(summary = "Search hotels", description = "Search hotels by name")
+    // The original name search and its response, a plain list of full hotels, for clients that
+    // send nothing but a name. Any other parameter selects the paged search below.
+    @GetMapping(value = "/search", params = {"name", "!city", "!type", "!minPrice", "!maxPrice", "!minRating",
+            "!featured", "!sort", "!page", "!size"})
+    @Operation(summary = "Search hotels by name", description = "Search hotels by name")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Hotel>> searchHotels(@RequestParam String name) {
+    public ResponseEntity<List<Hotel>> searchHotelsByName(@RequestParam String name) {
         List<Hotel> hotels = hotelService.searchHotelsByName(name);
         return ResponseEntity.ok(hotels);
     }
+
+    @GetMapping("/search")
+    @JsonView(Views.Summary.class)
+    @Operation(summary = "Search hotels", description = "Search hotels by any combination of filters, sorted and paged, "
+            + "with the number of matches per city, type and price range")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Search results not modified"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, page or price range"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> searchHotels(
+            @Parameter(description = "Part of the hotel name, any case") @RequestParam(required = false) String name,
+            @Parameter(description = "Cities, any of") @RequestParam(required = false) List<String> city,
+            @Parameter(description = "Types, any of") @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Boolean featured,
+            @Parameter(description = "price, rating or distance; prefix with - for descending") @RequestParam(required = false) String sort,
+            @Parameter(description = "Zero-based page") @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        HotelSearchIndex.Query query;
+        try {
+            query = hotelService.toSearchQuery(city, type, minPrice, maxPrice, minRating, featured, name, sort,
+                    page, size);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new AuthController.ErrorResponse(e.getMessage()));
+        }
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.HOTELS, hotelService.getSearchIndexVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        HotelSearchResponse response = hotelService.searchHotels(query);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,50 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.service.ImageDeliveryService;
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
+import com.yatranepal.api.service.ImageVariantService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/images")
+@Tag(name = "Images", description = "Delivery of uploaded images")
+public class ImageController {
+
+    @Autowired
+    private ImageDeliveryService imageDeliveryService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Value("${images.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/{*path}")
+    @Operation(summary = "Get image", description = "Serve an image from the upload directory; ?w= selects a resized variant")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Image content"),
+        @ApiResponse(responseCode = "304", description = "Image not modified"),
+        @ApiResponse(responseCode = "404", description = "Image not found")
+    })
+    public void getImage(@PathVariable String path, @RequestParam(required = false) Integer w,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<ImageFile> image = imageDeliveryService.resolve(path);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ImageResponseWriter.write(imageDeliveryService, imageVariantService.select(image.get(), w), null, maxAgeSeconds, request, response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.service.ImageDeliveryService;
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+// Shared by the image endpoints: validators and caching headers first, then the body from
+// the in-memory hot set or the file itself.
+final class ImageResponseWriter {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private ImageResponseWriter() {}
+
+    static void write(ImageDeliveryService imageDeliveryService, ImageFile image, String contentType, long maxAgeSeconds,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                image.immutable() ? IMMUTABLE : "public, max-age=" + maxAgeSeconds + ", must-revalidate");
+        // Sets ETag/Last-Modified and answers If-None-Match / If-Modified-Since with 304
+        if (new ServletWebRequest(request, response).checkNotModified(image.etag(), image.lastModified())) {
+            return;
+        }
+        String type = contentType != null ? contentType : image.contentType();
+
+        if (request.getHeader(HttpHeaders.RANGE) == null && !"HEAD".equals(request.getMethod())) {
+            Optional<ByteBuffer> cached = imageDeliveryService.cachedContent(image);
+            if (cached.isPresent()) {
+                ByteBuffer content = cached.get();
+                response.setContentType(type);
+                response.setContentLengthLong(content.remaining());
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                while (content.hasRemaining()) {
+                    out.write(content);
+                }
+                return;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            FileResponseWriter.write(request, response, channel, image.path(), type);
+        }
+    }
+}
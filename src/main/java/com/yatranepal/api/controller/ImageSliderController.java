@@ -1,16 +1,27 @@
 package com.yatranepal.api.controller;
 
 import com.yatranepal.api.model.ImageSlider;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.CatalogVersionService.Catalog;
+import com.yatranepal.api.service.ImageDeliveryService;
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
 import com.yatranepal.api.service.ImageSliderService;
+import com.yatranepal.api.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,13 +34,29 @@ public class ImageSliderController {
     @Autowired
     private ImageSliderService imageSliderService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private ImageDeliveryService imageDeliveryService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Value("${images.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
     @GetMapping
     @Operation(summary = "Get all image sliders", description = "Retrieve all image sliders ordered by creation date")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Image sliders retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Image sliders not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ImageSlider>> getAllImageSliders() {
+    public ResponseEntity<List<ImageSlider>> getAllImageSliders(WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.IMAGE_SLIDERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ImageSlider> sliders = imageSliderService.getAllImageSliders();
         return ResponseEntity.ok(sliders);
     }
@@ -38,10 +65,14 @@ public class ImageSliderController {
     @Operation(summary = "Get image slider by ID", description = "Retrieve a specific image slider by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Image slider found"),
+        @ApiResponse(responseCode = "304", description = "Image slider not modified"),
         @ApiResponse(responseCode = "404", description = "Image slider not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImageSlider> getImageSliderById(@PathVariable Long id) {
+    public ResponseEntity<ImageSlider> getImageSliderById(@PathVariable Long id, WebRequest webRequest) {
+        if (catalogVersionService.checkEntityNotModified(webRequest, Catalog.IMAGE_SLIDERS, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<ImageSlider> slider = imageSliderService.getImageSliderById(id);
         return slider.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
@@ -94,9 +125,15 @@ public class ImageSliderController {
     @Operation(summary = "Search image sliders by name", description = "Search image sliders by name")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Image sliders not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ImageSlider>> searchImageSlidersByName(@RequestParam String name) {
+    public ResponseEntity<List<ImageSlider>> searchImageSlidersByName(
+            @RequestParam String name,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.IMAGE_SLIDERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ImageSlider> sliders = imageSliderService.searchImageSlidersByName(name);
         return ResponseEntity.ok(sliders);
     }
@@ -105,10 +142,48 @@ public class ImageSliderController {
     @Operation(summary = "Get image sliders by type", description = "Retrieve image sliders by image type")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Image sliders retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Image sliders not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ImageSlider>> getImageSlidersByType(@PathVariable ImageSlider.ImageType imageType) {
+    public ResponseEntity<List<ImageSlider>> getImageSlidersByType(
+            @PathVariable ImageSlider.ImageType imageType,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.IMAGE_SLIDERS)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ImageSlider> sliders = imageSliderService.getImageSlidersByType(imageType);
         return ResponseEntity.ok(sliders);
     }
+
+    @GetMapping("/{id}/image")
+    @Operation(summary = "Get slider image", description = "Serve the slider's image file; ?w= selects a resized variant")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Image content"),
+        @ApiResponse(responseCode = "302", description = "Image is hosted externally"),
+        @ApiResponse(responseCode = "304", description = "Image not modified"),
+        @ApiResponse(responseCode = "404", description = "Image slider or file not found")
+    })
+    public void getImageSliderImage(@PathVariable Long id, @RequestParam(required = false) Integer w,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        Optional<ImageSlider> slider = imageSliderService.getSliderImage(id);
+        if (slider.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String imagePath = slider.get().getImagePath();
+        if (imagePath.startsWith("http://") || imagePath.startsWith("https://")) {
+            response.sendRedirect(imagePath);
+            return;
+        }
+        Optional<ImageFile> image = imageDeliveryService.resolve(imagePath);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // The stored type describes the upload; a resized variant is labelled by its own file
+        ImageFile served = imageVariantService.select(image.get(), w);
+        String contentType = served.path().equals(image.get().path()) ? slider.get().getImageType().getMimeType() : null;
+        ImageResponseWriter.write(imageDeliveryService, served, contentType, maxAgeSeconds, request, response);
+    }
 }
@@ -0,0 +1,312 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.config.RateLimitFilter;
+import com.yatranepal.api.service.CacheStats;
+import com.yatranepal.api.service.DomainEventDispatcher;
+import com.yatranepal.api.service.ImageDeliveryService;
+import com.yatranepal.api.service.ImageSliderService;
+import com.yatranepal.api.service.LatencyHistogram;
+import com.yatranepal.api.service.MailDispatcher;
+import com.yatranepal.api.service.OutboundHttpClient;
+import com.yatranepal.api.service.PasswordResetService;
+import com.yatranepal.api.service.RequestMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.sql.SQLException;
+import java.util.List;
+
+// Prometheus text exposition (format 0.0.4). Everything is read from counters the services keep
+// anyway, so a scrape costs one pass over them plus the outbox counts.
+@RestController
+@RequestMapping("/metrics")
+@Tag(name = "Metrics", description = "Prometheus scrape endpoint")
+public class MetricsController {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsController.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private DomainEventDispatcher domainEventDispatcher;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private FlightStreamPublisher flightStreamPublisher;
+
+    @Autowired
+    private ImageDeliveryService imageDeliveryService;
+
+    @Autowired
+    private ImageSliderService imageSliderService;
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    // When set, scrapers must send it as a bearer token
+    @Value("${metrics.scrape-token:}")
+    private String scrapeToken;
+
+    // On in prod, where /metrics must not be left open to anyone who finds it
+    @Value("${metrics.require-scrape-token:false}")
+    private boolean requireScrapeToken;
+
+    @PostConstruct
+    public void checkScrapeToken() {
+        if (requireScrapeToken && scrapeToken.isBlank()) {
+            throw new IllegalStateException("metrics.scrape-token (METRICS_SCRAPE_TOKEN) must be set when "
+                    + "metrics.require-scrape-token is on");
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Scrape metrics", description = "Request, query, pool, JVM, cache and queue metrics in Prometheus text format")
+    public ResponseEntity<String> scrape(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!scrapeToken.isEmpty() && !("Bearer " + scrapeToken).equals(authHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        StringBuilder out = new StringBuilder(16 * 1024);
+        writeRequests(out);
+        writeQueries(out);
+        writePool(out);
+        writeJvm(out);
+        writeCaches(out);
+        writeOutbound(out);
+        writeQueues(out);
+        writeRateLimits(out);
+        header(out, "flight_stream_subscribers", "gauge", "Open flight SSE connections");
+        sample(out, "flight_stream_subscribers", "", flightStreamPublisher.getSubscriberCount());
+        return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE).body(out.toString());
+    }
+
+    private void writeRequests(StringBuilder out) {
+        List<RequestMetrics.EndpointSeries> endpoints = requestMetrics.getEndpoints();
+        header(out, "http_server_requests_seconds", "histogram", "Request latency by endpoint");
+        for (RequestMetrics.EndpointSeries series : endpoints) {
+            histogram(out, "http_server_requests_seconds", labels("method", series.method(), "uri", series.uri()), series.latency());
+        }
+        header(out, "http_server_responses_total", "counter", "Responses by endpoint and status class");
+        for (RequestMetrics.EndpointSeries series : endpoints) {
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                long count = series.responses(statusClass);
+                if (count > 0) {
+                    sample(out, "http_server_responses_total",
+                            labels("method", series.method(), "uri", series.uri(), "status", statusClass + "xx"), count);
+                }
+            }
+        }
+        writeStatementBudgets(out, endpoints);
+    }
+
+    private void writeStatementBudgets(StringBuilder out, List<RequestMetrics.EndpointSeries> endpoints) {
+        header(out, "http_server_request_statements_total", "counter", "JDBC statements issued by requests per endpoint");
+        for (RequestMetrics.EndpointSeries series : endpoints) {
+            sample(out, "http_server_request_statements_total", labels("method", series.method(), "uri", series.uri()), series.statements());
+        }
+        header(out, "http_server_requests_over_statement_budget_total", "counter", "Requests that issued more statements than the budget");
+        for (RequestMetrics.EndpointSeries series : endpoints) {
+            sample(out, "http_server_requests_over_statement_budget_total", labels("method", series.method(), "uri", series.uri()),
+                    series.overStatementBudget());
+        }
+    }
+
+    private void writeQueries(StringBuilder out) {
+        List<RequestMetrics.QuerySeries> queries = requestMetrics.getQueries();
+        header(out, "repository_query_seconds", "histogram", "Repository method latency");
+        for (RequestMetrics.QuerySeries series : queries) {
+            histogram(out, "repository_query_seconds", labels("repository", series.repository(), "method", series.method()), series.latency());
+        }
+        header(out, "repository_query_errors_total", "counter", "Repository calls that threw");
+        for (RequestMetrics.QuerySeries series : queries) {
+            sample(out, "repository_query_errors_total", labels("repository", series.repository(), "method", series.method()), series.errors());
+        }
+    }
+
+    private void writePool(StringBuilder out) {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return; // Pool not started yet
+        }
+        String pooled = labels("pool", hikari.getPoolName());
+        gauge(out, "hikaricp_connections_active", "Connections in use", pooled, pool.getActiveConnections());
+        gauge(out, "hikaricp_connections_idle", "Idle connections", pooled, pool.getIdleConnections());
+        gauge(out, "hikaricp_connections", "Open connections", pooled, pool.getTotalConnections());
+        gauge(out, "hikaricp_connections_pending", "Threads waiting for a connection", pooled, pool.getThreadsAwaitingConnection());
+        gauge(out, "hikaricp_connections_max", "Maximum pool size", pooled, hikari.getMaximumPoolSize());
+    }
+
+    private void writeJvm(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        header(out, "jvm_memory_used_bytes", "gauge", "Used memory");
+        sample(out, "jvm_memory_used_bytes", labels("area", "heap"), heap.getUsed());
+        sample(out, "jvm_memory_used_bytes", labels("area", "nonheap"), nonHeap.getUsed());
+        header(out, "jvm_memory_committed_bytes", "gauge", "Committed memory");
+        sample(out, "jvm_memory_committed_bytes", labels("area", "heap"), heap.getCommitted());
+        sample(out, "jvm_memory_committed_bytes", labels("area", "nonheap"), nonHeap.getCommitted());
+        gauge(out, "jvm_memory_max_bytes", "Maximum heap", labels("area", "heap"), heap.getMax());
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        header(out, "jvm_gc_collection_seconds_count", "counter", "Collections per collector");
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample(out, "jvm_gc_collection_seconds_count", labels("gc", gc.getName()), gc.getCollectionCount());
+        }
+        header(out, "jvm_gc_collection_seconds_sum", "counter", "Time spent collecting per collector");
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample(out, "jvm_gc_collection_seconds_sum", labels("gc", gc.getName()), gc.getCollectionTime() / 1000.0);
+        }
+        gauge(out, "jvm_threads_live", "Live platform threads", "", ManagementFactory.getThreadMXBean().getThreadCount());
+        gauge(out, "process_uptime_seconds", "JVM uptime", "", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private void writeCaches(StringBuilder out) {
+        List<CacheStats> caches = List.of(imageDeliveryService.getCacheStats(), imageSliderService.getCacheStats(),
+                passwordResetService.getCacheStats());
+        header(out, "cache_hits_total", "counter", "Cache hits");
+        caches.forEach(cache -> sample(out, "cache_hits_total", labels("cache", cache.name()), cache.hits()));
+        header(out, "cache_misses_total", "counter", "Cache misses");
+        caches.forEach(cache -> sample(out, "cache_misses_total", labels("cache", cache.name()), cache.misses()));
+        header(out, "cache_entries", "gauge", "Entries currently cached");
+        caches.forEach(cache -> sample(out, "cache_entries", labels("cache", cache.name()), cache.entries()));
+    }
+
+    private void writeOutbound(StringBuilder out) {
+        List<OutboundHttpClient.UpstreamStats> upstreams = outboundHttpClient.getUpstreamStats();
+        header(out, "outbound_request_seconds", "histogram", "Outbound call latency per attempt");
+        for (OutboundHttpClient.UpstreamStats upstream : upstreams) {
+            histogram(out, "outbound_request_seconds", labels("upstream", upstream.name()), upstream.latency());
+        }
+        header(out, "outbound_calls_total", "counter", "Outbound attempts by outcome");
+        for (OutboundHttpClient.UpstreamStats upstream : upstreams) {
+            sample(out, "outbound_calls_total", labels("upstream", upstream.name(), "outcome", "success"), upstream.successes());
+            sample(out, "outbound_calls_total", labels("upstream", upstream.name(), "outcome", "failure"), upstream.failures());
+            sample(out, "outbound_calls_total", labels("upstream", upstream.name(), "outcome", "rejected"), upstream.rejected());
+            sample(out, "outbound_calls_total", labels("upstream", upstream.name(), "outcome", "retry"), upstream.retries());
+        }
+        header(out, "outbound_circuit_open", "gauge", "1 while the upstream's circuit is not closed");
+        for (OutboundHttpClient.UpstreamStats upstream : upstreams) {
+            sample(out, "outbound_circuit_open", labels("upstream", upstream.name()), "CLOSED".equals(upstream.circuitState()) ? 0 : 1);
+        }
+    }
+
+    // The pending counts query the database; a scrape still succeeds when it is unreachable
+    private void writeQueues(StringBuilder out) {
+        try {
+            MailDispatcher.MailStats mail = mailDispatcher.getStats();
+            gauge(out, "mail_outbox_pending", "Mails waiting to be sent", "", mail.pending());
+            gauge(out, "mail_outbox_failed", "Mails that exhausted their attempts", "", mail.failedPermanently());
+            counter(out, "mail_sent_total", "Mails handed to SMTP", "", mail.sent());
+            counter(out, "mail_send_failures_total", "Failed send attempts", "", mail.failedAttempts());
+            header(out, "mail_batch_seconds", "histogram", "SMTP batch latency");
+            histogram(out, "mail_batch_seconds", "", mail.batchLatency());
+
+            DomainEventDispatcher.EventStats events = domainEventDispatcher.getStats();
+            gauge(out, "domain_events_pending", "Events waiting for delivery", "", events.pending());
+            gauge(out, "domain_events_failed", "Events that exhausted their attempts", "", events.failedPermanently());
+            counter(out, "domain_events_published_total", "Events published", "", events.published());
+            counter(out, "domain_events_delivered_total", "Events delivered", "", events.delivered());
+            counter(out, "domain_events_delivery_failures_total", "Failed delivery attempts", "", events.failedAttempts());
+            header(out, "domain_events_delivery_lag_seconds", "histogram", "Time from publish to delivery");
+            histogram(out, "domain_events_delivery_lag_seconds", "", events.deliveryLag());
+        } catch (RuntimeException e) {
+            log.debug("Skipping outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private void writeRateLimits(StringBuilder out) {
+        header(out, "rate_limit_requests_total", "counter", "Requests seen by the rate limiter by route and outcome");
+        for (RateLimitFilter.RouteStats route : rateLimitFilter.getStats()) {
+            sample(out, "rate_limit_requests_total", labels("route", route.name(), "outcome", "allowed"), route.allowed());
+            sample(out, "rate_limit_requests_total", labels("route", route.name(), "outcome", "rejected"), route.rejected());
+        }
+    }
+
+    private static void histogram(StringBuilder out, String name, String labels, LatencyHistogram.Snapshot snapshot) {
+        String prefix = labels.isEmpty() ? "{" : labels.substring(0, labels.length() - 1) + ",";
+        double[] bounds = snapshot.boundsSeconds();
+        long[] cumulative = snapshot.cumulativeCounts();
+        for (int i = 0; i < bounds.length; i++) {
+            sample(out, name + "_bucket", prefix + "le=\"" + bounds[i] + "\"}", cumulative[i]);
+        }
+        sample(out, name + "_bucket", prefix + "le=\"+Inf\"}", snapshot.count());
+        sample(out, name + "_count", labels, snapshot.count());
+        sample(out, name + "_sum", labels, snapshot.sumSeconds());
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, String labels, double value) {
+        header(out, name, "gauge", help);
+        sample(out, name, labels, value);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, String labels, double value) {
+        header(out, name, "counter", help);
+        sample(out, name, labels, value);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String labels(String... pairs) {
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -1,10 +1,16 @@
 package com.yatranepal.api.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import com.yatranepal.api.model.Place;
+import com.yatranepal.api.model.Views;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.CatalogVersionService.Catalog;
 import com.yatranepal.api.service.PlaceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,15 +30,24 @@ public class PlaceController {
     @Autowired
     private PlaceService placeService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
     @GetMapping
+    @JsonView(Views.Summary.class)
     @Operation(summary = "Get all places", description = "Retrieve all tourist places with optional filtering")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Places retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Places not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<Place>> getAllPlaces(
             @RequestParam(required = false) String city,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.PLACES)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         
         List<Place> places;
         
@@ -53,10 +68,14 @@ public class PlaceController {
     @Operation(summary = "Get place by ID", description = "Retrieve a specific place by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Place found"),
+        @ApiResponse(responseCode = "304", description = "Place not modified"),
         @ApiResponse(responseCode = "404", description = "Place not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Place> getPlaceById(@PathVariable Long id) {
+    public ResponseEntity<Place> getPlaceById(@PathVariable Long id, WebRequest webRequest) {
+        if (catalogVersionService.checkEntityNotModified(webRequest, Catalog.PLACES, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<Place> place = placeService.getPlaceById(id);
         return place.map(ResponseEntity::ok)
                    .orElse(ResponseEntity.notFound().build());
@@ -106,27 +125,38 @@ public class PlaceController {
     }
 
     @GetMapping("/search")
+    @JsonView(Views.Summary.class)
     @Operation(summary = "Search places", description = "Search places by name")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "304", description = "Places not modified"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Place>> searchPlaces(@RequestParam String name) {
+    public ResponseEntity<List<Place>> searchPlaces(@RequestParam String name, WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.PLACES)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<Place> places = placeService.searchPlacesByName(name);
         return ResponseEntity.ok(places);
     }
 
     @GetMapping("/nearby")
+    @JsonView(Views.Summary.class)
     @Operation(summary = "Get nearby places", description = "Get places near a specific location")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Nearby places retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Places not modified"),
         @ApiResponse(responseCode = "400", description = "Invalid coordinates"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<Place>> getNearbyPlaces(
             @RequestParam Double longitude,
             @RequestParam Double latitude,
-            @RequestParam(defaultValue = "10000") Double maxDistance) {
+            @RequestParam(defaultValue = "10000") Double maxDistance,
+            WebRequest webRequest) {
+        if (catalogVersionService.checkNotModified(webRequest, Catalog.PLACES)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         
         List<Place> places = placeService.getPlacesNearLocation(longitude, latitude, maxDistance);
         return ResponseEntity.ok(places);
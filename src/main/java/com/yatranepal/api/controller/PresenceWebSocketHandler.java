@@ -0,0 +1,227 @@
+package com.yatranepal.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.model.Chat;
+import com.yatranepal.api.service.ChatService;
+import com.yatranepal.api.service.DomainEvent;
+import com.yatranepal.api.service.DomainEventListener;
+import com.yatranepal.api.service.PresenceService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Client frames: {"type":"heartbeat"}, {"type":"typing"|"stop-typing"|"subscribe"|"unsubscribe","chatId":1}
+// Server frames: "snapshot", "presence", and "message" once a posted message is committed
+@Component
+public class PresenceWebSocketHandler extends TextWebSocketHandler
+        implements PresenceService.PresenceListener, DomainEventListener<DomainEvent.MessagePosted> {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceWebSocketHandler.class);
+
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT = 64 * 1024;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> sessionsPerUser = new ConcurrentHashMap<>();
+    // A chat's entry and its members' entries in subscribedChatsByMember change together, inside
+    // compute on the chat's key, so a subscribe cannot interleave with the last unsubscribe
+    private final Map<Long, ChatSubscribers> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> subscribedChatsByMember = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListener() {
+        presenceService.addListener(this);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        sessions.put(session.getId(), decorated);
+        Long userId = userId(session);
+        sessionsPerUser.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+        presenceService.heartbeat(userId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Long userId = userId(session);
+        JsonNode frame = objectMapper.readTree(message.getPayload());
+        String type = frame.path("type").asText();
+        Long chatId = frame.hasNonNull("chatId") ? frame.get("chatId").asLong() : null;
+
+        switch (type) {
+            case "heartbeat" -> presenceService.heartbeat(userId);
+            case "typing" -> {
+                if (chatId != null && isMember(userId, chatId)) presenceService.typing(userId, chatId, true);
+            }
+            case "stop-typing" -> {
+                if (chatId != null) presenceService.typing(userId, chatId, false);
+            }
+            case "subscribe" -> {
+                if (chatId != null) subscribe(sessions.get(session.getId()), userId, chatId);
+            }
+            case "unsubscribe" -> {
+                if (chatId != null) unsubscribe(sessions.get(session.getId()), chatId);
+            }
+            default -> log.debug("Ignoring presence frame of type '{}'", type);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        WebSocketSession decorated = sessions.remove(session.getId());
+        if (decorated != null) {
+            for (Long chatId : List.copyOf(subscribers.keySet())) {
+                unsubscribe(decorated, chatId);
+            }
+        }
+        Long userId = userId(session);
+        AtomicInteger open = sessionsPerUser.get(userId);
+        if (open != null && open.decrementAndGet() <= 0) {
+            sessionsPerUser.remove(userId, open);
+            presenceService.disconnect(userId);
+        }
+    }
+
+    @Override
+    public void presenceChanged(Long userId, boolean online, Long typingChatId) {
+        Set<Long> chatIds = subscribedChatsByMember.get(userId);
+        if (chatIds == null) {
+            return;
+        }
+        for (Long chatId : chatIds) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("type", "presence");
+            event.put("chatId", chatId);
+            event.put("userId", userId);
+            event.put("online", online);
+            event.put("typing", chatId.equals(typingChatId));
+            broadcast(chatId, event);
+        }
+    }
+
+    @Override
+    public Class<DomainEvent.MessagePosted> eventType() {
+        return DomainEvent.MessagePosted.class;
+    }
+
+    // Subscribers reload the chat on this notification, so a repeated delivery is harmless
+    @Override
+    public void onEvent(DomainEvent.MessagePosted event) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "message");
+        frame.put("chatId", event.chatId());
+        frame.put("messageId", event.messageId());
+        frame.put("senderId", event.senderId());
+        broadcast(event.chatId(), frame);
+    }
+
+    private void subscribe(WebSocketSession session, Long userId, Long chatId) throws IOException {
+        Optional<Chat> chat = chatService.getChatWithMembers(chatId);
+        if (chat.isEmpty() || chat.get().getMembers() == null || !chat.get().getMembers().contains(userId)) {
+            return;
+        }
+        List<Long> members = List.copyOf(chat.get().getMembers());
+        subscribers.compute(chatId, (id, current) -> {
+            if (current == null) {
+                current = new ChatSubscribers(members);
+                for (Long memberId : members) {
+                    subscribedChatsByMember.compute(memberId, (member, chatIds) -> {
+                        Set<Long> updated = chatIds != null ? chatIds : ConcurrentHashMap.newKeySet();
+                        updated.add(chatId);
+                        return updated;
+                    });
+                }
+            }
+            current.sessions.add(session);
+            return current;
+        });
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("type", "snapshot");
+        snapshot.put("presence", presenceService.getChatPresence(chat.get()));
+        send(session, snapshot);
+    }
+
+    private void unsubscribe(WebSocketSession session, Long chatId) {
+        subscribers.computeIfPresent(chatId, (id, current) -> {
+            if (!current.sessions.remove(session) || !current.sessions.isEmpty()) {
+                return current;
+            }
+            for (Long memberId : current.members) {
+                subscribedChatsByMember.computeIfPresent(memberId, (member, chatIds) -> {
+                    chatIds.remove(chatId);
+                    return chatIds.isEmpty() ? null : chatIds;
+                });
+            }
+            return null;
+        });
+    }
+
+    // Members are cached while the chat has subscribers; otherwise the chat is looked up
+    private boolean isMember(Long userId, Long chatId) {
+        ChatSubscribers chatSubscribers = subscribers.get(chatId);
+        if (chatSubscribers != null) {
+            return chatSubscribers.members.contains(userId);
+        }
+        Optional<Chat> chat = chatService.getChatWithMembers(chatId);
+        return chat.isPresent() && chat.get().getMembers() != null && chat.get().getMembers().contains(userId);
+    }
+
+    private void broadcast(Long chatId, Map<String, Object> event) {
+        ChatSubscribers chatSubscribers = subscribers.get(chatId);
+        if (chatSubscribers == null) {
+            return;
+        }
+        for (WebSocketSession session : chatSubscribers.sessions) {
+            send(session, event);
+        }
+    }
+
+    private void send(WebSocketSession session, Object payload) {
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping presence frame for session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private Long userId(WebSocketSession session) {
+        return (Long) session.getAttributes().get("userId");
+    }
+
+    private static final class ChatSubscribers {
+        final List<Long> members;
+        final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+        ChatSubscribers(List<Long> members) {
+            this.members = members;
+        }
+    }
+}
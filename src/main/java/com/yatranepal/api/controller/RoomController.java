@@ -0,0 +1,104 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.model.Room;
+import com.yatranepal.api.service.HotelService;
+import com.yatranepal.api.service.RoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/hotels/{hotelId}/rooms")
+@Tag(name = "Rooms", description = "Hotel room management APIs")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class RoomController {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @GetMapping
+    @Operation(summary = "Get hotel rooms", description = "Retrieve the rooms of a hotel, cheapest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rooms retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Hotel not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<Room>> getRooms(@PathVariable Long hotelId) {
+        if (!hotelService.getHotelById(hotelId).isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(roomService.getRoomsByHotelId(hotelId));
+    }
+
+    @GetMapping("/{roomId}")
+    @Operation(summary = "Get room by ID", description = "Retrieve a specific room of a hotel")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Room found"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Room> getRoom(@PathVariable Long hotelId, @PathVariable Long roomId) {
+        Optional<Room> room = roomService.getRoom(hotelId, roomId);
+        return room.map(ResponseEntity::ok)
+                   .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    @Operation(summary = "Create room", description = "Add a room to a hotel; the hotel's cheapest price follows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Room created successfully"),
+        @ApiResponse(responseCode = "404", description = "Hotel not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Room> createRoom(@PathVariable Long hotelId, @Valid @RequestBody Room room) {
+        if (!hotelService.getHotelById(hotelId).isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(roomService.createRoom(hotelId, room));
+    }
+
+    @PutMapping("/{roomId}")
+    @Operation(summary = "Update room", description = "Update a room of a hotel; the hotel's cheapest price follows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Room updated successfully"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Room> updateRoom(@PathVariable Long hotelId, @PathVariable Long roomId,
+                                           @Valid @RequestBody Room room) {
+        if (!hotelService.getHotelById(hotelId).isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return roomService.updateRoom(hotelId, roomId, room)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{roomId}")
+    @Operation(summary = "Delete room", description = "Remove a room from a hotel; the hotel's cheapest price follows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Room deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Void> deleteRoom(@PathVariable Long hotelId, @PathVariable Long roomId) {
+        if (!hotelService.getHotelById(hotelId).isPresent() || !roomService.deleteRoom(hotelId, roomId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.yatranepal.api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request to start a resumable attachment upload")
+public class AttachmentUploadRequest {
+
+    @NotBlank(message = "File name is required")
+    @Schema(description = "Original file name", example = "itinerary.pdf", required = true)
+    private String fileName;
+
+    @Schema(description = "MIME type of the file", example = "application/pdf")
+    private String contentType;
+
+    @NotNull(message = "Size is required")
+    @Min(value = 1, message = "Size must be positive")
+    @Schema(description = "Total size in bytes", example = "20480", required = true)
+    private Long size;
+
+    // Constructors
+    public AttachmentUploadRequest() {}
+
+    // Getters and Setters
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+}
@@ -0,0 +1,35 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of a resumable attachment upload")
+public class AttachmentUploadResponse {
+
+    @Schema(description = "Upload ID to send chunks to", example = "3f0c6f5e-4d1b-4a8e-9a55-0b6f1f2c7d11")
+    private String uploadId;
+
+    @Schema(description = "Number of bytes received so far; the next chunk must start here", example = "8388608")
+    private Long offset;
+
+    @Schema(description = "Total size in bytes", example = "20971520")
+    private Long size;
+
+    // Constructors
+    public AttachmentUploadResponse() {}
+
+    public AttachmentUploadResponse(String uploadId, Long offset, Long size) {
+        this.uploadId = uploadId;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+
+    public Long getOffset() { return offset; }
+    public void setOffset(Long offset) { this.offset = offset; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+}
@@ -0,0 +1,37 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Online and typing members of a chat")
+public class ChatPresenceResponse {
+
+    @Schema(description = "Chat ID", example = "1")
+    private Long chatId;
+
+    @Schema(description = "IDs of chat members that are currently online", example = "[1, 2]")
+    private List<Long> online;
+
+    @Schema(description = "IDs of chat members that are typing in this chat", example = "[2]")
+    private List<Long> typing;
+
+    // Constructors
+    public ChatPresenceResponse() {}
+
+    public ChatPresenceResponse(Long chatId, List<Long> online, List<Long> typing) {
+        this.chatId = chatId;
+        this.online = online;
+        this.typing = typing;
+    }
+
+    // Getters and Setters
+    public Long getChatId() { return chatId; }
+    public void setChatId(Long chatId) { this.chatId = chatId; }
+
+    public List<Long> getOnline() { return online; }
+    public void setOnline(List<Long> online) { this.online = online; }
+
+    public List<Long> getTyping() { return typing; }
+    public void setTyping(List<Long> typing) { this.typing = typing; }
+}
@@ -0,0 +1,59 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Aircraft that changed between two flight snapshots")
+public class FlightDeltaResponse {
+
+    @Schema(description = "Version the delta starts from", example = "41")
+    private long since;
+
+    @Schema(description = "Current snapshot version", example = "42")
+    private long version;
+
+    @Schema(description = "OpenSky time of the current snapshot (Unix seconds)", example = "1718000000")
+    private long time;
+
+    @Schema(description = "True when 'since' is too old and 'changed' holds every aircraft", example = "false")
+    private boolean full;
+
+    @Schema(description = "Aircraft that are new or whose state changed")
+    private List<FlightStateResponse> changed;
+
+    @Schema(description = "ICAO addresses of aircraft no longer in the snapshot", example = "[\"70c0cd\"]")
+    private List<String> removed;
+
+    // Constructors
+    public FlightDeltaResponse() {}
+
+    public FlightDeltaResponse(long since, long version, long time, boolean full,
+                               List<FlightStateResponse> changed, List<String> removed) {
+        this.since = since;
+        this.version = version;
+        this.time = time;
+        this.full = full;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    // Getters and Setters
+    public long getSince() { return since; }
+    public void setSince(long since) { this.since = since; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getTime() { return time; }
+    public void setTime(long time) { this.time = time; }
+
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+
+    public List<FlightStateResponse> getChanged() { return changed; }
+    public void setChanged(List<FlightStateResponse> changed) { this.changed = changed; }
+
+    public List<String> getRemoved() { return removed; }
+    public void setRemoved(List<String> removed) { this.removed = removed; }
+}
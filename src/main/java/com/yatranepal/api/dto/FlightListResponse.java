@@ -0,0 +1,37 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Aircraft in the latest flight snapshot that match the requested filters")
+public class FlightListResponse {
+
+    @Schema(description = "Snapshot version, usable as 'since' for the delta endpoint", example = "42")
+    private long version;
+
+    @Schema(description = "OpenSky time of the snapshot (Unix seconds)", example = "1718000000")
+    private long time;
+
+    @Schema(description = "Matching aircraft")
+    private List<FlightStateResponse> flights;
+
+    // Constructors
+    public FlightListResponse() {}
+
+    public FlightListResponse(long version, long time, List<FlightStateResponse> flights) {
+        this.version = version;
+        this.time = time;
+        this.flights = flights;
+    }
+
+    // Getters and Setters
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getTime() { return time; }
+    public void setTime(long time) { this.time = time; }
+
+    public List<FlightStateResponse> getFlights() { return flights; }
+    public void setFlights(List<FlightStateResponse> flights) { this.flights = flights; }
+}
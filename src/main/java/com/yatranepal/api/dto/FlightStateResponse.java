@@ -0,0 +1,93 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of one aircraft from the latest OpenSky snapshot")
+public class FlightStateResponse {
+
+    @Schema(description = "ICAO 24-bit transponder address", example = "70c0cd")
+    private String icao24;
+
+    @Schema(description = "Callsign", example = "RNA401")
+    private String callsign;
+
+    @Schema(description = "Country of registration", example = "Nepal")
+    private String originCountry;
+
+    @Schema(description = "Unix time of the last message from the aircraft", example = "1718000000")
+    private long lastContact;
+
+    @Schema(description = "Latitude in degrees", example = "27.6966")
+    private Double latitude;
+
+    @Schema(description = "Longitude in degrees", example = "85.3591")
+    private Double longitude;
+
+    @Schema(description = "Barometric altitude in meters, geometric if barometric is unknown", example = "3048.0")
+    private Double altitude;
+
+    @Schema(description = "Whether the aircraft is on the ground", example = "false")
+    private boolean onGround;
+
+    @Schema(description = "Ground speed in m/s", example = "120.5")
+    private Double velocity;
+
+    @Schema(description = "True track in degrees clockwise from north", example = "270.0")
+    private Double heading;
+
+    @Schema(description = "Vertical rate in m/s", example = "-2.6")
+    private Double verticalRate;
+
+    // Constructors
+    public FlightStateResponse() {}
+
+    public FlightStateResponse(String icao24, String callsign, String originCountry, long lastContact,
+                               Double latitude, Double longitude, Double altitude, boolean onGround,
+                               Double velocity, Double heading, Double verticalRate) {
+        this.icao24 = icao24;
+        this.callsign = callsign;
+        this.originCountry = originCountry;
+        this.lastContact = lastContact;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.altitude = altitude;
+        this.onGround = onGround;
+        this.velocity = velocity;
+        this.heading = heading;
+        this.verticalRate = verticalRate;
+    }
+
+    // Getters and Setters
+    public String getIcao24() { return icao24; }
+    public void setIcao24(String icao24) { this.icao24 = icao24; }
+
+    public String getCallsign() { return callsign; }
+    public void setCallsign(String callsign) { this.callsign = callsign; }
+
+    public String getOriginCountry() { return originCountry; }
+    public void setOriginCountry(String originCountry) { this.originCountry = originCountry; }
+
+    public long getLastContact() { return lastContact; }
+    public void setLastContact(long lastContact) { this.lastContact = lastContact; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Double getAltitude() { return altitude; }
+    public void setAltitude(Double altitude) { this.altitude = altitude; }
+
+    public boolean isOnGround() { return onGround; }
+    public void setOnGround(boolean onGround) { this.onGround = onGround; }
+
+    public Double getVelocity() { return velocity; }
+    public void setVelocity(Double velocity) { this.velocity = velocity; }
+
+    public Double getHeading() { return heading; }
+    public void setHeading(Double heading) { this.heading = heading; }
+
+    public Double getVerticalRate() { return verticalRate; }
+    public void setVerticalRate(Double verticalRate) { this.verticalRate = verticalRate; }
+}
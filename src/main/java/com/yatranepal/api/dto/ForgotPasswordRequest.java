@@ -0,0 +1,25 @@
+package com.yatranepal.api.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request to email a password reset link")
+public class ForgotPasswordRequest {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Schema(description = "Email of the account", example = "john@example.com", required = true)
+    private String email;
+
+    // Constructors
+    public ForgotPasswordRequest() {}
+
+    public ForgotPasswordRequest(String email) {
+        this.email = email;
+    }
+
+    // Getters and Setters
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+}
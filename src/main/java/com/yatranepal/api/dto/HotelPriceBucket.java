@@ -0,0 +1,35 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of matching hotels in a price range")
+public class HotelPriceBucket {
+
+    @Schema(description = "Lowest price included, null for the first bucket", example = "1000")
+    private Double min;
+
+    @Schema(description = "Price the bucket ends below, null for the last bucket", example = "2500")
+    private Double max;
+
+    @Schema(description = "Hotels in the bucket", example = "42")
+    private long count;
+
+    // Constructors
+    public HotelPriceBucket() {}
+
+    public HotelPriceBucket(Double min, Double max, long count) {
+        this.min = min;
+        this.max = max;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public Double getMin() { return min; }
+    public void setMin(Double min) { this.min = min; }
+
+    public Double getMax() { return max; }
+    public void setMax(Double max) { this.max = max; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,68 @@
+package com.yatranepal.api.dto;
+
+import com.yatranepal.api.model.Hotel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "A page of hotel search results with facet counts")
+public class HotelSearchResponse {
+
+    @Schema(description = "Hotels on this page, in the requested order")
+    private List<Hotel> hotels;
+
+    @Schema(description = "Hotels matching all filters", example = "137")
+    private long total;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+
+    @Schema(description = "Page size", example = "20")
+    private int size;
+
+    @Schema(description = "Matching hotels per city, ignoring the city filter, largest first")
+    private Map<String, Long> cities;
+
+    @Schema(description = "Matching hotels per type, ignoring the type filter, largest first")
+    private Map<String, Long> types;
+
+    @Schema(description = "Matching hotels per price range, ignoring the price filter, cheapest range first")
+    private List<HotelPriceBucket> prices;
+
+    // Constructors
+    public HotelSearchResponse() {}
+
+    public HotelSearchResponse(List<Hotel> hotels, long total, int page, int size, Map<String, Long> cities,
+                               Map<String, Long> types, List<HotelPriceBucket> prices) {
+        this.hotels = hotels;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.cities = cities;
+        this.types = types;
+        this.prices = prices;
+    }
+
+    // Getters and Setters
+    public List<Hotel> getHotels() { return hotels; }
+    public void setHotels(List<Hotel> hotels) { this.hotels = hotels; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public Map<String, Long> getCities() { return cities; }
+    public void setCities(Map<String, Long> cities) { this.cities = cities; }
+
+    public Map<String, Long> getTypes() { return types; }
+    public void setTypes(Map<String, Long> types) { this.types = types; }
+
+    public List<HotelPriceBucket> getPrices() { return prices; }
+    public void setPrices(List<HotelPriceBucket> prices) { this.prices = prices; }
+}
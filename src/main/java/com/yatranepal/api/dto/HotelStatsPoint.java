@@ -0,0 +1,73 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Reservation figures for one day or month at a hotel")
+public class HotelStatsPoint {
+
+    @Schema(description = "First day of the period")
+    private LocalDate period;
+
+    @Schema(description = "Room nights held by reservations that aren't cancelled", example = "240")
+    private long roomNights;
+
+    @Schema(description = "Room nights held by confirmed reservations", example = "180")
+    private long confirmedRoomNights;
+
+    @Schema(description = "Room nights over rooms times nights in the period; null when the hotel lists no rooms", example = "0.62")
+    private Double occupancy;
+
+    @Schema(description = "Confirmed revenue, each stay's price spread evenly over its nights", example = "540000.0")
+    private double revenue;
+
+    @Schema(description = "Reservations arriving in the period", example = "75")
+    private long arrivals;
+
+    @Schema(description = "Of those arrivals, the ones cancelled", example = "9")
+    private long cancellations;
+
+    @Schema(description = "Cancellations over arrivals; null without arrivals", example = "0.12")
+    private Double cancellationRate;
+
+    // Constructors
+    public HotelStatsPoint() {}
+
+    public HotelStatsPoint(LocalDate period, long roomNights, long confirmedRoomNights, Double occupancy,
+                           double revenue, long arrivals, long cancellations, Double cancellationRate) {
+        this.period = period;
+        this.roomNights = roomNights;
+        this.confirmedRoomNights = confirmedRoomNights;
+        this.occupancy = occupancy;
+        this.revenue = revenue;
+        this.arrivals = arrivals;
+        this.cancellations = cancellations;
+        this.cancellationRate = cancellationRate;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriod() { return period; }
+    public void setPeriod(LocalDate period) { this.period = period; }
+
+    public long getRoomNights() { return roomNights; }
+    public void setRoomNights(long roomNights) { this.roomNights = roomNights; }
+
+    public long getConfirmedRoomNights() { return confirmedRoomNights; }
+    public void setConfirmedRoomNights(long confirmedRoomNights) { this.confirmedRoomNights = confirmedRoomNights; }
+
+    public Double getOccupancy() { return occupancy; }
+    public void setOccupancy(Double occupancy) { this.occupancy = occupancy; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+
+    public long getArrivals() { return arrivals; }
+    public void setArrivals(long arrivals) { this.arrivals = arrivals; }
+
+    public long getCancellations() { return cancellations; }
+    public void setCancellations(long cancellations) { this.cancellations = cancellations; }
+
+    public Double getCancellationRate() { return cancellationRate; }
+    public void setCancellationRate(Double cancellationRate) { this.cancellationRate = cancellationRate; }
+}
@@ -0,0 +1,60 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Occupancy, revenue and cancellation series for a hotel")
+public class HotelStatsResponse {
+
+    @Schema(description = "Hotel", example = "1")
+    private Long hotelId;
+
+    @Schema(description = "day or month", example = "month")
+    private String interval;
+
+    @Schema(description = "First night included")
+    private LocalDate from;
+
+    @Schema(description = "Last night included")
+    private LocalDate to;
+
+    @Schema(description = "Numbered rooms the hotel lists today, the basis for occupancy", example = "24")
+    private long roomCapacity;
+
+    @Schema(description = "One point per period, oldest first; periods without reservations are zero")
+    private List<HotelStatsPoint> points;
+
+    // Constructors
+    public HotelStatsResponse() {}
+
+    public HotelStatsResponse(Long hotelId, String interval, LocalDate from, LocalDate to, long roomCapacity,
+                              List<HotelStatsPoint> points) {
+        this.hotelId = hotelId;
+        this.interval = interval;
+        this.from = from;
+        this.to = to;
+        this.roomCapacity = roomCapacity;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getInterval() { return interval; }
+    public void setInterval(String interval) { this.interval = interval; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public long getRoomCapacity() { return roomCapacity; }
+    public void setRoomCapacity(long roomCapacity) { this.roomCapacity = roomCapacity; }
+
+    public List<HotelStatsPoint> getPoints() { return points; }
+    public void setPoints(List<HotelStatsPoint> points) { this.points = points; }
+}
@@ -0,0 +1,23 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+
+@Schema(description = "New level for a logger; null resets it to the configured default")
+public class LogLevelRequest {
+
+    @Pattern(regexp = "(?i)TRACE|DEBUG|INFO|WARN|ERROR|OFF", message = "Level must be TRACE, DEBUG, INFO, WARN, ERROR or OFF")
+    @Schema(description = "Log level", example = "DEBUG")
+    private String level;
+
+    // Constructors
+    public LogLevelRequest() {}
+
+    public LogLevelRequest(String level) {
+        this.level = level;
+    }
+
+    // Getters and Setters
+    public String getLevel() { return level; }
+    public void setLevel(String level) { this.level = level; }
+}
@@ -0,0 +1,71 @@
+package com.yatranepal.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Aggregated timings for one SQL statement")
+public class QueryStatsResponse {
+
+    @Schema(description = "SQL text as sent to the driver")
+    private String sql;
+
+    @Schema(description = "Repository method that last issued it; null for lazy loads and flushes", example = "HotelRepository.findByCity")
+    private String caller;
+
+    @Schema(description = "Executions", example = "1520")
+    private long count;
+
+    @Schema(description = "Executions that threw", example = "0")
+    private long errors;
+
+    @Schema(description = "Total time in milliseconds", example = "2280.4")
+    private double totalMs;
+
+    @Schema(description = "Mean time in milliseconds", example = "1.5")
+    private double meanMs;
+
+    @Schema(description = "Slowest execution in milliseconds", example = "48.2")
+    private double maxMs;
+
+    @Schema(description = "Rows read or written across all executions", example = "30400")
+    private long rows;
+
+    // Constructors
+    public QueryStatsResponse() {}
+
+    public QueryStatsResponse(String sql, String caller, long count, long errors, double totalMs, double meanMs,
+                              double maxMs, long rows) {
+        this.sql = sql;
+        this.caller = caller;
+        this.count = count;
+        this.errors = errors;
+        this.totalMs = totalMs;
+        this.meanMs = meanMs;
+        this.maxMs = maxMs;
+        this.rows = rows;
+    }
+
+    // Getters and Setters
+    public String getSql() { return sql; }
+    public void setSql(String sql) { this.sql = sql; }
+
+    public String getCaller() { return caller; }
+    public void setCaller(String caller) { this.caller = caller; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+
+    public double getTotalMs() { return totalMs; }
+    public void setTotalMs(double totalMs) { this.totalMs = totalMs; }
+
+    public double getMeanMs() { return meanMs; }
+    public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+}
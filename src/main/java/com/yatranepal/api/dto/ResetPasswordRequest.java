@@ -0,0 +1,31 @@
+package com.yatranepal.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request to set a new password with a reset token")
+public class ResetPasswordRequest {
+
+    @NotBlank(message = "Token is required")
+    @Schema(description = "Token from the reset email", required = true)
+    private String token;
+
+    @NotBlank(message = "Password is required")
+    @Schema(description = "New password", example = "newPassword123", required = true)
+    private String newPassword;
+
+    // Constructors
+    public ResetPasswordRequest() {}
+
+    public ResetPasswordRequest(String token, String newPassword) {
+        this.token = token;
+        this.newPassword = newPassword;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public String getNewPassword() { return newPassword; }
+    public void setNewPassword(String newPassword) { this.newPassword = newPassword; }
+}
@@ -0,0 +1,73 @@
+package com.yatranepal.api.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attachments", indexes = @Index(name = "idx_attachments_content_hash", columnList = "content_hash"))
+@EntityListeners(AuditingEntityListener.class)
+@Schema(description = "Uploaded message attachment; uploads with the same content share one stored file")
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the attachment", example = "1")
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    @Schema(description = "SHA-256 of the attachment content", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String contentHash;
+
+    @Column(name = "file_name")
+    @Schema(description = "Original file name", example = "itinerary.pdf")
+    private String fileName;
+
+    @Column(name = "content_type")
+    @Schema(description = "MIME type of the attachment", example = "application/pdf")
+    private String contentType;
+
+    @Column(nullable = false)
+    @Schema(description = "Size in bytes", example = "20480")
+    private Long size;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    @Schema(description = "Attachment creation timestamp")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Attachment() {}
+
+    public Attachment(String contentHash, String fileName, String contentType, Long size) {
+        this.contentHash = contentHash;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Schema(description = "URL to download the attachment", example = "/api/attachments/1/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    public String getUrl() { return "/api/attachments/" + id + "/" + contentHash; }
+}
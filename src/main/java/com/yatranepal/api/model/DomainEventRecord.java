@@ -0,0 +1,112 @@
+package com.yatranepal.api.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "domain_events", indexes = @Index(name = "idx_domain_events_due", columnList = "status, next_attempt_at"))
+@EntityListeners(AuditingEntityListener.class)
+@Schema(description = "Domain event waiting in the transactional outbox")
+public class DomainEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the event", example = "1")
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    @Schema(description = "Event type", example = "ReservationConfirmed")
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    @Schema(description = "ID of the entity the event is about", example = "42")
+    private Long aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    @Schema(description = "Event as JSON")
+    private String payload;
+
+    @Column(length = 200)
+    @Schema(description = "Listener the row is delivered to; empty on rows published before delivery was per listener",
+            example = "com.yatranepal.api.service.HotelStatsListener")
+    private String listener;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Delivery status", example = "PENDING")
+    private EventStatus status = EventStatus.PENDING;
+
+    @Column(nullable = false)
+    @Schema(description = "Delivery attempts so far", example = "0")
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Schema(description = "Earliest time of the next delivery attempt; lease expiry while DISPATCHING")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    @Schema(description = "Error from the last failed attempt")
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    @Schema(description = "Time the event was published")
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    @Schema(description = "Time the listener handled the event")
+    private LocalDateTime deliveredAt;
+
+    public enum EventStatus {
+        PENDING, DISPATCHING, DELIVERED, FAILED
+    }
+
+    // Constructors
+    public DomainEventRecord() {}
+
+    public DomainEventRecord(String eventType, Long aggregateId, String payload, String listener) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.listener = listener;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public String getListener() { return listener; }
+    public void setListener(String listener) { this.listener = listener; }
+
+    public EventStatus getStatus() { return status; }
+    public void setStatus(EventStatus status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getDeliveredAt() { return deliveredAt; }
+    public void setDeliveredAt(LocalDateTime deliveredAt) { this.deliveredAt = deliveredAt; }
+}
@@ -1,5 +1,6 @@
 package com.yatranepal.api.model;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -52,7 +53,9 @@ public class Hotel {
     @Schema(description = "Hotel title/tagline", example = "Luxury stay in the heart of Kathmandu", required = true)
     private String title;
 
+    @JsonView(Views.Detail.class)
     @NotBlank(message = "Description is required")
+    @Column(name = "`desc`") // Reserved word in PostgreSQL
     @Schema(description = "Hotel description", example = "A beautiful hotel with modern amenities", required = true)
     private String desc;
 
@@ -61,6 +64,7 @@ public class Hotel {
     @Schema(description = "Hotel rating", example = "4.5", minimum = "0", maximum = "5")
     private Double rating;
 
+    @JsonView(Views.Detail.class)
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Schema(description = "List of rooms")
     private List<Room> rooms;
@@ -73,10 +77,12 @@ public class Hotel {
     @Schema(description = "Whether hotel is featured", example = "false")
     private Boolean featured = false;
 
+    @JsonView(Views.Detail.class)
     @CreatedDate
     @Schema(description = "Creation timestamp")
     private LocalDateTime createdAt;
 
+    @JsonView(Views.Detail.class)
     @LastModifiedDate
     @Schema(description = "Last modification timestamp")
     private LocalDateTime updatedAt;
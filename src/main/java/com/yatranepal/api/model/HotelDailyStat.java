@@ -0,0 +1,103 @@
+package com.yatranepal.api.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Written only by HotelDailyStatRepository's native upserts; see V3__hotel_daily_stats.sql
+@Entity
+@Table(name = "hotel_daily_stats")
+@IdClass(HotelDailyStat.Key.class)
+@Schema(description = "Reservations at one hotel on one night")
+public class HotelDailyStat {
+
+    @Id
+    @Column(name = "hotel_id")
+    @Schema(description = "Hotel", example = "1")
+    private Long hotelId;
+
+    @Id
+    @Column(name = "day")
+    @Schema(description = "Night, by check-in date")
+    private LocalDate day;
+
+    @Column(name = "room_nights", nullable = false)
+    @Schema(description = "Rooms held by reservations that aren't cancelled", example = "12")
+    private Long roomNights;
+
+    @Column(name = "confirmed_room_nights", nullable = false)
+    @Schema(description = "Rooms held by confirmed reservations", example = "9")
+    private Long confirmedRoomNights;
+
+    @Column(name = "revenue", nullable = false)
+    @Schema(description = "Confirmed revenue attributed to the night", example = "45000.0")
+    private Double revenue;
+
+    @Column(name = "arrivals", nullable = false)
+    @Schema(description = "Reservations whose first night this is", example = "4")
+    private Integer arrivals;
+
+    @Column(name = "cancellations", nullable = false)
+    @Schema(description = "Of those arrivals, the ones cancelled", example = "1")
+    private Integer cancellations;
+
+    @Column(name = "updated_at", nullable = false)
+    @Schema(description = "When the row was last recomputed")
+    private LocalDateTime updatedAt;
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long hotelId;
+        private LocalDate day;
+
+        public Key() {}
+
+        public Key(Long hotelId, LocalDate day) {
+            this.hotelId = hotelId;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Objects.equals(hotelId, key.hotelId) && Objects.equals(day, key.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hotelId, day);
+        }
+    }
+
+    // Constructors
+    public HotelDailyStat() {}
+
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public Long getRoomNights() { return roomNights; }
+    public void setRoomNights(Long roomNights) { this.roomNights = roomNights; }
+
+    public Long getConfirmedRoomNights() { return confirmedRoomNights; }
+    public void setConfirmedRoomNights(Long confirmedRoomNights) { this.confirmedRoomNights = confirmedRoomNights; }
+
+    public Double getRevenue() { return revenue; }
+    public void setRevenue(Double revenue) { this.revenue = revenue; }
+
+    public Integer getArrivals() { return arrivals; }
+    public void setArrivals(Integer arrivals) { this.arrivals = arrivals; }
+
+    public Integer getCancellations() { return cancellations; }
+    public void setCancellations(Integer cancellations) { this.cancellations = cancellations; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,116 @@
+package com.yatranepal.api.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at"))
+@EntityListeners(AuditingEntityListener.class)
+@Schema(description = "Outgoing email waiting to be delivered by the mail dispatcher")
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the queued mail", example = "1")
+    private Long id;
+
+    @Column(nullable = false)
+    @Schema(description = "Recipient address", example = "john@example.com")
+    private String recipient;
+
+    @Column(nullable = false)
+    @Schema(description = "Subject line", example = "Your reservation is confirmed")
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    @Schema(description = "Plain-text body")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Kind of mail", example = "RESERVATION_CONFIRMED")
+    private MailType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Delivery status", example = "PENDING")
+    private MailStatus status = MailStatus.PENDING;
+
+    @Column(nullable = false)
+    @Schema(description = "Delivery attempts so far", example = "0")
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Schema(description = "Earliest time of the next delivery attempt; lease expiry while SENDING")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    @Schema(description = "Error from the last failed attempt")
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    @Schema(description = "Time the mail was queued")
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    @Schema(description = "Time the mail was handed to the SMTP server")
+    private LocalDateTime sentAt;
+
+    public enum MailType {
+        PASSWORD_RESET, RESERVATION_CONFIRMED, RESERVATION_CANCELLED
+    }
+
+    public enum MailStatus {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    // Constructors
+    public MailOutbox() {}
+
+    public MailOutbox(String recipient, String subject, String body, MailType type) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.type = type;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public MailType getType() { return type; }
+    public void setType(MailType type) { this.type = type; }
+
+    public MailStatus getStatus() { return status; }
+    public void setStatus(MailStatus status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
@@ -0,0 +1,48 @@
+package com.yatranepal.api.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+// Only the SHA-256 of the token is stored, so a leaked table can't be used to reset passwords
+@Entity
+@Table(name = "password_reset_tokens", indexes = {
+        @Index(name = "idx_password_reset_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_password_reset_tokens_expires", columnList = "expires_at")
+})
+@Schema(description = "Outstanding password reset token")
+public class PasswordResetToken {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    @Schema(description = "SHA-256 of the token, hex encoded")
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    @Schema(description = "User the token resets", example = "1")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    @Schema(description = "Time after which the token is no longer accepted")
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public PasswordResetToken() {}
+
+    public PasswordResetToken(String tokenHash, Long userId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -1,5 +1,6 @@
 package com.yatranepal.api.model;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -27,6 +28,7 @@ public class Place {
     @Schema(description = "Place name", example = "Swayambhunath Temple", required = true)
     private String name;
 
+    @JsonView(Views.Detail.class)
     @NotBlank(message = "Description is required")
     @Schema(description = "Place description", example = "Ancient Buddhist temple with panoramic city views", required = true)
     private String description;
@@ -55,10 +57,12 @@ public class Place {
     @Schema(description = "Place image URL", example = "https://example.com/swayambhu.jpg", required = true)
     private String img;
 
+    @JsonView(Views.Detail.class)
     @CreatedDate
     @Schema(description = "Creation timestamp")
     private LocalDateTime createdAt;
 
+    @JsonView(Views.Detail.class)
     @LastModifiedDate
     @Schema(description = "Last modification timestamp")
     private LocalDateTime updatedAt;
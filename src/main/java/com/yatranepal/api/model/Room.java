@@ -1,5 +1,7 @@
 package com.yatranepal.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -40,6 +42,7 @@ public class Room {
     private Integer maxPeople;
 
     @NotBlank(message = "Description is required")
+    @Column(name = "`desc`") // Reserved word in PostgreSQL
     @Schema(description = "Room description", example = "Spacious room with mountain view", required = true)
     private String desc;
 
@@ -48,10 +51,11 @@ public class Room {
     @Schema(description = "Room numbers and availability")
     private List<RoomNumber> roomNumbers;
 
+    // Set from the request path, and left out of JSON so Hotel.rooms doesn't serialize back
+    // into the hotel
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id", nullable = false)
-    @NotNull(message = "Hotel reference is required")
-    @Schema(description = "Reference to the hotel", required = true)
+    @JsonIgnore
     private Hotel hotel;
 
     @CreatedDate
@@ -121,6 +125,11 @@ public class Room {
     public Hotel getHotel() { return hotel; }
     public void setHotel(Hotel hotel) { this.hotel = hotel; }
 
+    // Reads the id off the lazy proxy without loading the hotel
+    @JsonProperty(value = "hotelId", access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Hotel the room belongs to", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    public Long getHotelId() { return hotel != null ? hotel.getId() : null; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
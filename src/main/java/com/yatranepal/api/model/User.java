@@ -19,6 +19,9 @@ import java.time.LocalDateTime;
 @Schema(description = "User entity representing system users")
 public class User {
 
+    // Thread-safe; sharing it avoids a new SecureRandom per login
+    private static final BCryptPasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder();
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Unique identifier for the user", example = "1")
@@ -61,12 +64,6 @@ public class User {
     @Schema(description = "User role", example = "user", allowableValues = {"user", "tourist guide"})
     private String role = "user";
 
-    @Schema(description = "Password reset token")
-    private String resetPasswordToken;
-
-    @Schema(description = "Password reset token expiration time")
-    private LocalDateTime resetPasswordExpires;
-
     @CreatedDate
     @Schema(description = "Account creation timestamp")
     private LocalDateTime createdAt;
@@ -89,14 +86,12 @@ public class User {
 
     // Password encoding method
     public void encodePassword() {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        this.password = encoder.encode(this.password);
+        this.password = PASSWORD_ENCODER.encode(this.password);
     }
 
-    // Password verification method
+    // Password verification method (CPU-bound only, no locks held, so safe on virtual threads)
     public boolean verifyPassword(String rawPassword) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        return encoder.matches(rawPassword, this.password);
+        return PASSWORD_ENCODER.matches(rawPassword, this.password);
     }
 
     // Getters and Setters
@@ -130,12 +125,6 @@ public class User {
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
 
-    public String getResetPasswordToken() { return resetPasswordToken; }
-    public void setResetPasswordToken(String resetPasswordToken) { this.resetPasswordToken = resetPasswordToken; }
-
-    public LocalDateTime getResetPasswordExpires() { return resetPasswordExpires; }
-    public void setResetPasswordExpires(LocalDateTime resetPasswordExpires) { this.resetPasswordExpires = resetPasswordExpires; }
-
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
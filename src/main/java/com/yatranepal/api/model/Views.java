@@ -0,0 +1,13 @@
+package com.yatranepal.api.model;
+
+// Jackson views for list endpoints. Fields marked Detail are left out wherever a controller
+// method is annotated @JsonView(Views.Summary.class); unmarked fields are always written
+// (spring.jackson.mapper.default-view-inclusion=true), and without a view everything is.
+public final class Views {
+
+    public interface Summary {}
+
+    public interface Detail extends Summary {}
+
+    private Views() {}
+}
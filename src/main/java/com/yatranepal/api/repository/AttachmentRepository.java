@@ -0,0 +1,9 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+}
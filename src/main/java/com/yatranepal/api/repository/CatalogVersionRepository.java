@@ -0,0 +1,38 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    // A row's version stamp, read from the primary key index without loading the entity
+    interface RowStamp {
+        Long getVersion();
+        LocalDateTime getModifiedAt();
+    }
+
+    @Query(value = "SELECT version FROM catalog_versions WHERE name = :name", nativeQuery = true)
+    Optional<Long> findVersion(@Param("name") String name);
+
+    @Query(value = "SELECT row_version AS version, updated_at AS modifiedAt FROM hotels WHERE id = :id", nativeQuery = true)
+    Optional<RowStamp> findHotelStamp(@Param("id") Long id);
+
+    @Query(value = "SELECT row_version AS version, updated_at AS modifiedAt FROM places WHERE id = :id", nativeQuery = true)
+    Optional<RowStamp> findPlaceStamp(@Param("id") Long id);
+
+    @Query(value = "SELECT row_version AS version, updated_at AS modifiedAt FROM chad_parba WHERE id = :id", nativeQuery = true)
+    Optional<RowStamp> findChadParbaStamp(@Param("id") Long id);
+
+    @Query(value = "SELECT row_version AS version, updated_at AS modifiedAt FROM image_sliders WHERE id = :id", nativeQuery = true)
+    Optional<RowStamp> findImageSliderStamp(@Param("id") Long id);
+
+    @Query(value = "SELECT row_version AS version, updated_at AS modifiedAt FROM exchange_centers WHERE id = :id", nativeQuery = true)
+    Optional<RowStamp> findExchangeCenterStamp(@Param("id") Long id);
+}
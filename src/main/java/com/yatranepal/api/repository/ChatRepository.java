@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
@@ -16,4 +17,7 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
     
     @Query("SELECT c FROM Chat c WHERE :userId1 MEMBER OF c.members AND :userId2 MEMBER OF c.members")
     List<Chat> findChatBetweenUsers(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
+    
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.members WHERE c.id = :id")
+    Optional<Chat> findByIdWithMembers(@Param("id") Long id);
 }
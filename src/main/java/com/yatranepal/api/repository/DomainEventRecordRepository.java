@@ -0,0 +1,28 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.DomainEventRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DomainEventRecordRepository extends JpaRepository<DomainEventRecord, Long> {
+
+    // Due events in publish order, plus DISPATCHING rows whose lease ran out after a crash
+    @Query(value = "SELECT * FROM domain_events WHERE status IN ('PENDING', 'DISPATCHING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DomainEventRecord> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM domain_events WHERE id IN (" +
+            "SELECT id FROM domain_events WHERE status = 'DELIVERED' AND delivered_at < :before LIMIT :limit)",
+            nativeQuery = true)
+    int deleteDeliveredChunk(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    long countByStatus(DomainEventRecord.EventStatus status);
+}
@@ -0,0 +1,115 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.HotelDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HotelDailyStatRepository extends JpaRepository<HotelDailyStat, HotelDailyStat.Key> {
+
+    // STAYS + a filter on reservations r + NIGHTS gives one row per reserved night. Rooms are
+    // counted once per stay (hence MATERIALIZED), and the window functions see every night of
+    // it, so a refresh limited to a few days still splits the price and finds the arrival.
+    String STAYS = "WITH stays AS MATERIALIZED (SELECT r.id, r.hotel_id, r.status, r.total_price, "
+            + "greatest(1, (SELECT count(*) FROM reservation_room_ids ri WHERE ri.reservation_id = r.id)) AS rooms "
+            + "FROM reservations r ";
+
+    String NIGHTS = "), nights AS (SELECT s.hotel_id, d.reservation_date AS day, s.status, s.rooms, "
+            + "s.total_price / count(*) OVER (PARTITION BY s.id) AS nightly_price, "
+            + "d.reservation_date = min(d.reservation_date) OVER (PARTITION BY s.id) AS first_night "
+            + "FROM stays s JOIN reservation_dates d ON d.reservation_id = s.id) ";
+
+    String UPSERT = "INSERT INTO hotel_daily_stats (hotel_id, day, room_nights, confirmed_room_nights, revenue, "
+            + "arrivals, cancellations, updated_at) "
+            + "SELECT hotel_id, day, "
+            + "coalesce(sum(rooms) FILTER (WHERE status IS DISTINCT FROM 'CANCELLED'), 0), "
+            + "coalesce(sum(rooms) FILTER (WHERE status IN ('CONFIRMED', 'CANCEL_REQUESTED')), 0), "
+            + "coalesce(sum(nightly_price) FILTER (WHERE status IN ('CONFIRMED', 'CANCEL_REQUESTED')), 0), "
+            + "count(*) FILTER (WHERE first_night), "
+            + "count(*) FILTER (WHERE first_night AND status = 'CANCELLED'), "
+            + "now() FROM nights ";
+
+    // Two refreshes of the same day can race after both deleted it; the later one wins
+    String ON_CONFLICT = " ON CONFLICT (hotel_id, day) DO UPDATE SET room_nights = excluded.room_nights, "
+            + "confirmed_room_nights = excluded.confirmed_room_nights, revenue = excluded.revenue, "
+            + "arrivals = excluded.arrivals, cancellations = excluded.cancellations, updated_at = excluded.updated_at";
+
+    interface MonthlyTotals {
+        LocalDate getMonth();
+        Long getRoomNights();
+        Long getConfirmedRoomNights();
+        Double getRevenue();
+        Long getArrivals();
+        Long getCancellations();
+    }
+
+    List<HotelDailyStat> findByHotelIdAndDayBetweenOrderByDay(Long hotelId, LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT CAST(date_trunc('month', day) AS date) AS month, "
+            + "CAST(sum(room_nights) AS bigint) AS roomNights, "
+            + "CAST(sum(confirmed_room_nights) AS bigint) AS confirmedRoomNights, "
+            + "sum(revenue) AS revenue, CAST(sum(arrivals) AS bigint) AS arrivals, "
+            + "CAST(sum(cancellations) AS bigint) AS cancellations "
+            + "FROM hotel_daily_stats WHERE hotel_id = :hotelId AND day BETWEEN :from AND :to "
+            + "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<MonthlyTotals> findMonthlyTotals(@Param("hotelId") Long hotelId, @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
+
+    @Query(value = "SELECT count(*) FROM room_numbers rn JOIN rooms r ON r.id = rn.room_id WHERE r.hotel_id = :hotelId",
+            nativeQuery = true)
+    long countRoomsByHotelId(@Param("hotelId") Long hotelId);
+
+    // Serializes refreshes of one hotel with the backfill, so neither can overwrite rows the
+    // other computed from newer reservations. Held until the transaction ends.
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(hashtext('hotel_daily_stats'), "
+            + "CAST(:hotelId % 2147483647 AS integer))) locked", nativeQuery = true)
+    long lockHotel(@Param("hotelId") Long hotelId);
+
+    // In id order; a refresh only ever holds one hotel's lock, so this can't deadlock with it
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(hashtext('hotel_daily_stats'), "
+            + "CAST(hotel_id % 2147483647 AS integer)) FROM (SELECT DISTINCT hotel_id FROM reservations "
+            + "WHERE hotel_id IN (:hotelIds) ORDER BY hotel_id) ids) locked", nativeQuery = true)
+    long lockHotels(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_daily_stats WHERE hotel_id = :hotelId AND day IN (:days)", nativeQuery = true)
+    int deleteDays(@Param("hotelId") Long hotelId, @Param("days") Collection<LocalDate> days);
+
+    // Only the hotel's stays that touch one of the days are read
+    @Modifying
+    @Query(value = STAYS + "WHERE r.hotel_id = :hotelId AND EXISTS (SELECT 1 FROM reservation_dates x "
+            + "WHERE x.reservation_id = r.id AND x.reservation_date IN (:days))" + NIGHTS
+            + UPSERT + "WHERE day IN (:days) GROUP BY hotel_id, day" + ON_CONFLICT, nativeQuery = true)
+    int recomputeDays(@Param("hotelId") Long hotelId, @Param("days") Collection<LocalDate> days);
+
+    interface HotelReservationCount {
+        Long getHotelId();
+        Long getReservations();
+    }
+
+    @Query(value = "SELECT hotel_id AS hotelId, count(*) AS reservations FROM reservations "
+            + "GROUP BY hotel_id ORDER BY hotel_id", nativeQuery = true)
+    List<HotelReservationCount> countReservationsByHotel();
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_daily_stats WHERE hotel_id IN (:hotelIds)", nativeQuery = true)
+    int deleteHotels(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @Modifying
+    @Query(value = STAYS + "WHERE r.hotel_id IN (:hotelIds)" + NIGHTS + UPSERT + "GROUP BY hotel_id, day" + ON_CONFLICT,
+            nativeQuery = true)
+    int recomputeHotels(@Param("hotelIds") Collection<Long> hotelIds);
+
+    // Hotels whose last reservation was deleted since their rows were written
+    @Modifying
+    @Query(value = "DELETE FROM hotel_daily_stats s WHERE NOT EXISTS "
+            + "(SELECT 1 FROM reservations r WHERE r.hotel_id = s.hotel_id)", nativeQuery = true)
+    int deleteOrphans();
+}
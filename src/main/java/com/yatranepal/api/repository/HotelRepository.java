@@ -2,13 +2,30 @@ package com.yatranepal.api.repository;
 
 import com.yatranepal.api.model.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    interface PriceListing {
+        Long getId();
+        String getCity();
+        Double getCheapestPrice();
+    }
+
+    interface SearchRow extends PriceListing {
+        String getName();
+        String getType();
+        String getDistance();
+        Double getRating();
+        Boolean getFeatured();
+    }
     
     List<Hotel> findByCity(String city);
     
@@ -22,4 +39,43 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     List<Hotel> findByNameContainingIgnoreCase(String name);
     
     List<Hotel> findByCityAndType(String city, String type);
+
+    @Modifying
+    @Query("UPDATE Hotel h SET h.rating = :rating WHERE h.id = :id")
+    int updateRating(@Param("id") Long id, @Param("rating") Double rating);
+
+    @Query("SELECT h.id AS id, h.city AS city, h.cheapestPrice AS cheapestPrice FROM Hotel h")
+    List<PriceListing> findPriceListings();
+
+    @Query("SELECT h.id AS id, h.name AS name, h.type AS type, h.city AS city, h.distance AS distance, "
+            + "h.rating AS rating, h.cheapestPrice AS cheapestPrice, h.featured AS featured FROM Hotel h")
+    List<SearchRow> findSearchRows();
+
+    @Query("SELECT h.id AS id, h.name AS name, h.type AS type, h.city AS city, h.distance AS distance, "
+            + "h.rating AS rating, h.cheapestPrice AS cheapestPrice, h.featured AS featured FROM Hotel h WHERE h.id = :id")
+    Optional<SearchRow> findSearchRow(@Param("id") Long id);
+
+    // Held until commit, so the room changes of one hotel apply one at a time
+    @Query(value = "SELECT id FROM hotels WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Query(value = "SELECT id FROM hotels WHERE id > :after ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsAfter(@Param("after") long after, @Param("limit") int limit);
+
+    // min(price) is one probe of idx_rooms_hotel_price. Hotels without priced rooms keep the
+    // price they were listed with.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE hotels SET cheapest_price = m.price, updated_at = localtimestamp "
+            + "FROM (SELECT min(price) AS price FROM rooms WHERE hotel_id = :id) m "
+            + "WHERE hotels.id = :id AND m.price IS NOT NULL AND hotels.cheapest_price IS DISTINCT FROM m.price",
+            nativeQuery = true)
+    int refreshCheapestPrice(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE hotels SET cheapest_price = m.price, updated_at = localtimestamp "
+            + "FROM (SELECT hotel_id, min(price) AS price FROM rooms WHERE hotel_id BETWEEN :first AND :last "
+            + "GROUP BY hotel_id) m "
+            + "WHERE hotels.id = m.hotel_id AND m.price IS NOT NULL AND hotels.cheapest_price IS DISTINCT FROM m.price",
+            nativeQuery = true)
+    int refreshCheapestPrices(@Param("first") long first, @Param("last") long last);
 }
@@ -0,0 +1,31 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // Due mail, plus SENDING rows whose lease ran out because a node died mid-batch. SKIP LOCKED
+    // lets several nodes claim disjoint batches concurrently.
+    @Query(value = "SELECT * FROM mail_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // FAILED rows have no sent_at; their next_attempt_at is still the lease of the last attempt
+    @Modifying
+    @Query(value = "DELETE FROM mail_outbox WHERE id IN (" +
+            "SELECT id FROM mail_outbox WHERE status IN ('SENT', 'FAILED') " +
+            "AND COALESCE(sent_at, next_attempt_at) < :before LIMIT :limit)",
+            nativeQuery = true)
+    int deleteFinishedChunk(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    long countByStatus(MailOutbox.MailStatus status);
+}
@@ -0,0 +1,42 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, String> {
+
+    @Query("SELECT t.tokenHash FROM PasswordResetToken t WHERE t.userId = :userId")
+    List<String> findTokenHashesByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Consumes the token and sets the new password in one statement: a primary-key delete that
+    // only matches an unexpired token, feeding a primary-key update of the user. The user's
+    // other outstanding tokens go with it.
+    @Modifying
+    @Query(value = "WITH consumed AS (" +
+            "  DELETE FROM password_reset_tokens WHERE token_hash = :tokenHash AND expires_at > :now RETURNING user_id" +
+            "), others AS (" +
+            "  DELETE FROM password_reset_tokens o USING consumed WHERE o.user_id = consumed.user_id AND o.token_hash <> :tokenHash" +
+            ") " +
+            "UPDATE users SET password = :password, updated_at = :now FROM consumed WHERE users.id = consumed.user_id",
+            nativeQuery = true)
+    int consume(@Param("tokenHash") String tokenHash, @Param("password") String password, @Param("now") LocalDateTime now);
+
+    // Bounded chunk so the sweeper never holds locks on a large range at once
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE token_hash IN (" +
+            "SELECT token_hash FROM password_reset_tokens WHERE expires_at <= :now LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,17 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.Room;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoomRepository extends JpaRepository<Room, Long> {
+
+    // Hotel_Id walks the association; Room's read-only hotelId getter would shadow HotelId
+    List<Room> findByHotel_IdOrderByPrice(Long hotelId);
+
+    Optional<Room> findByIdAndHotel_Id(Long id, Long hotelId);
+}
@@ -15,8 +15,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByUsernameOrEmail(String username, String email);
     
-    Optional<User> findByResetPasswordToken(String token);
-    
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
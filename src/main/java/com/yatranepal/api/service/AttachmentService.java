@@ -0,0 +1,221 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.dto.AttachmentUploadRequest;
+import com.yatranepal.api.dto.AttachmentUploadResponse;
+import com.yatranepal.api.model.Attachment;
+import com.yatranepal.api.repository.AttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class AttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Value("${attachments.max-size:104857600}")
+    private long maxSize;
+
+    @Value("${attachments.upload-idle-timeout-ms:3600000}")
+    private long uploadIdleTimeoutMs;
+
+    private final Map<String, UploadSession> uploads = new ConcurrentHashMap<>();
+
+    public AttachmentUploadResponse startUpload(AttachmentUploadRequest request) {
+        if (request.getSize() > maxSize) {
+            throw new IllegalArgumentException("Attachment exceeds the maximum size of " + maxSize + " bytes");
+        }
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), request.getFileName(),
+                request.getContentType(), request.getSize());
+        uploads.put(session.uploadId, session);
+        return session.toResponse();
+    }
+
+    public Optional<AttachmentUploadResponse> getUpload(String uploadId) {
+        return Optional.ofNullable(uploads.get(uploadId)).map(UploadSession::toResponse);
+    }
+
+    // Streams one chunk straight from the request body to disk, hashing it on the way through.
+    // Chunks must arrive in order; a client that lost its connection asks for the offset and resumes.
+    public AttachmentUploadResponse appendChunk(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSession session = lockUpload(uploadId);
+        try {
+            if (offset != session.offset) {
+                throw new IllegalStateException("Expected chunk at offset " + session.offset);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+            long position = session.offset;
+            try (FileChannel channel = attachmentStorage.openUpload(uploadId)) {
+                channel.truncate(position);
+                int read;
+                while ((read = body.read(buffer.array(), 0, buffer.capacity())) != -1) {
+                    if (position + read > session.size) {
+                        abort(session);
+                        throw new IllegalArgumentException("Chunk runs past the declared size of " + session.size + " bytes");
+                    }
+                    buffer.limit(read);
+                    try {
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                    } catch (IOException e) {
+                        abort(session);
+                        throw e;
+                    }
+                    session.digest.update(buffer.array(), 0, read);
+                    buffer.clear();
+                }
+                channel.force(false);
+            } finally {
+                // A dropped client connection keeps everything written so far as the resume point
+                session.offset = position;
+                session.lastActivity = System.currentTimeMillis();
+            }
+            return session.toResponse();
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public Attachment completeUpload(String uploadId) throws IOException {
+        UploadSession session = lockUpload(uploadId);
+        try {
+            if (session.offset != session.size) {
+                throw new IllegalStateException("Upload incomplete: " + session.offset + " of " + session.size + " bytes received");
+            }
+            String contentHash = HexFormat.of().formatHex(session.digest.digest());
+            attachmentStorage.promote(uploadId, contentHash);
+            uploads.remove(uploadId);
+
+            // Only the stored file is shared with earlier uploads of the same content
+            return attachmentRepository.save(new Attachment(contentHash, session.fileName, session.contentType, session.size));
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    // Waits for a chunk in progress, so its write can't recreate the part after it is deleted
+    public void cancelUpload(String uploadId) throws IOException {
+        UploadSession session = uploads.get(uploadId);
+        if (session == null) {
+            return;
+        }
+        session.lock.lock();
+        try {
+            if (uploads.remove(uploadId, session)) {
+                attachmentStorage.discardUpload(uploadId);
+            }
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public Optional<Attachment> getAttachment(Long id) {
+        return attachmentRepository.findById(id);
+    }
+
+    @Scheduled(fixedDelayString = "${attachments.upload-sweep-interval-ms:600000}")
+    public void expireIdleUploads() {
+        long cutoff = System.currentTimeMillis() - uploadIdleTimeoutMs;
+        for (UploadSession session : uploads.values()) {
+            if (session.lastActivity < cutoff && session.lock.tryLock()) {
+                try {
+                    abort(session);
+                } finally {
+                    session.lock.unlock();
+                }
+            }
+        }
+        // Sessions live in memory, so a restart leaves their parts behind with nothing to expire them
+        try {
+            for (String uploadId : attachmentStorage.uploadsIdleSince(Instant.ofEpochMilli(cutoff))) {
+                if (!uploads.containsKey(uploadId)) {
+                    attachmentStorage.discardUpload(uploadId);
+                    log.info("Deleted orphaned partial upload {}", uploadId);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep orphaned partial uploads: {}", e.getMessage());
+        }
+    }
+
+    private void abort(UploadSession session) {
+        uploads.remove(session.uploadId);
+        try {
+            attachmentStorage.discardUpload(session.uploadId);
+        } catch (IOException e) {
+            log.warn("Could not delete partial upload {}: {}", session.uploadId, e.getMessage());
+        }
+    }
+
+    private UploadSession requireUpload(String uploadId) {
+        UploadSession session = uploads.get(uploadId);
+        if (session == null) {
+            throw new RuntimeException("Upload not found");
+        }
+        return session;
+    }
+
+    // The session may have been completed, cancelled or expired while this thread waited for it
+    private UploadSession lockUpload(String uploadId) {
+        UploadSession session = requireUpload(uploadId);
+        session.lock.lock();
+        if (uploads.get(uploadId) != session) {
+            session.lock.unlock();
+            throw new RuntimeException("Upload not found");
+        }
+        return session;
+    }
+
+    private static final class UploadSession {
+        final String uploadId;
+        final String fileName;
+        final String contentType;
+        final long size;
+        final MessageDigest digest;
+        final ReentrantLock lock = new ReentrantLock();
+        long offset;
+        volatile long lastActivity = System.currentTimeMillis();
+
+        UploadSession(String uploadId, String fileName, String contentType, long size) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        AttachmentUploadResponse toResponse() {
+            return new AttachmentUploadResponse(uploadId, offset, size);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.yatranepal.api.service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+// Where attachment bytes live. Uploads are written to a per-upload part and then promoted
+// to a content-addressed entry, so identical files are stored once.
+public interface AttachmentStorage {
+
+    FileChannel openUpload(String uploadId) throws IOException;
+
+    // Uploads whose part was last written before the cutoff, including any a restart left behind
+    List<String> uploadsIdleSince(Instant cutoff) throws IOException;
+
+    void discardUpload(String uploadId) throws IOException;
+
+    // Returns false if content with this hash was already stored and the upload was dropped
+    boolean promote(String uploadId, String contentHash) throws IOException;
+
+    boolean contains(String contentHash);
+
+    FileChannel openContent(String contentHash) throws IOException;
+
+    // Local file backing the content, or null when the backend is not a local filesystem
+    Path localPath(String contentHash);
+}
@@ -0,0 +1,3 @@
+package com.yatranepal.api.service;
+
+public record CacheStats(String name, long hits, long misses, long entries) {}
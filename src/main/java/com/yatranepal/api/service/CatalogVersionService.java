@@ -0,0 +1,133 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.CatalogVersion;
+import com.yatranepal.api.repository.CatalogVersionRepository;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+// Conditional GETs for the catalog endpoints. The validators come from the version stamps the
+// database keeps on every write (see V5__catalog_versions.sql), so whether a client's copy is
+// current is decided by one primary key lookup, before anything is loaded or serialised.
+@Service
+public class CatalogVersionService {
+
+    public enum Catalog {
+        HOTELS("hotels"),
+        PLACES("places"),
+        CHAD_PARBA("chad_parba"),
+        IMAGE_SLIDERS("image_sliders"),
+        EXCHANGE_CENTERS("exchange_centers");
+
+        private final String table;
+
+        Catalog(String table) {
+            this.table = table;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    // What an in-memory index was built from: the catalog version its last reload read, and the
+    // changes this instance has applied to it since
+    public record IndexVersion(long catalogVersion, long localChanges) {}
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    // Another instance's index can reach the same IndexVersion with different content, so index
+    // ETags that are not plain catalog versions are this instance's alone
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    // 0 for a collection without a stamp
+    public long getVersion(Catalog catalog) {
+        return catalogVersionRepository.findVersion(catalog.getTable()).orElse(0L);
+    }
+
+    // Whether the client already has the current listing. Either way the response now carries
+    // ETag and Last-Modified; when true its status is 304 and the caller sends no body.
+    public boolean checkNotModified(WebRequest request, Catalog catalog) {
+        return checkNotModified(request, catalog, null);
+    }
+
+    // For listings that also depend on an in-memory index. An index reloaded at the current
+    // version with nothing applied since holds exactly what the table does, on every instance, so
+    // it shares the catalog's validators. Otherwise the index version and this instance go into
+    // the ETag, without Last-Modified: an index catching up on another instance's writes has no
+    // timestamp.
+    public boolean checkNotModified(WebRequest request, Catalog catalog, IndexVersion indexVersion) {
+        Optional<CatalogVersion> version = catalogVersionRepository.findById(catalog.getTable());
+        if (version.isEmpty()) {
+            return false;
+        }
+        String tag = catalog.getTable() + "-" + version.get().getVersion();
+        if (indexVersion != null && (indexVersion.localChanges() != 0
+                || indexVersion.catalogVersion() != version.get().getVersion())) {
+            return checkNotModified(request, etag(tag + "-" + instanceId + "." + indexVersion.catalogVersion()
+                    + "." + indexVersion.localChanges()), -1);
+        }
+        return checkNotModified(request, etag(tag), version.get().getUpdatedAt().toEpochMilli());
+    }
+
+    // Same for one entity; false when it doesn't exist, so the caller answers 404 as before
+    public boolean checkEntityNotModified(WebRequest request, Catalog catalog, Long id) {
+        Optional<CatalogVersionRepository.RowStamp> stamp = findStamp(catalog, id);
+        if (stamp.isEmpty()) {
+            return false;
+        }
+        long lastModified = stamp.get().getModifiedAt() != null
+                ? stamp.get().getModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return checkNotModified(request, etag(catalog.getTable() + "-" + id + "-r" + stamp.get().getVersion()),
+                lastModified);
+    }
+
+    // Spring Security's default no-store would keep clients from holding a copy to revalidate;
+    // no-cache lets them store it but still ask every time. The ETag is the same for JSON, Smile
+    // and CBOR, so Vary: Accept keeps a shared cache from answering one format with another.
+    private static boolean checkNotModified(WebRequest request, String etag, long lastModified) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+                addVaryAccept(response);
+            }
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    private static void addVaryAccept(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String field : vary.split(",")) {
+                if (field.trim().equalsIgnoreCase(HttpHeaders.ACCEPT)) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    private Optional<CatalogVersionRepository.RowStamp> findStamp(Catalog catalog, Long id) {
+        return switch (catalog) {
+            case HOTELS -> catalogVersionRepository.findHotelStamp(id);
+            case PLACES -> catalogVersionRepository.findPlaceStamp(id);
+            case CHAD_PARBA -> catalogVersionRepository.findChadParbaStamp(id);
+            case IMAGE_SLIDERS -> catalogVersionRepository.findImageSliderStamp(id);
+            case EXCHANGE_CENTERS -> catalogVersionRepository.findExchangeCenterStamp(id);
+        };
+    }
+
+    // Weak: the same version goes out as JSON, Smile or CBOR, compressed or not
+    private static String etag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
@@ -22,6 +22,10 @@ public class ChatService {
         return chatRepository.findById(id);
     }
 
+    public Optional<Chat> getChatWithMembers(Long id) {
+        return chatRepository.findByIdWithMembers(id);
+    }
+
     public Chat createChat(Chat chat) {
         return chatRepository.save(chat);
     }
@@ -0,0 +1,51 @@
+package com.yatranepal.api.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Events published through DomainEventPublisher. They are stored as JSON in domain_events and
+// looked up by simple class name on delivery, so renaming one strands its undelivered rows.
+// Listeners may subscribe to a sealed sub-interface to receive every event under it.
+public sealed interface DomainEvent {
+
+    Long aggregateId();
+
+    record ReservationConfirmed(Long reservationId, Long userId, Long hotelId) implements DomainEvent {
+        public Long aggregateId() { return reservationId; }
+    }
+
+    record ReservationCancelled(Long reservationId, Long userId, Long hotelId) implements DomainEvent {
+        public Long aggregateId() { return reservationId; }
+    }
+
+    // Any change to which nights a reservation holds at a hotel, or to its status. An update
+    // that moves a stay publishes one for the old hotel and nights and one for the new.
+    record ReservationStayChanged(Long reservationId, Long hotelId, List<LocalDate> dates) implements DomainEvent {
+        public Long aggregateId() { return reservationId; }
+    }
+
+    record PaymentStatusChanged(Long reservationId, String paymentStatus) implements DomainEvent {
+        public Long aggregateId() { return reservationId; }
+    }
+
+    // Anything that may move the average rating of the reviewed item
+    sealed interface ReviewEvent extends DomainEvent {
+        Long reviewedItemId();
+
+        String reviewedModel();
+    }
+
+    record ReviewCreated(Long reviewId, Long reviewedItemId, String reviewedModel, Integer rating) implements ReviewEvent {
+        public Long aggregateId() { return reviewedItemId; }
+    }
+
+    // An update or delete. An update that moves a review publishes one for the old item and one
+    // for the new.
+    record ReviewChanged(Long reviewId, Long reviewedItemId, String reviewedModel) implements ReviewEvent {
+        public Long aggregateId() { return reviewedItemId; }
+    }
+
+    record MessagePosted(Long messageId, Long chatId, Long senderId) implements DomainEvent {
+        public Long aggregateId() { return chatId; }
+    }
+}
@@ -0,0 +1,312 @@
+package com.yatranepal.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.model.DomainEventRecord;
+import com.yatranepal.api.model.DomainEventRecord.EventStatus;
+import com.yatranepal.api.repository.DomainEventRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Delivers outbox events to in-process DomainEventListeners. Each row is addressed to one listener.
+// A single poller thread claims batches with FOR UPDATE SKIP LOCKED and leases them; workers
+// deliver each row in its own transaction together with marking it DELIVERED, so listeners that
+// only touch the database see it exactly once and everything else at least once. A failing
+// listener is retried on its own schedule without redoing the others' work. A crash mid-batch leaves rows DISPATCHING until the
+// lease expires, after which any node picks them up again. Events are delivered in publish order
+// within a batch, but batches on different workers may interleave.
+@Service
+public class DomainEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventDispatcher.class);
+
+    @Autowired
+    private DomainEventRecordRepository domainEventRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<DomainEventListener<?>> listenerProvider;
+
+    @Value("${events.dispatch-enabled:true}")
+    private boolean enabled;
+
+    @Value("${events.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${events.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${events.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${events.retry-max-ms:600000}")
+    private long retryMaxMs;
+
+    @Value("${events.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${events.retention-hours:72}")
+    private long retentionHours;
+
+    public record EventStats(long pending, long failedPermanently, long published, long delivered,
+                             long failedAttempts, LatencyHistogram.Snapshot deliveryLag) {}
+
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService poller;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore idleWorkers;
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+    private final Map<String, Class<? extends DomainEvent>> eventTypes = new HashMap<>();
+    private final Map<Class<?>, List<String>> listenerNamesByType = new HashMap<>();
+    private final Map<String, DomainEventListener<?>> listenersByName = new HashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LatencyHistogram deliveryLag = new LatencyHistogram();
+
+    public DomainEventDispatcher(PlatformTransactionManager transactionManager,
+                                 @Value("${events.workers:2}") int workerCount) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "domain-event-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount), runnable -> {
+                    Thread thread = new Thread(runnable, "domain-event-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.idleWorkers = new Semaphore(workerCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        registerEventTypes(DomainEvent.class);
+        listenerProvider.orderedStream().forEach(listener -> {
+            if (listenersByName.putIfAbsent(listener.name(), listener) != null) {
+                throw new IllegalStateException("Two domain event listeners are named " + listener.name());
+            }
+            for (Class<? extends DomainEvent> type : eventTypes.values()) {
+                if (listener.eventType().isAssignableFrom(type)) {
+                    listenerNamesByType.computeIfAbsent(type, key -> new ArrayList<>()).add(listener.name());
+                }
+            }
+        });
+        if (enabled) {
+            poller.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Concrete events only; sealed sub-interfaces just group them for listeners
+    @SuppressWarnings("unchecked")
+    private void registerEventTypes(Class<?> type) {
+        if (type.isSealed()) {
+            for (Class<?> subtype : type.getPermittedSubclasses()) {
+                registerEventTypes(subtype);
+            }
+        } else {
+            eventTypes.put(type.getSimpleName(), (Class<? extends DomainEvent>) type);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        poller.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void recordPublished() {
+        published.increment();
+    }
+
+    // Listeners a published event gets a row for
+    List<String> listenerNames(Class<? extends DomainEvent> type) {
+        return listenerNamesByType.getOrDefault(type, List.of());
+    }
+
+    // Called after a publishing transaction commits; coalesces bursts into one extra poll
+    void wakeUp() {
+        if (enabled && wakeUpQueued.compareAndSet(false, true)) {
+            try {
+                poller.execute(() -> {
+                    wakeUpQueued.set(false);
+                    dispatch();
+                });
+            } catch (RejectedExecutionException e) {
+                wakeUpQueued.set(false);
+            }
+        }
+    }
+
+    public EventStats getStats() {
+        return new EventStats(domainEventRecordRepository.countByStatus(EventStatus.PENDING),
+                domainEventRecordRepository.countByStatus(EventStatus.FAILED),
+                published.sum(), delivered.sum(), failedAttempts.sum(), deliveryLag.snapshot());
+    }
+
+    @Scheduled(fixedDelayString = "${events.retention-sweep-interval-ms:3600000}")
+    public void purgeDelivered() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    domainEventRecordRepository.deleteDeliveredChunk(before, 1000));
+        } while (deleted != null && deleted == 1000);
+    }
+
+    // Poller thread only
+    private void dispatch() {
+        try {
+            while (idleWorkers.tryAcquire()) {
+                List<DomainEventRecord> batch = claim();
+                if (batch.isEmpty()) {
+                    idleWorkers.release();
+                    return;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            batch.forEach(this::deliver);
+                        } finally {
+                            idleWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    idleWorkers.release(); // Shutting down; the lease expires and the rows are retried
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            idleWorkers.release();
+            log.warn("Could not claim domain events: {}", e.getMessage());
+        }
+    }
+
+    private List<DomainEventRecord> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<DomainEventRecord> batch = domainEventRecordRepository.lockDue(now, batchSize);
+            for (DomainEventRecord record : batch) {
+                record.setStatus(EventStatus.DISPATCHING);
+                record.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+            }
+            return batch;
+        });
+    }
+
+    private void deliver(DomainEventRecord record) {
+        Class<? extends DomainEvent> type = eventTypes.get(record.getEventType());
+        DomainEventListener<?> listener = record.getListener() != null ? listenersByName.get(record.getListener()) : null;
+        try {
+            if (type == null) {
+                throw new IllegalStateException("Unknown event type " + record.getEventType());
+            }
+            if (record.getListener() == null) {
+                fanOut(record, type);
+                return;
+            }
+            if (listener == null) {
+                throw new IllegalStateException("Unknown listener " + record.getListener());
+            }
+            DomainEvent event = objectMapper.readValue(record.getPayload(), type);
+            transactionTemplate.executeWithoutResult(status -> {
+                invoke(listener, event);
+                domainEventRecordRepository.findById(record.getId()).ifPresent(row -> {
+                    row.setStatus(EventStatus.DELIVERED);
+                    row.setAttempts(row.getAttempts() + 1);
+                    row.setDeliveredAt(LocalDateTime.now());
+                    row.setLastError(null);
+                });
+            });
+            delivered.increment();
+            if (record.getCreatedAt() != null) {
+                deliveryLag.record(Duration.between(record.getCreatedAt(), LocalDateTime.now()).toNanos());
+            }
+        } catch (Exception e) {
+            failedAttempts.increment();
+            recordFailure(record, e, type == null || record.getListener() != null && listener == null);
+        }
+    }
+
+    // Rows published before delivery was per listener are split into one row per listener
+    private void fanOut(DomainEventRecord record, Class<? extends DomainEvent> type) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String listener : listenerNames(type)) {
+                domainEventRecordRepository.save(new DomainEventRecord(record.getEventType(), record.getAggregateId(),
+                        record.getPayload(), listener));
+            }
+            domainEventRecordRepository.findById(record.getId()).ifPresent(row -> {
+                row.setStatus(EventStatus.DELIVERED);
+                row.setDeliveredAt(LocalDateTime.now());
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends DomainEvent> void invoke(DomainEventListener<E> listener, DomainEvent event) {
+        listener.onEvent((E) event);
+    }
+
+    private void recordFailure(DomainEventRecord record, Exception failure, boolean permanent) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    domainEventRecordRepository.findById(record.getId()).ifPresent(row -> {
+                        row.setAttempts(row.getAttempts() + 1);
+                        String message = String.valueOf(failure.getMessage());
+                        row.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                        if (permanent || row.getAttempts() >= maxAttempts) {
+                            row.setStatus(EventStatus.FAILED);
+                            log.error("Giving up on {} event {} after {} attempts: {}",
+                                    row.getEventType(), row.getId(), row.getAttempts(), message);
+                        } else {
+                            row.setStatus(EventStatus.PENDING);
+                            row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs(row.getAttempts()))));
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            // The lease expires and the event is retried
+            log.error("Could not record failure of event {}: {}", record.getId(), e.getMessage());
+        }
+    }
+
+    // Exponential with jitter in [50%, 100%] of the step
+    private long backoffMs(int attempts) {
+        long step = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+}
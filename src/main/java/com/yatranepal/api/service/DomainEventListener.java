@@ -0,0 +1,18 @@
+package com.yatranepal.api.service;
+
+import org.springframework.util.ClassUtils;
+
+// In-process consumer of one event type. Delivery is at-least-once: a listener may see the same
+// event again after a failure or a crash, so handling must be idempotent.
+public interface DomainEventListener<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void onEvent(E event);
+
+    // Stored with each outbox row addressed to this listener, so renaming the class strands
+    // rows published before the rename
+    default String name() {
+        return ClassUtils.getUserClass(this).getName();
+    }
+}
@@ -0,0 +1,52 @@
+package com.yatranepal.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.model.DomainEventRecord;
+import com.yatranepal.api.repository.DomainEventRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Writes events to the domain_events outbox, one row per listener of the event, so each listener's
+// delivery commits and is retried on its own. Publishing requires the caller's transaction, so an
+// event is stored if and only if the change it describes commits.
+@Service
+public class DomainEventPublisher {
+
+    @Autowired
+    private DomainEventRecordRepository domainEventRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Lazy
+    private DomainEventDispatcher domainEventDispatcher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event, e);
+        }
+        for (String listener : domainEventDispatcher.listenerNames(event.getClass())) {
+            domainEventRecordRepository.save(new DomainEventRecord(event.getClass().getSimpleName(), event.aggregateId(),
+                    payload, listener));
+        }
+        domainEventDispatcher.recordPublished();
+        // Deliver right after commit instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                domainEventDispatcher.wakeUp();
+            }
+        });
+    }
+}
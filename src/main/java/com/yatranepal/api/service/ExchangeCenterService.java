@@ -15,6 +15,9 @@ public class ExchangeCenterService {
     @Autowired
     private ExchangeCenterRepository exchangeCenterRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     public List<ExchangeCenter> getAllExchangeCenters() {
         return exchangeCenterRepository.findAll();
     }
@@ -24,12 +27,16 @@ public class ExchangeCenterService {
     }
 
     public ExchangeCenter createExchangeCenter(ExchangeCenter exchangeCenter) {
-        return exchangeCenterRepository.save(exchangeCenter);
+        ExchangeCenter savedCenter = exchangeCenterRepository.save(exchangeCenter);
+        imageVariantService.pregenerate(savedCenter.getImages());
+        return savedCenter;
     }
 
     public ExchangeCenter updateExchangeCenter(Long id, ExchangeCenter exchangeCenter) {
         exchangeCenter.setId(id);
-        return exchangeCenterRepository.save(exchangeCenter);
+        ExchangeCenter savedCenter = exchangeCenterRepository.save(exchangeCenter);
+        imageVariantService.pregenerate(savedCenter.getImages());
+        return savedCenter;
     }
 
     public void deleteExchangeCenter(Long id) {
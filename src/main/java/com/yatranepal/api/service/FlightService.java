@@ -1,22 +1,268 @@
 package com.yatranepal.api.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import org.springframework.http.ResponseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.dto.FlightDeltaResponse;
+import com.yatranepal.api.dto.FlightListResponse;
+import com.yatranepal.api.dto.FlightStateResponse;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Every client asks for the same bounding box and OpenSky only updates about every 10s, so a
+// single background fetcher keeps the latest response body and requests never go upstream.
 @Service
 public class FlightService {
 
-    private static final String OPEN_SKY_URL
-            = "https://opensky-network.org/api/states/all"
-            + "?lamin=26.347&lomin=80.058&lamax=30.447&lomax=88.201"; // Nepal bounding box
+    private static final Logger log = LoggerFactory.getLogger(FlightService.class);
+
+    private static final int MAX_INTERNED_STRINGS = 20000;
+    private static final double DEFAULT_AIRPORT_RADIUS_KM = 30;
+
+    // IATA code -> {latitude, longitude}
+    private static final Map<String, double[]> AIRPORTS = Map.of(
+            "KTM", new double[]{27.6966, 85.3591},
+            "PKR", new double[]{28.2009, 83.9821},
+            "BWA", new double[]{27.5057, 83.4163},
+            "LUA", new double[]{27.6869, 86.7297},
+            "BHR", new double[]{27.6781, 84.4294},
+            "BIR", new double[]{26.4815, 87.2640},
+            "KEP", new double[]{28.1036, 81.6670},
+            "SIF", new double[]{27.1646, 84.9801},
+            "JKR", new double[]{26.7088, 85.9224},
+            "DHI", new double[]{28.7533, 80.5819});
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+
+    // Defaults to the Nepal bounding box; point it at a local stub for tests
+    @Value("${flight.opensky.url:https://opensky-network.org/api/states/all?lamin=26.347&lomin=80.058&lamax=30.447&lomax=88.201}")
+    private String openSkyUrl;
+
+    @Value("${flight.refresh-interval-ms:10000}")
+    private long refreshIntervalMs;
+
+    @Value("${flight.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${flight.initial-wait-ms:5000}")
+    private long initialWaitMs;
+
+    @Value("${flight.delta-history:30}")
+    private int deltaHistory;
+
+    public interface FlightListener {
+        void flightsUpdated(FlightStateTable states);
+    }
+
+    public record FlightSnapshot(byte[] body, long fetchedAt, FlightStateTable states) {}
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "opensky-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<FlightListener> listeners = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<FlightSnapshot> firstSnapshot = new CompletableFuture<>();
+    private volatile FlightSnapshot snapshot;
+    private AtomicReferenceArray<FlightStateTable> history;
+    // Scheduler-thread only
+    private final Map<String, String> interner = new HashMap<>();
+    private long nextVersion = 1;
+    private int consecutiveFailures;
+
+    @PostConstruct
+    public void start() {
+        history = new AtomicReferenceArray<>(Math.max(1, deltaHistory));
+        scheduler.execute(this::refresh);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void addListener(FlightListener listener) {
+        listeners.add(listener);
+    }
+
+    // Latest upstream body, possibly stale if OpenSky is failing. Only a cold start waits, and
+    // then at most flight.initial-wait-ms for the first fetch.
+    public Optional<FlightSnapshot> getNepalFlights() {
+        FlightSnapshot current = snapshot;
+        if (current != null) {
+            return Optional.of(current);
+        }
+        try {
+            return Optional.of(firstSnapshot.get(initialWaitMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    public Optional<FlightListResponse> getFlights(String airport, Double radiusKm, Double minAltitude,
+                                                   Double maxAltitude, String callsignPrefix) {
+        Double latitude = null;
+        Double longitude = null;
+        if (airport != null && !airport.isBlank()) {
+            double[] location = AIRPORTS.get(airport.trim().toUpperCase(Locale.ROOT));
+            if (location == null) {
+                throw new RuntimeException("Unknown airport: " + airport + ", expected one of " + AIRPORTS.keySet());
+            }
+            latitude = location[0];
+            longitude = location[1];
+            if (radiusKm == null) {
+                radiusKm = DEFAULT_AIRPORT_RADIUS_KM;
+            }
+        }
+        FlightStateTable.Filter filter = new FlightStateTable.Filter(latitude, longitude, radiusKm,
+                minAltitude, maxAltitude, callsignPrefix);
+        return getNepalFlights().map(snapshot -> toListResponse(snapshot.states(), filter));
+    }
+
+    // Aircraft that appeared, changed or disappeared since the given version. Versions older than
+    // flight.delta-history refreshes fall back to the full list.
+    public Optional<FlightDeltaResponse> getDelta(long since) {
+        return getNepalFlights().map(snapshot -> toDeltaResponse(snapshot.states(), since));
+    }
+
+    public FlightListResponse toListResponse(FlightStateTable states, FlightStateTable.Filter filter) {
+        List<FlightStateResponse> flights = new ArrayList<>();
+        for (int row = 0; row < states.size(); row++) {
+            if (filter == null || states.matches(row, filter)) {
+                flights.add(states.toResponse(row));
+            }
+        }
+        return new FlightListResponse(states.getVersion(), states.getTime(), flights);
+    }
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    public FlightDeltaResponse toDeltaResponse(FlightStateTable current, long since) {
+        FlightStateTable previous = since > 0 && since <= current.getVersion()
+                ? history.get((int) (since % history.length())) : null;
+        boolean full = previous == null || previous.getVersion() != since;
+        List<FlightStateResponse> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (int row = 0; row < current.size(); row++) {
+            int previousRow = full ? -1 : previous.rowOf(current.icao24(row));
+            if (previousRow < 0 || current.changedSince(row, previous, previousRow)) {
+                changed.add(current.toResponse(row));
+            }
+        }
+        if (!full) {
+            for (int row = 0; row < previous.size(); row++) {
+                if (current.rowOf(previous.icao24(row)) < 0) {
+                    removed.add(previous.icao24(row));
+                }
+            }
+        }
+        return new FlightDeltaResponse(since, current.getVersion(), current.getTime(), full, changed, removed);
+    }
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    // Epoch millis of the last successful fetch, 0 before the first; never waits
+    public long getLastFetchedAt() {
+        FlightSnapshot current = snapshot;
+        return current != null ? current.fetchedAt() : 0;
+    }
+
+    // Runs only on the scheduler thread, so consecutiveFailures needs no synchronization
+    private void refresh() {
+        long delay;
+        FlightStateTable updated = null;
+        try {
+            // Blocking is fine here: this is the dedicated refresh thread, not a request thread
+            byte[] body = outboundHttpClient.getBytes("opensky", openSkyUrl).block();
+            if (body == null || body.length == 0) {
+                throw new IllegalStateException("empty response");
+            }
+            FlightSnapshot previous = snapshot;
+            FlightStateTable states = previous != null && Arrays.equals(previous.body(), body)
+                    ? previous.states() // Unchanged upstream data keeps its version
+                    : parse(body);
+            FlightSnapshot fresh = new FlightSnapshot(body, System.currentTimeMillis(), states);
+            snapshot = fresh;
+            firstSnapshot.complete(fresh);
+            consecutiveFailures = 0;
+            delay = refreshIntervalMs;
+            if (previous == null || previous.states() != states) {
+                updated = states;
+            }
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            delay = backoff();
+            log.warn("OpenSky refresh failed ({} in a row), retrying in {} ms: {}",
+                    consecutiveFailures, delay, e.getMessage());
+        }
+        // A failing listener must not end the refresh loop, or the snapshot would go stale for good
+        try {
+            if (updated != null) {
+                for (FlightListener listener : listeners) {
+                    try {
+                        listener.flightsUpdated(updated);
+                    } catch (RuntimeException e) {
+                        log.warn("Flight listener {} failed on version {}: {}",
+                                listener.getClass().getSimpleName(), updated.getVersion(), e.toString());
+                    }
+                }
+            }
+        } finally {
+            if (!scheduler.isShutdown()) {
+                scheduler.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private FlightStateTable parse(byte[] body) {
+        if (interner.size() > MAX_INTERNED_STRINGS) {
+            interner.clear();
+        }
+        try {
+            FlightStateTable states = FlightStateTable.parse(objectMapper.getFactory(), body, nextVersion, interner);
+            history.set((int) (nextVersion % history.length()), states);
+            nextVersion++;
+            return states;
+        } catch (IOException e) {
+            throw new UncheckedIOException("unreadable OpenSky response", e);
+        }
+    }
 
-    public Map getNepalFlights() {
-        ResponseEntity<Map> response = restTemplate.getForEntity(OPEN_SKY_URL, Map.class);
-        return response.getBody();
+    // Full jitter over an exponentially growing cap, so instances don't retry in lockstep
+    private long backoff() {
+        int exponent = Math.min(consecutiveFailures - 1, 20);
+        long cap = Math.min(maxBackoffMs, refreshIntervalMs << exponent);
+        return refreshIntervalMs / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, cap));
     }
 }
@@ -0,0 +1,220 @@
+package com.yatranepal.api.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.yatranepal.api.dto.FlightStateResponse;
+
+// One OpenSky snapshot stored column-wise: a row per aircraft, primitive arrays for the numeric
+// fields (NaN when OpenSky sent null) and interned strings, so a snapshot is a handful of arrays
+// instead of a List<Object> per aircraft.
+public final class FlightStateTable {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final long version;
+    private long time;
+    private int size;
+    private String[] icao24 = new String[INITIAL_CAPACITY];
+    private String[] callsign = new String[INITIAL_CAPACITY];
+    private String[] originCountry = new String[INITIAL_CAPACITY];
+    private long[] lastContact = new long[INITIAL_CAPACITY];
+    private double[] longitude = new double[INITIAL_CAPACITY];
+    private double[] latitude = new double[INITIAL_CAPACITY];
+    private double[] altitude = new double[INITIAL_CAPACITY];
+    private boolean[] onGround = new boolean[INITIAL_CAPACITY];
+    private double[] velocity = new double[INITIAL_CAPACITY];
+    private double[] heading = new double[INITIAL_CAPACITY];
+    private double[] verticalRate = new double[INITIAL_CAPACITY];
+    private final Map<String, Integer> rowByIcao24 = new HashMap<>();
+
+    public record Filter(Double latitude, Double longitude, Double radiusKm,
+                         Double minAltitude, Double maxAltitude, String callsignPrefix) {}
+
+    private FlightStateTable(long version) {
+        this.version = version;
+    }
+
+    public static FlightStateTable empty(long version) {
+        return new FlightStateTable(version);
+    }
+
+    // Streams {"time":..,"states":[[icao24, callsign, country, timePosition, lastContact, lon, lat,
+    // baroAltitude, onGround, velocity, track, verticalRate, sensors, geoAltitude, ...], ...]}
+    public static FlightStateTable parse(JsonFactory jsonFactory, byte[] json, long version,
+                                         Map<String, String> interner) throws IOException {
+        FlightStateTable table = new FlightStateTable(version);
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from OpenSky");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("time".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    table.time = parser.getLongValue();
+                } else if ("states".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_ARRAY) {
+                        table.readRow(parser, interner);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return table;
+    }
+
+    public long getVersion() { return version; }
+    public long getTime() { return time; }
+    public int size() { return size; }
+
+    public String icao24(int row) { return icao24[row]; }
+
+    public int rowOf(String icao) {
+        Integer row = rowByIcao24.get(icao);
+        return row != null ? row : -1;
+    }
+
+    public boolean matches(int row, Filter filter) {
+        if (filter.callsignPrefix() != null && !filter.callsignPrefix().isEmpty()) {
+            if (callsign[row] == null || !callsign[row].regionMatches(true, 0, filter.callsignPrefix(), 0,
+                    filter.callsignPrefix().length())) {
+                return false;
+            }
+        }
+        if (filter.minAltitude() != null || filter.maxAltitude() != null) {
+            double alt = altitude[row];
+            if (Double.isNaN(alt)
+                    || (filter.minAltitude() != null && alt < filter.minAltitude())
+                    || (filter.maxAltitude() != null && alt > filter.maxAltitude())) {
+                return false;
+            }
+        }
+        if (filter.latitude() != null && filter.longitude() != null && filter.radiusKm() != null) {
+            if (Double.isNaN(latitude[row]) || Double.isNaN(longitude[row])
+                    || distanceKm(filter.latitude(), filter.longitude(), latitude[row], longitude[row]) > filter.radiusKm()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True when anything a map client draws differs between this row and the previous snapshot's
+    public boolean changedSince(int row, FlightStateTable previous, int previousRow) {
+        return Double.compare(latitude[row], previous.latitude[previousRow]) != 0
+                || Double.compare(longitude[row], previous.longitude[previousRow]) != 0
+                || Double.compare(altitude[row], previous.altitude[previousRow]) != 0
+                || Double.compare(velocity[row], previous.velocity[previousRow]) != 0
+                || Double.compare(heading[row], previous.heading[previousRow]) != 0
+                || Double.compare(verticalRate[row], previous.verticalRate[previousRow]) != 0
+                || onGround[row] != previous.onGround[previousRow]
+                || !Objects.equals(callsign[row], previous.callsign[previousRow]);
+    }
+
+    public FlightStateResponse toResponse(int row) {
+        return new FlightStateResponse(icao24[row], callsign[row], originCountry[row], lastContact[row],
+                orNull(latitude[row]), orNull(longitude[row]), orNull(altitude[row]), onGround[row],
+                orNull(velocity[row]), orNull(heading[row]), orNull(verticalRate[row]));
+    }
+
+    private void readRow(JsonParser parser, Map<String, String> interner) throws IOException {
+        ensureCapacity(size + 1);
+        int row = size;
+        double baroAltitude = Double.NaN;
+        double geoAltitude = Double.NaN;
+        int column = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            switch (column) {
+                case 0 -> icao24[row] = intern(text(parser), interner);
+                case 1 -> callsign[row] = intern(text(parser), interner);
+                case 2 -> originCountry[row] = intern(text(parser), interner);
+                case 4 -> {
+                    double contact = number(parser);
+                    lastContact[row] = Double.isNaN(contact) ? 0 : (long) contact;
+                }
+                case 5 -> longitude[row] = number(parser);
+                case 6 -> latitude[row] = number(parser);
+                case 7 -> baroAltitude = number(parser);
+                case 8 -> onGround[row] = token == JsonToken.VALUE_TRUE;
+                case 9 -> velocity[row] = number(parser);
+                case 10 -> heading[row] = number(parser);
+                case 11 -> verticalRate[row] = number(parser);
+                case 13 -> geoAltitude = number(parser);
+                default -> parser.skipChildren();
+            }
+            column++;
+        }
+        if (column < 12 || icao24[row] == null) {
+            return; // Malformed row, leave the slot to be overwritten
+        }
+        altitude[row] = Double.isNaN(baroAltitude) ? geoAltitude : baroAltitude;
+        rowByIcao24.put(icao24[row], row);
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= icao24.length) {
+            return;
+        }
+        int grown = icao24.length * 2;
+        icao24 = Arrays.copyOf(icao24, grown);
+        callsign = Arrays.copyOf(callsign, grown);
+        originCountry = Arrays.copyOf(originCountry, grown);
+        lastContact = Arrays.copyOf(lastContact, grown);
+        longitude = Arrays.copyOf(longitude, grown);
+        latitude = Arrays.copyOf(latitude, grown);
+        altitude = Arrays.copyOf(altitude, grown);
+        onGround = Arrays.copyOf(onGround, grown);
+        velocity = Arrays.copyOf(velocity, grown);
+        heading = Arrays.copyOf(heading, grown);
+        verticalRate = Arrays.copyOf(verticalRate, grown);
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        // OpenSky pads callsigns to 8 characters
+        String value = parser.getText().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double number(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return Double.NaN;
+    }
+
+    private static String intern(String value, Map<String, String> interner) {
+        if (value == null) {
+            return null;
+        }
+        String existing = interner.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
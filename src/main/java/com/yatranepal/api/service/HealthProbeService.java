@@ -0,0 +1,165 @@
+package com.yatranepal.api.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Runs dependency probes on its own thread and publishes the outcome as one immutable report, so
+// the health endpoints only read a volatile field however often the load balancer polls. A report
+// older than a few probe intervals counts as down: a probe stuck on the database must not leave
+// a stale "up" behind.
+@Service
+public class HealthProbeService {
+
+    public enum Status { UP, DEGRADED, DOWN }
+
+    // critical probes decide readiness; the others can only degrade it
+    public record Probe(Status status, boolean critical, String detail) {}
+
+    public record Report(Status status, long checkedAt, Map<String, Probe> probes) {}
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${health.probe-interval-ms:5000}")
+    private long probeIntervalMs;
+
+    @Value("${health.db-timeout-seconds:2}")
+    private int dbTimeoutSeconds;
+
+    @Value("${health.pool.max-pending:10}")
+    private int maxPendingConnections;
+
+    @Value("${health.flight.max-age-ms:300000}")
+    private long flightMaxAgeMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "health-probes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Report report = new Report(Status.DOWN, 0, Map.of());
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // Fail readiness as soon as shutdown starts so the load balancer drains this node first
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        shuttingDown = true;
+    }
+
+    public Report getReadiness() {
+        Report current = report;
+        if (shuttingDown) {
+            return new Report(Status.DOWN, current.checkedAt(), current.probes());
+        }
+        if (System.currentTimeMillis() - current.checkedAt() > 3 * probeIntervalMs) {
+            return new Report(Status.DOWN, current.checkedAt(), current.probes());
+        }
+        return current;
+    }
+
+    private void probe() {
+        Map<String, Probe> probes = new LinkedHashMap<>();
+        probes.put("database", probeDatabase());
+        probes.put("connectionPool", probePool());
+        probes.put("uploads", probeUploads());
+        probes.put("flights", probeFlights());
+        Status overall = Status.UP;
+        for (Probe probe : probes.values()) {
+            if (probe.status() == Status.DOWN && probe.critical()) {
+                overall = Status.DOWN;
+            } else if (probe.status() != Status.UP && overall == Status.UP) {
+                overall = Status.DEGRADED;
+            }
+        }
+        report = new Report(overall, System.currentTimeMillis(), Map.copyOf(probes));
+    }
+
+    private Probe probeDatabase() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(dbTimeoutSeconds);
+            statement.execute("SELECT 1");
+            return new Probe(Status.UP, true, "SELECT 1 in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (SQLException | RuntimeException e) {
+            return new Probe(Status.DOWN, true, e.getMessage());
+        }
+    }
+
+    // Callers queueing for connections mean this node is already behind; stop sending it more
+    private Probe probePool() {
+        try {
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool == null) {
+                return new Probe(Status.DOWN, true, "pool not started");
+            }
+            String detail = pool.getActiveConnections() + "/" + pool.getTotalConnections() + " active, "
+                    + pool.getThreadsAwaitingConnection() + " waiting";
+            if (pool.getThreadsAwaitingConnection() >= maxPendingConnections) {
+                return new Probe(Status.DOWN, true, detail);
+            }
+            return new Probe(pool.getThreadsAwaitingConnection() > 0 ? Status.DEGRADED : Status.UP, true, detail);
+        } catch (SQLException e) {
+            return new Probe(Status.UP, true, "not a Hikari pool");
+        }
+    }
+
+    private Probe probeUploads() {
+        Path dir = Paths.get(uploadDir);
+        try {
+            Files.createDirectories(dir);
+            Path probe = Files.createTempFile(dir, ".health", ".tmp");
+            Files.delete(probe);
+            return new Probe(Status.UP, true, "writable");
+        } catch (Exception e) {
+            return new Probe(Status.DOWN, true, "not writable: " + e.getMessage());
+        }
+    }
+
+    // Stale flights only affect the flight pages, so they degrade the node without failing it
+    private Probe probeFlights() {
+        long fetchedAt = flightService.getLastFetchedAt();
+        if (fetchedAt == 0) {
+            return new Probe(Status.DEGRADED, false, "no snapshot yet");
+        }
+        long ageMs = System.currentTimeMillis() - fetchedAt;
+        String detail = "snapshot from " + Instant.ofEpochMilli(fetchedAt);
+        return new Probe(ageMs > flightMaxAgeMs ? Status.DEGRADED : Status.UP, false, detail);
+    }
+}
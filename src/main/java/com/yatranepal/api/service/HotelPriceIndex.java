@@ -0,0 +1,163 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.repository.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+// Hotels ordered by cheapestPrice, overall and per city, so price ranges and price-sorted
+// listings come out of a sorted set instead of a scan and a sort; the hotels themselves are
+// then loaded by id. Changes made through this instance are applied after their commit. Other
+// instances' changes show up with the next reload (hotel-price-index.reload-interval-ms).
+@Component
+public class HotelPriceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelPriceIndex.class);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    private record Entry(double price, long hotelId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byPrice = Double.compare(price, other.price);
+            return byPrice != 0 ? byPrice : Long.compare(hotelId, other.hotelId);
+        }
+    }
+
+    private record Listing(String city, Entry entry) {}
+
+    // Readers iterate the skip lists without locking; byHotel is only touched under the monitor
+    private static final class State {
+        final Map<Long, Listing> byHotel = new HashMap<>();
+        final NavigableSet<Entry> all = new ConcurrentSkipListSet<>();
+        final Map<String, NavigableSet<Entry>> byCity = new ConcurrentHashMap<>();
+    }
+
+    private volatile State state = new State();
+    // Changes applied while a reload is reading the table, replayed onto the fresh state
+    private List<Consumer<State>> pendingDuringReload;
+    // The hotels catalog version the last reload read, and the changes applied since
+    private long loadedVersion;
+    private long changes;
+    // Nothing loaded yet matches no catalog version
+    private volatile CatalogVersionService.IndexVersion version = new CatalogVersionService.IndexVersion(-1, 0);
+
+    @PostConstruct
+    public void start() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${hotel-price-index.reload-interval-ms:300000}",
+            initialDelayString = "${hotel-price-index.reload-interval-ms:300000}")
+    public void reload() {
+        synchronized (this) {
+            if (pendingDuringReload != null) {
+                return;
+            }
+            pendingDuringReload = new ArrayList<>();
+        }
+        try {
+            // Read first: the rows read after it are at least as new
+            long loaded = catalogVersionService.getVersion(CatalogVersionService.Catalog.HOTELS);
+            State fresh = new State();
+            for (HotelRepository.PriceListing listing : hotelRepository.findPriceListings()) {
+                apply(fresh, listing.getId(), listing.getCity(), listing.getCheapestPrice());
+            }
+            synchronized (this) {
+                pendingDuringReload.forEach(change -> change.accept(fresh));
+                state = fresh;
+                loadedVersion = loaded;
+                changes = pendingDuringReload.size();
+                version = new CatalogVersionService.IndexVersion(loadedVersion, changes);
+            }
+            log.debug("Hotel price index reloaded: {} hotels", fresh.byHotel.size());
+        } catch (RuntimeException e) {
+            log.warn("Hotel price index reload failed, keeping the current one: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendingDuringReload = null;
+            }
+        }
+    }
+
+    // A null price takes the hotel out of the index, as SQL range filters would
+    public synchronized void put(Long hotelId, String city, Double price) {
+        Consumer<State> change = target -> apply(target, hotelId, city, price);
+        change.accept(state);
+        if (pendingDuringReload != null) {
+            pendingDuringReload.add(change);
+        }
+        version = new CatalogVersionService.IndexVersion(loadedVersion, ++changes);
+    }
+
+    public void remove(Long hotelId) {
+        put(hotelId, null, null);
+    }
+
+    // Ids of hotels priced within [minPrice, maxPrice], either bound optional, cheapest first
+    // unless descending. A null city means every city.
+    public List<Long> findIds(String city, Double minPrice, Double maxPrice, boolean descending) {
+        State current = state;
+        NavigableSet<Entry> hotels = city == null ? current.all : current.byCity.get(city);
+        if (hotels == null) {
+            return Collections.emptyList();
+        }
+        NavigableSet<Entry> range = hotels.subSet(
+                new Entry(minPrice != null ? minPrice : Double.NEGATIVE_INFINITY, Long.MIN_VALUE), true,
+                new Entry(maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY, Long.MAX_VALUE), true);
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : descending ? range.descendingSet() : range) {
+            ids.add(entry.hotelId());
+        }
+        return ids;
+    }
+
+    // Changes whenever the content does; read it before findIds so it is never newer than the result
+    public CatalogVersionService.IndexVersion getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return state.all.size();
+    }
+
+    private static void apply(State target, Long hotelId, String city, Double price) {
+        if (hotelId == null) {
+            return;
+        }
+        Listing previous = target.byHotel.remove(hotelId);
+        if (previous != null) {
+            target.all.remove(previous.entry());
+            NavigableSet<Entry> cityHotels = previous.city() != null ? target.byCity.get(previous.city()) : null;
+            if (cityHotels != null) {
+                cityHotels.remove(previous.entry());
+            }
+        }
+        if (price == null || price.isNaN()) {
+            return;
+        }
+        Listing listing = new Listing(city, new Entry(price, hotelId));
+        target.byHotel.put(hotelId, listing);
+        target.all.add(listing.entry());
+        if (city != null) {
+            target.byCity.computeIfAbsent(city, key -> new ConcurrentSkipListSet<>()).add(listing.entry());
+        }
+    }
+}
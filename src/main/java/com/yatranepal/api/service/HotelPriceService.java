@@ -0,0 +1,111 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Hotel.cheapestPrice is the lowest price among the hotel's rooms, kept current by re-deriving
+// it whenever a room changes. Room writers lock the hotel row first, so two changes to the same
+// hotel can't each derive the minimum without seeing the other.
+@Service
+public class HotelPriceService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelPriceService.class);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelPriceIndex hotelPriceIndex;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hotel-price.recompute-chunk:1000}")
+    private int recomputeChunk;
+
+    public record RecomputeResult(long hotels, long corrected, long durationMs) {}
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Long hotelId) {
+        if (hotelRepository.lockById(hotelId).isEmpty()) {
+            throw new RuntimeException("Hotel not found with id: " + hotelId);
+        }
+    }
+
+    // Re-derives the price from the hotel's rooms and returns what the hotel is now listed at.
+    // The price and search indexes follow once the transaction commits.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Double> refresh(Long hotelId) {
+        hotelRepository.refreshCheapestPrice(hotelId);
+        Optional<HotelRepository.SearchRow> row = hotelRepository.findSearchRow(hotelId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (row.isPresent()) {
+                    hotelPriceIndex.put(hotelId, row.get().getCity(), row.get().getCheapestPrice());
+                    hotelSearchIndex.put(row.get());
+                } else {
+                    hotelPriceIndex.remove(hotelId);
+                    hotelSearchIndex.remove(hotelId);
+                }
+            }
+        });
+        return row.map(HotelRepository.SearchRow::getCheapestPrice);
+    }
+
+    // Re-derives every hotel's price from its rooms, a chunk of hotels per transaction, then
+    // rebuilds the indexes. Repairs prices written before they were maintained, or by hand.
+    public RecomputeResult recomputeAll() {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long hotels = 0;
+        long corrected = 0;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            long cursor = after;
+            long[] chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = hotelRepository.lockIdsAfter(cursor, recomputeChunk);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                long last = ids.get(ids.size() - 1);
+                return new long[]{ids.size(), hotelRepository.refreshCheapestPrices(ids.get(0), last), last};
+            });
+            if (chunk == null) {
+                break;
+            }
+            hotels += chunk[0];
+            corrected += chunk[1];
+            after = chunk[2];
+        }
+        hotelPriceIndex.reload();
+        hotelSearchIndex.reload();
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Recomputed cheapest prices of {} hotels in {} ms, {} corrected", hotels, durationMs, corrected);
+        return new RecomputeResult(hotels, corrected, durationMs);
+    }
+
+    // Off unless hotel-price.recompute-cron is set
+    @Scheduled(cron = "${hotel-price.recompute-cron:-}")
+    public void scheduledRecompute() {
+        recomputeAll();
+    }
+}
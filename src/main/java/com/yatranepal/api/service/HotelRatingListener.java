@@ -0,0 +1,54 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.Review;
+import com.yatranepal.api.repository.HotelRepository;
+import com.yatranepal.api.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+// Keeps Hotel.rating in step with its reviews as they are created, edited and deleted.
+// Recomputing the average rather than folding in the change makes redelivery harmless.
+@Component
+public class HotelRatingListener implements DomainEventListener<DomainEvent.ReviewEvent> {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Override
+    public Class<DomainEvent.ReviewEvent> eventType() {
+        return DomainEvent.ReviewEvent.class;
+    }
+
+    @Override
+    public void onEvent(DomainEvent.ReviewEvent event) {
+        if (!Review.ReviewedModel.HOTEL.name().equals(event.reviewedModel()) || event.reviewedItemId() == null) {
+            return;
+        }
+        // No reviews left means no rating, as for a hotel that was never reviewed
+        Double average = reviewRepository.findAverageRatingByItemAndModel(event.reviewedItemId(), Review.ReviewedModel.HOTEL);
+        Long hotelId = event.reviewedItemId();
+        hotelRepository.updateRating(hotelId, average != null ? Math.round(average * 10) / 10.0 : null);
+        // The search index filters and sorts by rating, so it takes the new row once the delivery commits
+        Optional<HotelRepository.SearchRow> row = hotelRepository.findSearchRow(hotelId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (row.isPresent()) {
+                    hotelSearchIndex.put(row.get());
+                } else {
+                    hotelSearchIndex.remove(hotelId);
+                }
+            }
+        });
+    }
+}
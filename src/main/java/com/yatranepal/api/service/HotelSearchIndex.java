@@ -0,0 +1,453 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.repository.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The hotel fields search filters, sorts and counts on, one array per field, so a search is a
+// single scan that also produces the facet counts; only the hotels on the requested page are then
+// loaded from the database. Kept current like HotelPriceIndex: changes made through this instance
+// are applied after their commit, other instances' with the next reload.
+@Component
+public class HotelSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelSearchIndex.class);
+    private static final Pattern DISTANCE = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(?:(km|m)\\b)?", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    // Upper bounds of the price facet's buckets; the last bucket has none
+    @Value("${hotel-search.price-buckets:1000,2500,5000,10000}")
+    private double[] priceBuckets;
+
+    public enum SortField { PRICE, RATING, DISTANCE }
+
+    // Empty collections and null values don't filter. sortField null orders by id.
+    public record Query(Collection<String> cities, Collection<String> types, Double minPrice, Double maxPrice,
+                        Double minRating, Boolean featured, String name, SortField sortField, boolean descending,
+                        int page, int size) {}
+
+    // Facet counts apply every filter except the facet's own, so each lists the alternatives to
+    // the current choice. priceCounts lines up with getPriceBuckets() plus the open-ended bucket.
+    public record Result(List<Long> ids, long total, Map<String, Long> cityCounts, Map<String, Long> typeCounts,
+                         long[] priceCounts) {}
+
+    // Rows are reused after deletes; names are lower-cased for matching. Mutated in place under the
+    // write lock, scanned under the read lock.
+    private static final class Columns {
+        final Map<Long, Integer> rowOf = new HashMap<>();
+        final ArrayDeque<Integer> freeRows = new ArrayDeque<>();
+        final List<String> cityNames = new ArrayList<>();
+        final Map<String, Integer> cityCodes = new HashMap<>();
+        final List<String> typeNames = new ArrayList<>();
+        final Map<String, Integer> typeCodes = new HashMap<>();
+        int rows;
+        boolean[] live = new boolean[64];
+        long[] ids = new long[64];
+        String[] names = new String[64];
+        int[] cities = new int[64];
+        int[] types = new int[64];
+        double[] prices = new double[64];
+        double[] ratings = new double[64];
+        double[] distances = new double[64];
+        boolean[] featured = new boolean[64];
+
+        int newRow() {
+            if (!freeRows.isEmpty()) {
+                return freeRows.pop();
+            }
+            if (rows == ids.length) {
+                int capacity = rows * 2;
+                live = Arrays.copyOf(live, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                cities = Arrays.copyOf(cities, capacity);
+                types = Arrays.copyOf(types, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                distances = Arrays.copyOf(distances, capacity);
+                featured = Arrays.copyOf(featured, capacity);
+            }
+            return rows++;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    // Changes applied while a reload is reading the table, replayed onto the fresh columns
+    private List<Consumer<Columns>> pendingDuringReload;
+    // The hotels catalog version the last reload read, and the changes applied since
+    private long loadedVersion;
+    private long changes;
+    // Nothing loaded yet matches no catalog version
+    private volatile CatalogVersionService.IndexVersion version = new CatalogVersionService.IndexVersion(-1, 0);
+
+    @PostConstruct
+    public void start() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${hotel-price-index.reload-interval-ms:300000}",
+            initialDelayString = "${hotel-price-index.reload-interval-ms:300000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringReload != null) {
+                return;
+            }
+            pendingDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Columns fresh = new Columns();
+        long loaded = 0;
+        try {
+            // Read first: the rows read after it are at least as new
+            loaded = catalogVersionService.getVersion(CatalogVersionService.Catalog.HOTELS);
+            for (HotelRepository.SearchRow row : hotelRepository.findSearchRows()) {
+                apply(fresh, row);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Hotel search index reload failed, keeping the current one: {}", e.getMessage());
+            fresh = null;
+        }
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                for (Consumer<Columns> change : pendingDuringReload) {
+                    change.accept(fresh);
+                }
+                columns = fresh;
+                loadedVersion = loaded;
+                changes = pendingDuringReload.size();
+                version = new CatalogVersionService.IndexVersion(loadedVersion, changes);
+                log.debug("Hotel search index reloaded: {} hotels", fresh.rowOf.size());
+            }
+            pendingDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(HotelRepository.SearchRow row) {
+        change(target -> apply(target, row));
+    }
+
+    public void remove(Long hotelId) {
+        change(target -> delete(target, hotelId));
+    }
+
+    public double[] getPriceBuckets() {
+        return priceBuckets.clone();
+    }
+
+    public Result search(Query query) {
+        String needle = query.name() != null && !query.name().isBlank()
+                ? query.name().trim().toLowerCase(Locale.ROOT) : null;
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            BitSet cityFilter = codes(query.cities(), c.cityCodes);
+            BitSet typeFilter = codes(query.types(), c.typeCodes);
+            long[] cityCounts = new long[c.cityNames.size()];
+            long[] typeCounts = new long[c.typeNames.size()];
+            long[] priceCounts = new long[priceBuckets.length + 1];
+            boolean priceFilter = query.minPrice() != null || query.maxPrice() != null;
+            double minPrice = query.minPrice() != null ? query.minPrice() : Double.NEGATIVE_INFINITY;
+            double maxPrice = query.maxPrice() != null ? query.maxPrice() : Double.POSITIVE_INFINITY;
+            double minRating = query.minRating() != null ? query.minRating() : Double.NaN;
+            boolean featuredFilter = query.featured() != null;
+            boolean featured = Boolean.TRUE.equals(query.featured());
+            boolean[] live = c.live;
+            double[] ratings = c.ratings;
+            boolean[] featuredColumn = c.featured;
+            String[] names = c.names;
+            int[] cities = c.cities;
+            int[] types = c.types;
+            double[] prices = c.prices;
+            int[] hits = new int[64];
+            int total = 0;
+            for (int row = 0; row < c.rows; row++) {
+                if (!live[row]
+                        || !Double.isNaN(minRating) && !(ratings[row] >= minRating)
+                        || featuredFilter && featuredColumn[row] != featured
+                        || needle != null && !names[row].contains(needle)) {
+                    continue;
+                }
+                int city = cities[row];
+                int type = types[row];
+                double price = prices[row];
+                boolean cityOk = cityFilter == null || city >= 0 && cityFilter.get(city);
+                boolean typeOk = typeFilter == null || type >= 0 && typeFilter.get(type);
+                boolean priceOk = !priceFilter || price >= minPrice && price <= maxPrice;
+                if (typeOk && priceOk && city >= 0) {
+                    cityCounts[city]++;
+                }
+                if (cityOk && priceOk && type >= 0) {
+                    typeCounts[type]++;
+                }
+                if (cityOk && typeOk && !Double.isNaN(price)) {
+                    priceCounts[bucketOf(price)]++;
+                }
+                if (cityOk && typeOk && priceOk) {
+                    if (total == hits.length) {
+                        hits = Arrays.copyOf(hits, total * 2);
+                    }
+                    hits[total++] = row;
+                }
+            }
+            List<Long> ids = page(c, hits, total, query);
+            return new Result(ids, total, counts(cityCounts, c.cityNames), counts(typeCounts, c.typeNames), priceCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Changes whenever the content does; read it before search so it is never newer than the result
+    public CatalogVersionService.IndexVersion getVersion() {
+        return version;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.rowOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (pendingDuringReload != null) {
+                pendingDuringReload.add(change);
+            }
+            version = new CatalogVersionService.IndexVersion(loadedVersion, ++changes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only the first page * size + size matches in order are needed, so they are selected with a
+    // bounded heap instead of sorting every match
+    private static List<Long> page(Columns c, int[] hits, int total, Query query) {
+        int from = (int) Math.min((long) query.page() * query.size(), total);
+        int to = (int) Math.min((long) from + query.size(), total);
+        if (from == to) {
+            return List.of();
+        }
+        Order order = new Order(c, query.sortField(), query.descending());
+        // Max-heap on order: the root is the last of the best `to` matches seen so far
+        int[] heap = new int[to];
+        int heapSize = 0;
+        for (int i = 0; i < total; i++) {
+            int row = hits[i];
+            if (heapSize < to) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++, order);
+            } else if (order.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, heapSize, order);
+            }
+        }
+        // Popping the root repeatedly leaves the heap array in ascending order
+        for (int end = heapSize - 1; end > 0; end--) {
+            int root = heap[0];
+            heap[0] = heap[end];
+            heap[end] = root;
+            siftDown(heap, end, order);
+        }
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(c.ids[heap[i]]);
+        }
+        return ids;
+    }
+
+    private static void siftUp(int[] heap, int index, Order order) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(heap[parent], row) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, Order order) {
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    // Rows by the sort column, hotels without a value last either way, then by id
+    private static final class Order {
+        private final long[] ids;
+        private final double[] keys;
+        private final boolean descending;
+
+        Order(Columns c, SortField sortField, boolean descending) {
+            this.ids = c.ids;
+            this.keys = sortField == null ? null : switch (sortField) {
+                case PRICE -> c.prices;
+                case RATING -> c.ratings;
+                case DISTANCE -> c.distances;
+            };
+            this.descending = descending;
+        }
+
+        int compare(int a, int b) {
+            if (keys != null) {
+                double x = keys[a];
+                double y = keys[b];
+                boolean xMissing = Double.isNaN(x);
+                boolean yMissing = Double.isNaN(y);
+                if (xMissing != yMissing) {
+                    return xMissing ? 1 : -1;
+                }
+                if (!xMissing) {
+                    int byKey = descending ? Double.compare(y, x) : Double.compare(x, y);
+                    if (byKey != 0) {
+                        return byKey;
+                    }
+                }
+            }
+            return Long.compare(ids[a], ids[b]);
+        }
+    }
+
+    private int bucketOf(double price) {
+        int bucket = 0;
+        while (bucket < priceBuckets.length && price >= priceBuckets[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Null when the filter is off; an empty set when none of the values is known, matching nothing
+    private static BitSet codes(Collection<String> values, Map<String, Integer> codes) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet set = new BitSet();
+        for (String value : values) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                set.set(code);
+            }
+        }
+        return set;
+    }
+
+    // Largest count first
+    private static Map<String, Long> counts(long[] counts, List<String> names) {
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort(Comparator.<Integer>comparingLong(code -> -counts[code]).thenComparing(names::get));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code : codes) {
+            result.put(names.get(code), counts[code]);
+        }
+        return result;
+    }
+
+    private static void apply(Columns c, HotelRepository.SearchRow hotel) {
+        if (hotel.getId() == null) {
+            return;
+        }
+        Integer existing = c.rowOf.get(hotel.getId());
+        int row = existing != null ? existing : c.newRow();
+        c.rowOf.put(hotel.getId(), row);
+        c.live[row] = true;
+        c.ids[row] = hotel.getId();
+        c.names[row] = hotel.getName() != null ? hotel.getName().toLowerCase(Locale.ROOT) : "";
+        c.cities[row] = code(hotel.getCity(), c.cityNames, c.cityCodes);
+        c.types[row] = code(hotel.getType(), c.typeNames, c.typeCodes);
+        c.prices[row] = hotel.getCheapestPrice() != null ? hotel.getCheapestPrice() : Double.NaN;
+        c.ratings[row] = hotel.getRating() != null ? hotel.getRating() : Double.NaN;
+        c.distances[row] = parseDistanceKm(hotel.getDistance());
+        c.featured[row] = Boolean.TRUE.equals(hotel.getFeatured());
+    }
+
+    private static void delete(Columns c, Long hotelId) {
+        Integer row = c.rowOf.remove(hotelId);
+        if (row != null) {
+            c.live[row] = false;
+            c.names[row] = null;
+            c.freeRows.push(row);
+        }
+    }
+
+    // Cities and types are stored as codes into a per-load dictionary
+    private static int code(String value, List<String> names, Map<String, Integer> codes) {
+        if (value == null) {
+            return -1;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    // Hotel.distance is free text such as "2km from center" or "500 m"; NaN when it has no number
+    private static double parseDistanceKm(String distance) {
+        if (distance == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = DISTANCE.matcher(distance);
+        if (!matcher.find()) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        return "m".equalsIgnoreCase(matcher.group(2)) ? value / 1000 : value;
+    }
+}
@@ -1,19 +1,45 @@
 package com.yatranepal.api.service;
 
+import com.yatranepal.api.dto.HotelPriceBucket;
+import com.yatranepal.api.dto.HotelSearchResponse;
 import com.yatranepal.api.model.Hotel;
+import com.yatranepal.api.model.Room;
 import com.yatranepal.api.repository.HotelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class HotelService {
 
+    private static final int LOAD_BATCH = 1000;
+
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private HotelPriceService hotelPriceService;
+
+    @Autowired
+    private HotelPriceIndex hotelPriceIndex;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Value("${hotel-search.max-page-size:100}")
+    private int maxPageSize;
+
     public List<Hotel> getAllHotels() {
         return hotelRepository.findAll();
     }
@@ -22,17 +48,25 @@ public class HotelService {
         return hotelRepository.findById(id);
     }
 
+    @Transactional
     public Hotel createHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = saveWithDerivedPrice(hotel);
+        imageVariantService.pregenerate(savedHotel.getPhotos());
+        return savedHotel;
     }
 
+    @Transactional
     public Hotel updateHotel(Long id, Hotel hotel) {
         hotel.setId(id);
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = saveWithDerivedPrice(hotel);
+        imageVariantService.pregenerate(savedHotel.getPhotos());
+        return savedHotel;
     }
 
     public void deleteHotel(Long id) {
         hotelRepository.deleteById(id);
+        hotelPriceIndex.remove(id);
+        hotelSearchIndex.remove(id);
     }
 
     public List<Hotel> getHotelsByCity(String city) {
@@ -48,14 +82,104 @@ public class HotelService {
     }
 
     public List<Hotel> getHotelsByPriceRange(Double minPrice, Double maxPrice) {
-        return hotelRepository.findByPriceRange(minPrice, maxPrice);
+        return loadInOrder(hotelPriceIndex.findIds(null, minPrice, maxPrice, false));
+    }
+
+    // Served from the price index; type is checked on the loaded hotels
+    public List<Hotel> getHotelsByPrice(String city, String type, Double minPrice, Double maxPrice, boolean descending) {
+        List<Hotel> hotels = loadInOrder(hotelPriceIndex.findIds(city, minPrice, maxPrice, descending));
+        if (type != null) {
+            hotels.removeIf(hotel -> !type.equals(hotel.getType()));
+        }
+        return hotels;
+    }
+
+    // Versions of the indexes behind getHotelsByPrice and searchHotels, for their ETags
+    public CatalogVersionService.IndexVersion getPriceIndexVersion() {
+        return hotelPriceIndex.getVersion();
+    }
+
+    public CatalogVersionService.IndexVersion getSearchIndexVersion() {
+        return hotelSearchIndex.getVersion();
     }
 
     public List<Hotel> searchHotelsByName(String name) {
         return hotelRepository.findByNameContainingIgnoreCase(name);
     }
 
+    // Filters combine; sort is price, rating or distance, prefixed with - for descending
+    public HotelSearchIndex.Query toSearchQuery(List<String> cities, List<String> types, Double minPrice,
+                                                Double maxPrice, Double minRating, Boolean featured, String name,
+                                                String sort, int page, int size) {
+        if (page < 0) {
+            throw new RuntimeException("page must not be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new RuntimeException("size must be between 1 and " + maxPageSize);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new RuntimeException("minPrice must not exceed maxPrice");
+        }
+        HotelSearchIndex.SortField sortField = null;
+        boolean descending = false;
+        if (sort != null && !sort.isBlank()) {
+            descending = sort.startsWith("-");
+            String field = descending ? sort.substring(1) : sort;
+            try {
+                sortField = HotelSearchIndex.SortField.valueOf(field.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown sort: " + sort + ", expected price, rating or distance");
+            }
+        }
+        return new HotelSearchIndex.Query(cities, types, minPrice, maxPrice, minRating, featured, name, sortField,
+                descending, page, size);
+    }
+
+    public HotelSearchResponse searchHotels(HotelSearchIndex.Query query) {
+        HotelSearchIndex.Result result = hotelSearchIndex.search(query);
+
+        double[] bounds = hotelSearchIndex.getPriceBuckets();
+        List<HotelPriceBucket> prices = new ArrayList<>();
+        for (int bucket = 0; bucket <= bounds.length; bucket++) {
+            prices.add(new HotelPriceBucket(bucket > 0 ? bounds[bucket - 1] : null,
+                    bucket < bounds.length ? bounds[bucket] : null, result.priceCounts()[bucket]));
+        }
+        return new HotelSearchResponse(loadInOrder(result.ids()), result.total(), query.page(), query.size(),
+                result.cityCounts(), result.typeCounts(), prices);
+    }
+
     public List<Hotel> getHotelsByCityAndType(String city, String type) {
         return hotelRepository.findByCityAndType(city, type);
     }
+
+    // Rooms sent inline belong to this hotel. A hotel with rooms is listed at its cheapest room;
+    // one without keeps the price it was given.
+    private Hotel saveWithDerivedPrice(Hotel hotel) {
+        if (hotel.getRooms() != null) {
+            for (Room room : hotel.getRooms()) {
+                room.setHotel(hotel);
+            }
+        }
+        Hotel savedHotel = hotelRepository.save(hotel);
+        hotelPriceService.refresh(savedHotel.getId()).ifPresent(savedHotel::setCheapestPrice);
+        return savedHotel;
+    }
+
+    // Skips hotels deleted since the index last saw them
+    private List<Hotel> loadInOrder(List<Long> ids) {
+        Map<Long, Hotel> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH) {
+            for (Hotel hotel : hotelRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + LOAD_BATCH)))) {
+                byId.put(hotel.getId(), hotel);
+            }
+        }
+        List<Hotel> hotels = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Hotel hotel = byId.get(id);
+            if (hotel != null) {
+                hotels.add(hotel);
+            }
+        }
+        return hotels;
+    }
 }
@@ -0,0 +1,23 @@
+package com.yatranepal.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Keeps hotel_daily_stats in step with reservations. Only the nights named in the event are
+// recomputed, from the reservation tables rather than the event, so redelivery is harmless.
+@Component
+public class HotelStatsListener implements DomainEventListener<DomainEvent.ReservationStayChanged> {
+
+    @Autowired
+    private HotelStatsService hotelStatsService;
+
+    @Override
+    public Class<DomainEvent.ReservationStayChanged> eventType() {
+        return DomainEvent.ReservationStayChanged.class;
+    }
+
+    @Override
+    public void onEvent(DomainEvent.ReservationStayChanged event) {
+        hotelStatsService.refreshDays(event.hotelId(), event.dates());
+    }
+}
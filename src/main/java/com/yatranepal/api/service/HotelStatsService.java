@@ -0,0 +1,199 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.dto.HotelStatsPoint;
+import com.yatranepal.api.dto.HotelStatsResponse;
+import com.yatranepal.api.model.HotelDailyStat;
+import com.yatranepal.api.repository.HotelDailyStatRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Owner analytics read from hotel_daily_stats, one row per hotel and night, so a series costs
+// at most one row per day in range however many reservations the hotel has. The rows are kept
+// current by HotelStatsListener and rebuilt from scratch by the backfill.
+@Service
+public class HotelStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelStatsService.class);
+
+    @Autowired
+    private HotelDailyStatRepository hotelDailyStatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.max-range-days:3660}")
+    private long maxRangeDays;
+
+    @Value("${analytics.backfill-chunk-reservations:250000}")
+    private long backfillChunkReservations;
+
+    public enum BackfillState { IDLE, RUNNING, DONE, FAILED }
+
+    public record BackfillStatus(BackfillState state, long hotels, LocalDateTime startedAt,
+                                 LocalDateTime finishedAt, String error) {}
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hotel-stats-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<BackfillStatus> backfill =
+            new AtomicReference<>(new BackfillStatus(BackfillState.IDLE, 0, null, null, null));
+
+    @PreDestroy
+    public void stop() {
+        backfillExecutor.shutdownNow();
+    }
+
+    // Recomputes the given nights of one hotel from its reservations; safe to repeat
+    @Transactional
+    public void refreshDays(Long hotelId, Collection<LocalDate> days) {
+        TreeSet<LocalDate> distinct = new TreeSet<>();
+        days.stream().filter(Objects::nonNull).forEach(distinct::add);
+        if (hotelId == null || distinct.isEmpty()) {
+            return;
+        }
+        hotelDailyStatRepository.lockHotel(hotelId);
+        hotelDailyStatRepository.deleteDays(hotelId, distinct);
+        hotelDailyStatRepository.recomputeDays(hotelId, distinct);
+    }
+
+    // Starts a rebuild of every hotel's rows unless one is already running
+    public BackfillStatus startBackfill() {
+        BackfillStatus current = backfill.get();
+        if (current.state() == BackfillState.RUNNING) {
+            return current;
+        }
+        BackfillStatus started = new BackfillStatus(BackfillState.RUNNING, 0, LocalDateTime.now(), null, null);
+        if (!backfill.compareAndSet(current, started)) {
+            return backfill.get();
+        }
+        backfillExecutor.execute(() -> runBackfill(started.startedAt()));
+        return started;
+    }
+
+    public BackfillStatus getBackfillStatus() {
+        return backfill.get();
+    }
+
+    // Hotels are grouped into chunks of about backfill-chunk-reservations each, one transaction
+    // per chunk: every chunk scans reservation_dates once, and live refreshes only ever wait for
+    // the chunk holding their hotel
+    private void runBackfill(LocalDateTime startedAt) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long hotels = 0;
+        try {
+            List<HotelDailyStatRepository.HotelReservationCount> counts =
+                    transactionTemplate.execute(status -> hotelDailyStatRepository.countReservationsByHotel());
+            List<Long> chunk = new ArrayList<>();
+            long chunkReservations = 0;
+            for (int i = 0; i < counts.size() && !Thread.currentThread().isInterrupted(); i++) {
+                chunk.add(counts.get(i).getHotelId());
+                chunkReservations += counts.get(i).getReservations();
+                if (chunkReservations < backfillChunkReservations && i < counts.size() - 1) {
+                    continue;
+                }
+                List<Long> hotelIds = List.copyOf(chunk);
+                transactionTemplate.executeWithoutResult(status -> {
+                    hotelDailyStatRepository.lockHotels(hotelIds);
+                    hotelDailyStatRepository.deleteHotels(hotelIds);
+                    hotelDailyStatRepository.recomputeHotels(hotelIds);
+                });
+                hotels += hotelIds.size();
+                chunk.clear();
+                chunkReservations = 0;
+                backfill.set(new BackfillStatus(BackfillState.RUNNING, hotels, startedAt, null, null));
+            }
+            transactionTemplate.executeWithoutResult(status -> hotelDailyStatRepository.deleteOrphans());
+            backfill.set(new BackfillStatus(BackfillState.DONE, hotels, startedAt, LocalDateTime.now(), null));
+            log.info("Hotel stats backfill finished: {} hotels in {} ms", hotels,
+                    ChronoUnit.MILLIS.between(startedAt, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            backfill.set(new BackfillStatus(BackfillState.FAILED, hotels, startedAt, LocalDateTime.now(), e.getMessage()));
+            log.error("Hotel stats backfill failed after {} hotels", hotels, e);
+        }
+    }
+
+    public HotelStatsResponse getSeries(Long hotelId, LocalDate from, LocalDate to, String interval) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new RuntimeException("Range is limited to " + maxRangeDays + " days");
+        }
+        long capacity = hotelDailyStatRepository.countRoomsByHotelId(hotelId);
+        String unit = interval.toLowerCase(Locale.ROOT);
+        List<HotelStatsPoint> points = switch (unit) {
+            case "day" -> dailyPoints(hotelId, from, to, capacity);
+            case "month" -> monthlyPoints(hotelId, from, to, capacity);
+            default -> throw new RuntimeException("Unknown interval: " + interval + ", expected day or month");
+        };
+        return new HotelStatsResponse(hotelId, unit, from, to, capacity, points);
+    }
+
+    private List<HotelStatsPoint> dailyPoints(Long hotelId, LocalDate from, LocalDate to, long capacity) {
+        Map<LocalDate, HotelDailyStat> byDay = new HashMap<>();
+        for (HotelDailyStat stat : hotelDailyStatRepository.findByHotelIdAndDayBetweenOrderByDay(hotelId, from, to)) {
+            byDay.put(stat.getDay(), stat);
+        }
+        List<HotelStatsPoint> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HotelDailyStat stat = byDay.get(day);
+            points.add(stat == null
+                    ? point(day, 0, 0, 0, 0, 0, capacity, 1)
+                    : point(day, stat.getRoomNights(), stat.getConfirmedRoomNights(), stat.getRevenue(),
+                            stat.getArrivals(), stat.getCancellations(), capacity, 1));
+        }
+        return points;
+    }
+
+    // Months are clipped to the range, so a partial first or last month has fewer nights
+    private List<HotelStatsPoint> monthlyPoints(Long hotelId, LocalDate from, LocalDate to, long capacity) {
+        Map<LocalDate, HotelDailyStatRepository.MonthlyTotals> byMonth = new HashMap<>();
+        for (HotelDailyStatRepository.MonthlyTotals totals : hotelDailyStatRepository.findMonthlyTotals(hotelId, from, to)) {
+            byMonth.put(totals.getMonth(), totals);
+        }
+        List<HotelStatsPoint> points = new ArrayList<>();
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            LocalDate first = month.isBefore(from) ? from : month;
+            LocalDate last = month.plusMonths(1).minusDays(1);
+            long nights = ChronoUnit.DAYS.between(first, last.isAfter(to) ? to : last) + 1;
+            HotelDailyStatRepository.MonthlyTotals totals = byMonth.get(month);
+            points.add(totals == null
+                    ? point(first, 0, 0, 0, 0, 0, capacity, nights)
+                    : point(first, totals.getRoomNights(), totals.getConfirmedRoomNights(), totals.getRevenue(),
+                            totals.getArrivals(), totals.getCancellations(), capacity, nights));
+        }
+        return points;
+    }
+
+    private static HotelStatsPoint point(LocalDate period, long roomNights, long confirmedRoomNights, double revenue,
+                                         long arrivals, long cancellations, long capacity, long nights) {
+        Double occupancy = capacity > 0 ? (double) roomNights / (capacity * nights) : null;
+        Double cancellationRate = arrivals > 0 ? (double) cancellations / arrivals : null;
+        return new HotelStatsPoint(period, roomNights, confirmedRoomNights, occupancy,
+                Math.round(revenue * 100) / 100.0, arrivals, cancellations, cancellationRate);
+    }
+}
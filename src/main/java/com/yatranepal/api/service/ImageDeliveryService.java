@@ -0,0 +1,160 @@
+package com.yatranepal.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+@Service
+public class ImageDeliveryService {
+
+    // e.g. mountain1.3f9a1c0be2d47a15.jpg or mountain1-3f9a1c0be2d47a15.jpg
+    private static final Pattern CONTENT_HASHED_NAME = Pattern.compile(".*[.\\-_][0-9a-fA-F]{16,64}\\.[A-Za-z0-9]+$");
+
+    @Value("${images.cache.max-bytes:33554432}")
+    private long cacheMaxBytes;
+
+    @Value("${images.cache.max-entry-bytes:262144}")
+    private long cacheMaxEntryBytes;
+
+    private final Path root;
+    private final Path attachmentsDir;
+    private final Map<Path, ImageFile> metadata = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Path, CachedImage> hotImages = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReentrantLock hotImagesLock = new ReentrantLock();
+    private long hotBytes;
+    private final LongAdder hotHits = new LongAdder();
+    private final LongAdder hotMisses = new LongAdder();
+
+    @Autowired
+    public ImageDeliveryService(@Value("${file.upload-dir}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.attachmentsDir = root.resolve(LocalAttachmentStorage.DIRECTORY);
+    }
+
+    public record ImageFile(Path path, long size, long lastModified, String etag, String contentType, boolean immutable) {}
+
+    private record CachedImage(ImageFile image, ByteBuffer content) {}
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Resolves a path relative to the upload directory. Anything escaping it, anything under the
+    // private attachment store and anything that isn't an image is treated as missing.
+    public Optional<ImageFile> resolve(String relativePath) throws IOException {
+        String trimmed = relativePath.replaceFirst("^/+", "");
+        Path path = root.resolve(trimmed).normalize();
+        if (!path.startsWith(root) || path.startsWith(attachmentsDir) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        MediaType mediaType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (!"image".equals(mediaType.getType())) {
+            return Optional.empty();
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        ImageFile known = metadata.get(path);
+        if (known != null && known.size() == size && known.lastModified() == lastModified) {
+            return Optional.of(known);
+        }
+        boolean immutable = CONTENT_HASHED_NAME.matcher(path.getFileName().toString()).matches();
+        ImageFile image = new ImageFile(path, size, lastModified, etag(root.relativize(path), size, lastModified),
+                mediaType.toString(), immutable);
+        metadata.put(path, image);
+        return Optional.of(image);
+    }
+
+    // Small images are kept in direct buffers so hot requests skip the filesystem entirely
+    public Optional<ByteBuffer> cachedContent(ImageFile image) throws IOException {
+        if (image.size() > cacheMaxEntryBytes) {
+            return Optional.empty();
+        }
+        hotImagesLock.lock();
+        try {
+            CachedImage cached = hotImages.get(image.path());
+            if (cached != null && cached.image().equals(image)) {
+                hotHits.increment();
+                return Optional.of(cached.content().duplicate());
+            }
+        } finally {
+            hotImagesLock.unlock();
+        }
+        hotMisses.increment();
+
+        ByteBuffer content = ByteBuffer.allocateDirect((int) image.size());
+        try (FileChannel channel = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // keep reading
+            }
+        }
+        content.flip();
+
+        hotImagesLock.lock();
+        try {
+            CachedImage previous = hotImages.put(image.path(), new CachedImage(image, content));
+            if (previous != null) {
+                hotBytes -= previous.content().capacity();
+            }
+            hotBytes += content.capacity();
+            Iterator<CachedImage> eldest = hotImages.values().iterator();
+            while (hotBytes > cacheMaxBytes && eldest.hasNext()) {
+                hotBytes -= eldest.next().content().capacity();
+                eldest.remove();
+            }
+        } finally {
+            hotImagesLock.unlock();
+        }
+        return Optional.of(content.duplicate());
+    }
+
+    public CacheStats getCacheStats() {
+        int entries;
+        hotImagesLock.lock();
+        try {
+            entries = hotImages.size();
+        } finally {
+            hotImagesLock.unlock();
+        }
+        return new CacheStats("hot_images", hotHits.sum(), hotMisses.sum(), entries);
+    }
+
+    // From the metadata alone, so no request ever reads a whole file to answer; the path part keeps
+    // two files of the same size written in the same millisecond apart, variants are named after it
+    private static String etag(Path relativePath, long size, long lastModified) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] pathHash = digest.digest(relativePath.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + HexFormat.of().formatHex(pathHash, 0, 8) + "-" + Long.toHexString(lastModified)
+                + "-" + Long.toHexString(size) + "\"";
+    }
+}
@@ -4,9 +4,17 @@ import com.yatranepal.api.model.ImageSlider;
 import com.yatranepal.api.repository.ImageSliderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class ImageSliderService {
@@ -14,6 +22,17 @@ public class ImageSliderService {
     @Autowired
     private ImageSliderRepository imageSliderRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    // Slider id -> image, so serving the home-page carousel does not query the database
+    private final Map<Long, ImageSlider> sliderImages = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that started before one is not cached, since it may have
+    // read the row as it was before the change being evicted for
+    private final AtomicLong evictions = new AtomicLong();
+    private final LongAdder sliderHits = new LongAdder();
+    private final LongAdder sliderMisses = new LongAdder();
+
     public List<ImageSlider> getAllImageSliders() {
         return imageSliderRepository.findAllOrderByCreatedAtDesc();
     }
@@ -23,16 +42,54 @@ public class ImageSliderService {
     }
 
     public ImageSlider createImageSlider(ImageSlider imageSlider) {
-        return imageSliderRepository.save(imageSlider);
+        ImageSlider savedSlider = imageSliderRepository.save(imageSlider);
+        imageVariantService.pregenerate(Collections.singletonList(savedSlider.getImagePath()));
+        return savedSlider;
     }
 
+    @Transactional
     public ImageSlider updateImageSlider(Long id, ImageSlider imageSlider) {
         imageSlider.setId(id);
-        return imageSliderRepository.save(imageSlider);
+        ImageSlider savedSlider = imageSliderRepository.save(imageSlider);
+        evictAfterCommit(id);
+        imageVariantService.pregenerate(Collections.singletonList(savedSlider.getImagePath()));
+        return savedSlider;
     }
 
+    @Transactional
     public void deleteImageSlider(Long id) {
         imageSliderRepository.deleteById(id);
+        evictAfterCommit(id);
+    }
+
+    // Evicting before the commit would let a concurrent read cache the old row again
+    private void evictAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictions.incrementAndGet();
+                sliderImages.remove(id);
+            }
+        });
+    }
+
+    public Optional<ImageSlider> getSliderImage(Long id) {
+        ImageSlider cached = sliderImages.get(id);
+        if (cached != null) {
+            sliderHits.increment();
+            return Optional.of(cached);
+        }
+        sliderMisses.increment();
+        long evictionsBefore = evictions.get();
+        Optional<ImageSlider> slider = imageSliderRepository.findById(id);
+        // Checked under the key's lock, so an eviction either prevents the put or removes it after
+        slider.ifPresent(s -> sliderImages.compute(id, (key, current) ->
+                evictions.get() == evictionsBefore ? s : current));
+        return slider;
+    }
+
+    public CacheStats getCacheStats() {
+        return new CacheStats("slider_images", sliderHits.sum(), sliderMisses.sum(), sliderImages.size());
     }
 
     public List<ImageSlider> searchImageSlidersByName(String name) {
@@ -0,0 +1,244 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resized copies of uploaded PNG and JPEG images (thumb/medium/large), generated on a bounded
+// worker pool and cached under <upload-dir>/variants with names derived from the source's ETag, so
+// a replaced source gets new variants. Other formats are always served as uploaded.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final int[] WIDTHS = {160, 640, 1280};
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Autowired
+    private ImageDeliveryService imageDeliveryService;
+
+    @Value("${images.variants.wait-ms:5000}")
+    private long waitMs;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(@Value("${images.variants.threads:2}") int threads,
+                               @Value("${images.variants.queue-size:64}") int queueSize) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Picks the smallest variant at least as wide as requested. Missing variants are generated
+    // now, with concurrent requests for the same variant sharing one job; if that takes too long
+    // or the pool is saturated the original is served instead.
+    public ImageFile select(ImageFile original, Integer requestedWidth) throws IOException {
+        if (requestedWidth == null || requestedWidth <= 0 || !hasVariants(original)) {
+            return original;
+        }
+        int width = variantWidth(requestedWidth);
+        if (width == 0) {
+            return original;
+        }
+        String variantPath = variantPath(original, width);
+        Optional<ImageFile> existing = imageDeliveryService.resolve(variantPath);
+        if (existing.isPresent()) {
+            return servedAs(existing.get(), original);
+        }
+        try {
+            if (generate(original, width, variantPath).get(waitMs, TimeUnit.MILLISECONDS)) {
+                Optional<ImageFile> generated = imageDeliveryService.resolve(variantPath);
+                if (generated.isPresent()) {
+                    return servedAs(generated.get(), original);
+                }
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            log.debug("Serving original for {}: {}", variantPath, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return original;
+    }
+
+    // Queues every variant of the given images, e.g. right after an entity with photos is saved
+    public void pregenerate(Collection<String> imagePaths) {
+        if (imagePaths == null) {
+            return;
+        }
+        for (String imagePath : imagePaths) {
+            if (imagePath == null || imagePath.startsWith("http://") || imagePath.startsWith("https://")) {
+                continue;
+            }
+            try {
+                Optional<ImageFile> original = imageDeliveryService.resolve(imagePath);
+                if (original.isEmpty() || !hasVariants(original.get())) {
+                    continue;
+                }
+                for (int width : WIDTHS) {
+                    String variantPath = variantPath(original.get(), width);
+                    if (imageDeliveryService.resolve(variantPath).isEmpty()) {
+                        generate(original.get(), width, variantPath);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not queue variants for {}: {}", imagePath, e.getMessage());
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> generate(ImageFile original, int width, String variantPath) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(variantPath, future);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(resize(original, width, imageDeliveryService.getRoot().resolve(variantPath)));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(variantPath, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(variantPath, future);
+            future.complete(false);
+        }
+        return future;
+    }
+
+    private boolean resize(ImageFile original, int width, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant", ".tmp");
+        try {
+            BufferedImage source = ImageIO.read(original.path().toFile());
+            if (source == null) {
+                return false;
+            }
+            if (source.getWidth() <= width) {
+                // Never upscale; the variant is just a copy so later lookups hit the cache
+                Files.copy(original.path(), temp, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                boolean png = isPng(original);
+                BufferedImage scaled = scale(source, width, png);
+                if (png) {
+                    ImageIO.write(scaled, "png", temp.toFile());
+                } else {
+                    writeJpeg(scaled, temp);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Halves repeatedly before the final bilinear step, which keeps large reductions sharp
+    private static BufferedImage scale(BufferedImage source, int width, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = nextWidth == width ? targetHeight : Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            g.dispose();
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // The variant answers the original's URL, so only an immutable original makes it immutable
+    private static ImageFile servedAs(ImageFile variant, ImageFile original) {
+        return new ImageFile(variant.path(), variant.size(), variant.lastModified(), variant.etag(),
+                variant.contentType(), original.immutable());
+    }
+
+    private static int variantWidth(int requestedWidth) {
+        for (int width : WIDTHS) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return 0;
+    }
+
+    // Variants keep the original's format, and only these two are written
+    private static boolean hasVariants(ImageFile image) {
+        return isPng(image) || "image/jpeg".equals(image.contentType());
+    }
+
+    private static boolean isPng(ImageFile image) {
+        return "image/png".equals(image.contentType());
+    }
+
+    // Content-addressed: a changed source gets a new ETag and therefore new variant names
+    private static String variantPath(ImageFile original, int width) {
+        String hash = original.etag().replace("\"", "");
+        return "variants/w" + width + "-" + hash + (isPng(original) ? ".png" : ".jpg");
+    }
+}
@@ -0,0 +1,51 @@
+package com.yatranepal.api.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-bucket latency histogram, cheap enough to update on every call: one atomic increment
+// per bucket hit plus an adder. Bucket bounds follow the usual Prometheus defaults.
+public final class LatencyHistogram {
+
+    private static final double[] BOUNDS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_SECONDS.length + 1);
+    private final LongAdder sumNanos = new LongAdder();
+
+    public record Snapshot(double[] boundsSeconds, long[] cumulativeCounts, long count, double sumSeconds) {
+
+        // Upper bound of the bucket holding the given quantile; +Inf lands on the largest bound
+        public double quantile(double q) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(q * count);
+            for (int i = 0; i < boundsSeconds.length; i++) {
+                if (cumulativeCounts[i] >= rank) {
+                    return boundsSeconds[i];
+                }
+            }
+            return boundsSeconds[boundsSeconds.length - 1];
+        }
+    }
+
+    public void record(long nanos) {
+        double seconds = nanos / 1e9;
+        int bucket = 0;
+        while (bucket < BOUNDS_SECONDS.length && seconds > BOUNDS_SECONDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        sumNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] cumulative = new long[buckets.length()];
+        long running = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            running += buckets.get(i);
+            cumulative[i] = running;
+        }
+        return new Snapshot(BOUNDS_SECONDS.clone(), cumulative, running, sumNanos.sum() / 1e9);
+    }
+}
@@ -0,0 +1,117 @@
+package com.yatranepal.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class LocalAttachmentStorage implements AttachmentStorage {
+
+    // Under file.upload-dir, which /images serves; ImageDeliveryService keeps requests out of it
+    public static final String DIRECTORY = "attachments";
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path partsDir;
+    private final Path contentDir;
+
+    @Autowired
+    public LocalAttachmentStorage(@Value("${file.upload-dir}") String uploadDir) {
+        this(Paths.get(uploadDir, DIRECTORY));
+    }
+
+    public LocalAttachmentStorage(Path root) {
+        this.partsDir = root.resolve("parts");
+        this.contentDir = root.resolve("content");
+        try {
+            Files.createDirectories(partsDir);
+            Files.createDirectories(contentDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment directories under " + root, e);
+        }
+    }
+
+    @Override
+    public FileChannel openUpload(String uploadId) throws IOException {
+        return FileChannel.open(partPath(uploadId), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public List<String> uploadsIdleSince(Instant cutoff) throws IOException {
+        List<String> idle = new ArrayList<>();
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(partsDir, "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                try {
+                    if (Files.getLastModifiedTime(part).toInstant().isBefore(cutoff)) {
+                        String name = part.getFileName().toString();
+                        idle.add(name.substring(0, name.length() - PART_SUFFIX.length()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // Completed or cancelled while listing
+                }
+            }
+        }
+        return idle;
+    }
+
+    @Override
+    public void discardUpload(String uploadId) throws IOException {
+        Files.deleteIfExists(partPath(uploadId));
+    }
+
+    @Override
+    public boolean promote(String uploadId, String contentHash) throws IOException {
+        Path target = contentPath(contentHash);
+        if (Files.exists(target)) {
+            discardUpload(uploadId);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(partPath(uploadId), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            discardUpload(uploadId);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(String contentHash) {
+        return Files.exists(contentPath(contentHash));
+    }
+
+    @Override
+    public FileChannel openContent(String contentHash) throws IOException {
+        return FileChannel.open(contentPath(contentHash), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Path localPath(String contentHash) {
+        return contentPath(contentHash);
+    }
+
+    private Path partPath(String uploadId) {
+        return partsDir.resolve(uploadId + PART_SUFFIX);
+    }
+
+    // Shard by the first byte of the hash to keep directories small
+    private Path contentPath(String contentHash) {
+        return contentDir.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yatranepal.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory buckets. Each bucket is a single AtomicLong holding the time at which it will be full
+// again (GCRA), so acquiring is one CAS with no lock and no refill thread. A bucket whose
+// full-again time has passed is indistinguishable from a new one, so the sweep drops it without
+// changing any limit.
+@Component
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final int maxKeys;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public LocalRateLimitBackend(@Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public long tryAcquire(String key, int capacity, double refillPerSecond) {
+        long now = System.nanoTime();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        long burst = interval * capacity;
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > burst) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - now - burst));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:30000}")
+    public void sweep() {
+        evict(System.nanoTime());
+    }
+
+    // Drops full buckets first. If the map is still at its limit (many distinct IPs at once) it
+    // drops arbitrary ones: those keys get a fresh burst, which beats growing without bound.
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+            Iterator<AtomicLong> iterator = buckets.values().iterator();
+            int excess = buckets.size() - maxKeys * 9 / 10;
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
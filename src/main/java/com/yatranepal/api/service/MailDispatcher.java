@@ -0,0 +1,317 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.MailOutbox;
+import com.yatranepal.api.model.MailOutbox.MailStatus;
+import com.yatranepal.api.model.MailOutbox.MailType;
+import com.yatranepal.api.repository.MailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Drains mail_outbox. Each worker claims a batch with SELECT ... FOR UPDATE SKIP LOCKED, leases it
+// by marking it SENDING, and hands the whole batch to a single JavaMailSender.send call so one SMTP
+// connection carries every message. Workers are platform threads: JavaMail holds monitors during
+// socket I/O.
+@Service
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Lazy
+    private PasswordResetService passwordResetService;
+
+    @Value("${mail.dispatch-enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.from:no-reply@yatranepal.com}")
+    private String from;
+
+    @Value("${mail.reset-password-url:http://localhost:3000/reset-password}")
+    private String resetPasswordUrl;
+
+    @Value("${mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    @Value("${mail.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    @Value("${mail.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${mail.retention-hours:168}")
+    private long retentionHours;
+
+    public record MailStats(long pending, long failedPermanently, long enqueued, long sent, long failedAttempts,
+                            LatencyHistogram.Snapshot batchLatency) {}
+
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore idleWorkers;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+
+    public MailDispatcher(PlatformTransactionManager transactionManager,
+                          @Value("${mail.workers:2}") int workerCount) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount), runnable -> {
+                    Thread thread = new Thread(runnable, "mail-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.idleWorkers = new Semaphore(workerCount);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        // Anything still unsent keeps its lease and is picked up again after a restart
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void recordEnqueued() {
+        enqueued.increment();
+    }
+
+    // Only claims as many batches as there are idle workers, so rows are never leased just to sit
+    // in a local queue
+    @Scheduled(fixedDelayString = "${mail.dispatch-interval-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        while (idleWorkers.tryAcquire()) {
+            List<MailOutbox> batch;
+            try {
+                batch = claim();
+            } catch (RuntimeException e) {
+                idleWorkers.release();
+                log.warn("Could not claim mail batch: {}", e.getMessage());
+                return;
+            }
+            if (batch.isEmpty()) {
+                idleWorkers.release();
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        send(batch);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                idleWorkers.release(); // Shutting down; the lease expires and another node takes over
+                return;
+            }
+        }
+    }
+
+    public MailStats getStats() {
+        return new MailStats(mailOutboxRepository.countByStatus(MailStatus.PENDING),
+                mailOutboxRepository.countByStatus(MailStatus.FAILED),
+                enqueued.sum(), sent.sum(), failedAttempts.sum(), batchLatency.snapshot());
+    }
+
+    @Scheduled(fixedDelayString = "${mail.retention-sweep-interval-ms:3600000}")
+    public void purgeFinished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    mailOutboxRepository.deleteFinishedChunk(before, 1000));
+        } while (deleted != null && deleted == 1000);
+    }
+
+    private List<MailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MailOutbox> batch = mailOutboxRepository.lockDue(now, batchSize);
+            for (MailOutbox mail : batch) {
+                mail.setStatus(MailStatus.SENDING);
+                mail.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+            }
+            return batch;
+        });
+    }
+
+    private void send(List<MailOutbox> batch) {
+        Map<MimeMessage, MailOutbox> messages = new IdentityHashMap<>();
+        Map<Long, Exception> failures = new HashMap<>();
+        Set<Long> permanent = new HashSet<>();
+        for (MailOutbox mail : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(from);
+                helper.setTo(mail.getRecipient());
+                helper.setSubject(mail.getSubject());
+                helper.setText(render(mail));
+                messages.put(message, mail);
+            } catch (MessagingException e) {
+                // A message that cannot be built will not build next time either
+                failures.put(mail.getId(), e);
+                permanent.add(mail.getId());
+            } catch (RuntimeException e) {
+                failures.put(mail.getId(), e);
+            }
+        }
+
+        long start = System.nanoTime();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Per-message failures, or every message when the connection itself failed
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                if (failedMessages.isEmpty()) {
+                    messages.values().forEach(mail -> failures.put(mail.getId(), e));
+                } else {
+                    failedMessages.forEach((message, cause) -> {
+                        MailOutbox mail = messages.get(message);
+                        if (mail != null) {
+                            failures.put(mail.getId(), cause);
+                            if (isRejected(cause)) {
+                                permanent.add(mail.getId());
+                            }
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail.getId(), e));
+            }
+        }
+        batchLatency.record(System.nanoTime() - start);
+
+        try {
+            recordResults(batch, failures, permanent);
+        } catch (RuntimeException e) {
+            // The lease expires and the batch is retried; recipients may get a duplicate
+            log.error("Could not record results of mail batch: {}", e.getMessage());
+        }
+    }
+
+    private void recordResults(List<MailOutbox> batch, Map<Long, Exception> failures, Set<Long> permanent) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, MailOutbox> rows = mailOutboxRepository.findAllById(
+                    batch.stream().map(MailOutbox::getId).collect(Collectors.toList()))
+                    .stream().collect(Collectors.toMap(MailOutbox::getId, Function.identity()));
+            for (MailOutbox mail : rows.values()) {
+                mail.setAttempts(mail.getAttempts() + 1);
+                Exception failure = failures.get(mail.getId());
+                if (failure == null) {
+                    mail.setStatus(MailStatus.SENT);
+                    mail.setSentAt(now);
+                    mail.setLastError(null);
+                    sent.increment();
+                    continue;
+                }
+                failedAttempts.increment();
+                mail.setLastError(truncate(failure.getMessage()));
+                if (permanent.contains(mail.getId()) || mail.getAttempts() >= maxAttempts) {
+                    mail.setStatus(MailStatus.FAILED);
+                    log.warn("Giving up on mail {} to {} after {} attempts: {}",
+                            mail.getId(), mail.getRecipient(), mail.getAttempts(), failure.getMessage());
+                } else {
+                    mail.setStatus(MailStatus.PENDING);
+                    mail.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs(mail.getAttempts()))));
+                }
+            }
+        });
+    }
+
+    // Reset mail gets its token only now, so the plaintext is never stored; a retry issues a new
+    // one, which replaces the token of any earlier attempt
+    private String render(MailOutbox mail) throws MessagingException {
+        if (mail.getType() != MailType.PASSWORD_RESET || !mail.getBody().contains(MailService.RESET_LINK)) {
+            return mail.getBody();
+        }
+        String token = passwordResetService.issueToken(mail.getRecipient())
+                .orElseThrow(() -> new MessagingException("No account has this address any more"));
+        return mail.getBody().replace(MailService.RESET_LINK, resetPasswordUrl + "?token=" + token);
+    }
+
+    // A 5xx reply anywhere in the chain; 4xx replies and connection trouble are worth retrying
+    private static boolean isRejected(Exception failure) {
+        for (Exception e = failure; e != null; e = e instanceof MessagingException m ? m.getNextException() : null) {
+            int code = 0;
+            if (e instanceof SMTPAddressFailedException address) {
+                code = address.getReturnCode();
+            } else if (e instanceof SMTPSenderFailedException sender) {
+                code = sender.getReturnCode();
+            } else if (e instanceof SMTPSendFailedException send) {
+                code = send.getReturnCode();
+            }
+            if (code >= 500) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Exponential with jitter in [50%, 100%] of the step
+    private long backoffMs(int attempts) {
+        long step = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,78 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.Hotel;
+import com.yatranepal.api.model.MailOutbox;
+import com.yatranepal.api.model.MailOutbox.MailType;
+import com.yatranepal.api.model.Reservation;
+import com.yatranepal.api.model.User;
+import com.yatranepal.api.repository.HotelRepository;
+import com.yatranepal.api.repository.MailOutboxRepository;
+import com.yatranepal.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Mail is never sent inline: these methods only insert into mail_outbox, inside the caller's
+// transaction, so a mail exists exactly when the change that triggered it was committed.
+// MailDispatcher delivers it afterwards.
+@Service
+public class MailService {
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    // Stands in for the reset link until MailDispatcher issues the token and renders it at send time
+    public static final String RESET_LINK = "{reset-link}";
+
+    @Transactional
+    public MailOutbox enqueue(String recipient, String subject, String body, MailType type) {
+        MailOutbox mail = mailOutboxRepository.save(new MailOutbox(recipient, subject, body, type));
+        mailDispatcher.recordEnqueued();
+        return mail;
+    }
+
+    @Transactional
+    public void enqueuePasswordReset(User user, long validMinutes) {
+        String body = "Hello " + user.getUsername() + ",\n\n"
+                + "We received a request to reset your YatraNepal password. Use the link below within "
+                + validMinutes + " minutes:\n\n"
+                + RESET_LINK + "\n\n"
+                + "If you did not ask for this, you can ignore this email.";
+        enqueue(user.getEmail(), "Reset your YatraNepal password", body, MailType.PASSWORD_RESET);
+    }
+
+    @Transactional
+    public void enqueueReservationConfirmed(Reservation reservation) {
+        enqueueReservationMail(reservation, MailType.RESERVATION_CONFIRMED, "Your reservation is confirmed",
+                "Your reservation #" + reservation.getId() + " at {hotel} is confirmed for " + reservation.getDates() + ".");
+    }
+
+    @Transactional
+    public void enqueueReservationCancelled(Reservation reservation) {
+        enqueueReservationMail(reservation, MailType.RESERVATION_CANCELLED, "Your reservation was cancelled",
+                "Your reservation #" + reservation.getId() + " at {hotel} has been cancelled.");
+    }
+
+    private void enqueueReservationMail(Reservation reservation, MailType type, String subject, String sentence) {
+        Optional<User> user = userRepository.findById(reservation.getUserId());
+        if (user.isEmpty() || user.get().getEmail() == null) {
+            return;
+        }
+        String hotelName = hotelRepository.findById(reservation.getHotelId()).map(Hotel::getName).orElse("your hotel");
+        String body = "Hello " + user.get().getUsername() + ",\n\n"
+                + sentence.replace("{hotel}", hotelName) + "\n\n"
+                + "Thank you for travelling with YatraNepal.";
+        enqueue(user.get().getEmail(), subject, body, type);
+    }
+}
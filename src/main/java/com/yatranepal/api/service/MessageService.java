@@ -4,6 +4,7 @@ import com.yatranepal.api.model.Message;
 import com.yatranepal.api.repository.MessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +15,9 @@ public class MessageService {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     public List<Message> getAllMessages() {
         return messageRepository.findAll();
     }
@@ -22,8 +26,11 @@ public class MessageService {
         return messageRepository.findById(id);
     }
 
+    @Transactional
     public Message createMessage(Message message) {
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        domainEventPublisher.publish(new DomainEvent.MessagePosted(saved.getId(), saved.getChatId(), saved.getSenderId()));
+        return saved;
     }
 
     public Message updateMessage(Long id, Message message) {
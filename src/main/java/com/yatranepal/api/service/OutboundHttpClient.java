@@ -0,0 +1,275 @@
+package com.yatranepal.api.service;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Shared outbound HTTP layer. All upstreams share one Reactor Netty connection pool; each named
+// upstream (settings under outbound.<name>.*, falling back to outbound.default.*) gets its own
+// timeouts, bulkhead, circuit breaker, retry budget and latency histogram.
+@Service
+public class OutboundHttpClient {
+
+    @Autowired
+    private Environment environment;
+
+    private final ConnectionProvider connectionProvider;
+    private final int maxInMemoryBytes;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public record UpstreamStats(String name, String circuitState, int inFlight, long successes, long failures,
+                                long rejected, long retries, LatencyHistogram.Snapshot latency) {}
+
+    public OutboundHttpClient(@Value("${outbound.max-connections:200}") int maxConnections,
+                              @Value("${outbound.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+                              @Value("${outbound.max-idle-time-ms:30000}") long maxIdleTimeMs,
+                              @Value("${outbound.max-in-memory-bytes:8388608}") int maxInMemoryBytes) {
+        this.connectionProvider = ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .build();
+        this.maxInMemoryBytes = maxInMemoryBytes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    public Mono<byte[]> getBytes(String upstream, String uri) {
+        return execute(upstream, true, client -> client.get().uri(uri).retrieve().bodyToMono(byte[].class));
+    }
+
+    // Runs one logical call. Retries only happen for idempotent calls, on connection errors,
+    // timeouts and 5xx, and only while the upstream's retry budget has tokens left.
+    public <T> Mono<T> execute(String upstreamName, boolean idempotent, Function<WebClient, Mono<T>> call) {
+        Upstream upstream = upstreams.computeIfAbsent(upstreamName, this::createUpstream);
+        Mono<T> attempt = Mono.defer(() -> upstream.attempt(call));
+        Mono<T> withRetries = !idempotent || upstream.maxRetries == 0 ? attempt
+                : attempt.retryWhen(Retry.backoff(upstream.maxRetries, upstream.retryBackoff)
+                        .jitter(0.5)
+                        .filter(e -> isRetryable(e) && upstream.retryBudget.tryWithdraw())
+                        .doBeforeRetry(signal -> upstream.retries.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        return withRetries.doOnSubscribe(subscription -> upstream.retryBudget.deposit());
+    }
+
+    public List<UpstreamStats> getUpstreamStats() {
+        List<UpstreamStats> stats = new ArrayList<>();
+        for (Upstream upstream : upstreams.values()) {
+            stats.add(new UpstreamStats(upstream.name, upstream.circuitBreaker.state().name(),
+                    upstream.maxConcurrent - upstream.bulkhead.availablePermits(),
+                    upstream.successes.sum(), upstream.failures.sum(), upstream.rejected.sum(),
+                    upstream.retries.sum(), upstream.latency.snapshot()));
+        }
+        return stats;
+    }
+
+    private Upstream createUpstream(String name) {
+        long connectTimeoutMs = setting(name, "connect-timeout-ms", 2000L);
+        long responseTimeoutMs = setting(name, "response-timeout-ms", 5000L);
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemoryBytes))
+                .build();
+        return new Upstream(name, webClient,
+                // Overall cap per attempt, covering connection acquisition as well as the response
+                Duration.ofMillis(connectTimeoutMs + responseTimeoutMs),
+                setting(name, "max-concurrent", 20L).intValue(),
+                setting(name, "max-retries", 2L).intValue(),
+                Duration.ofMillis(setting(name, "retry-backoff-ms", 100L)),
+                new RetryBudget(setting(name, "retry-budget-ratio", 0.2)),
+                new CircuitBreaker(setting(name, "failure-threshold", 5L).intValue(),
+                        setting(name, "open-duration-ms", 30000L)));
+    }
+
+    private <T extends Number> T setting(String upstream, String key, T fallback) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) fallback.getClass();
+        T defaultValue = environment.getProperty("outbound.default." + key, type, fallback);
+        return environment.getProperty("outbound." + upstream + "." + key, type, defaultValue);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    // 4xx responses mean the upstream is healthy, so they don't count against the circuit
+    private static boolean isUpstreamFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException response) || response.getStatusCode().is5xxServerError();
+    }
+
+    private static final class Upstream {
+        final String name;
+        final WebClient webClient;
+        final Duration timeout;
+        final int maxConcurrent;
+        final Semaphore bulkhead;
+        final int maxRetries;
+        final Duration retryBackoff;
+        final RetryBudget retryBudget;
+        final CircuitBreaker circuitBreaker;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder successes = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder retries = new LongAdder();
+
+        Upstream(String name, WebClient webClient, Duration timeout, int maxConcurrent, int maxRetries,
+                 Duration retryBackoff, RetryBudget retryBudget, CircuitBreaker circuitBreaker) {
+            this.name = name;
+            this.webClient = webClient;
+            this.timeout = timeout;
+            this.maxConcurrent = maxConcurrent;
+            this.bulkhead = new Semaphore(maxConcurrent);
+            this.maxRetries = maxRetries;
+            this.retryBackoff = retryBackoff;
+            this.retryBudget = retryBudget;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        <T> Mono<T> attempt(Function<WebClient, Mono<T>> call) {
+            if (!bulkhead.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new OutboundHttpException(name + ": too many concurrent calls"));
+            }
+            if (!circuitBreaker.allowRequest()) {
+                bulkhead.release();
+                rejected.increment();
+                return Mono.error(new OutboundHttpException(name + ": circuit open"));
+            }
+            long start = System.nanoTime();
+            return call.apply(webClient)
+                    .timeout(timeout)
+                    .doOnSuccess(result -> {
+                        successes.increment();
+                        circuitBreaker.recordSuccess();
+                    })
+                    .doOnError(e -> {
+                        failures.increment();
+                        if (isUpstreamFailure(e)) {
+                            circuitBreaker.recordFailure();
+                        } else {
+                            circuitBreaker.recordSuccess();
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            circuitBreaker.recordCancel();
+                        }
+                        latency.record(System.nanoTime() - start);
+                        bulkhead.release();
+                    });
+        }
+    }
+
+    enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    // Opens after failureThreshold consecutive failures; after openDurationMs a single trial
+    // call decides between closing again and another open period.
+    static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openDurationMs;
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, long openDurationMs) {
+            this.failureThreshold = failureThreshold;
+            this.openDurationMs = openDurationMs;
+        }
+
+        synchronized boolean allowRequest() {
+            if (state == CircuitState.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+                state = CircuitState.HALF_OPEN;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+            }
+            return state == CircuitState.CLOSED;
+        }
+
+        synchronized void recordSuccess() {
+            state = CircuitState.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        synchronized void recordFailure() {
+            consecutiveFailures++;
+            if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = CircuitState.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+            trialInFlight = false;
+        }
+
+        synchronized void recordCancel() {
+            trialInFlight = false;
+        }
+
+        synchronized CircuitState state() {
+            return state;
+        }
+    }
+
+    // Every call earns `ratio` of a retry, so retries stay a bounded fraction of traffic and
+    // can't multiply load on an upstream that is already struggling.
+    static final class RetryBudget {
+        private static final double MAX_TOKENS = 10;
+
+        private final double ratio;
+        private double tokens = MAX_TOKENS;
+
+        RetryBudget(double ratio) {
+            this.ratio = ratio;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(MAX_TOKENS, tokens + ratio);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
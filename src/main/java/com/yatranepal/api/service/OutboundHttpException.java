@@ -0,0 +1,11 @@
+package com.yatranepal.api.service;
+
+// Raised by OutboundHttpClient when a call is refused locally (open circuit, full bulkhead)
+public class OutboundHttpException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OutboundHttpException(String message) {
+        super(message);
+    }
+}
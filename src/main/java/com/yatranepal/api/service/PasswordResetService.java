@@ -0,0 +1,166 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.PasswordResetToken;
+import com.yatranepal.api.model.User;
+import com.yatranepal.api.repository.PasswordResetTokenRepository;
+import com.yatranepal.api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Reset tokens are random 256-bit values; only their SHA-256 is stored, keyed by that hash, so
+// every lookup is a primary-key hit. Validated tokens are cached until they expire or are replaced.
+// A token is issued only when MailDispatcher sends the reset mail, so the plaintext exists in
+// that message alone and never in mail_outbox.
+@Service
+public class PasswordResetService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordResetService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${password-reset.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${password-reset.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${password-reset.sweep-chunk-size:500}")
+    private int sweepChunkSize;
+
+    private final TransactionTemplate transactionTemplate;
+    // token hash -> expiry
+    private final Map<String, LocalDateTime> validTokens = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public PasswordResetService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Unknown emails are silently ignored so the endpoint can't be used to probe for accounts
+    @Transactional
+    public void requestReset(String email) {
+        Optional<User> user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            return;
+        }
+        mailService.enqueuePasswordReset(user.get(), ttlMinutes);
+    }
+
+    // Replaces the account's outstanding tokens with a fresh one and returns its plaintext; empty
+    // when no account has the email any more
+    @Transactional
+    public Optional<String> issueToken(String email) {
+        Optional<User> user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+
+        passwordResetTokenRepository.findTokenHashesByUserId(user.get().getId()).forEach(validTokens::remove);
+        passwordResetTokenRepository.deleteByUserId(user.get().getId());
+        passwordResetTokenRepository.save(new PasswordResetToken(hash(token), user.get().getId(), expiresAt));
+        return Optional.of(token);
+    }
+
+    public boolean isValid(String token) {
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cachedExpiry = validTokens.get(tokenHash);
+        if (cachedExpiry != null) {
+            cacheHits.increment();
+            if (cachedExpiry.isAfter(now)) {
+                return true;
+            }
+            validTokens.remove(tokenHash, cachedExpiry);
+            return false;
+        }
+        cacheMisses.increment();
+        Optional<PasswordResetToken> stored = passwordResetTokenRepository.findById(tokenHash);
+        if (stored.isEmpty() || !stored.get().getExpiresAt().isAfter(now)) {
+            return false;
+        }
+        if (validTokens.size() < cacheMaxEntries) {
+            validTokens.put(tokenHash, stored.get().getExpiresAt());
+        }
+        return true;
+    }
+
+    public CacheStats getCacheStats() {
+        return new CacheStats("password_reset_tokens", cacheHits.sum(), cacheMisses.sum(), validTokens.size());
+    }
+
+    // The cache is only an accelerator for isValid; the reset itself always goes to the
+    // database, where the delete-and-update statement is the single source of truth
+    @Transactional
+    public void resetPassword(String token, String newPassword) {
+        String tokenHash = hash(token);
+        validTokens.remove(tokenHash);
+        int updated = passwordResetTokenRepository.consume(tokenHash, passwordEncoder.encode(newPassword), LocalDateTime.now());
+        if (updated == 0) {
+            throw new RuntimeException("Invalid or expired reset token");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${password-reset.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        validTokens.values().removeIf(expiry -> !expiry.isAfter(now));
+        int total = 0;
+        int deleted;
+        do {
+            // One short transaction per chunk
+            Integer chunk = transactionTemplate.execute(status ->
+                    passwordResetTokenRepository.deleteExpiredChunk(now, sweepChunkSize));
+            deleted = chunk != null ? chunk : 0;
+            total += deleted;
+        } while (deleted == sweepChunkSize);
+        if (total > 0) {
+            log.info("Removed {} expired password reset tokens", total);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.yatranepal.api.repository.PlaceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,9 @@ public class PlaceService {
     @Autowired
     private PlaceRepository placeRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     public List<Place> getAllPlaces() {
         return placeRepository.findAll();
     }
@@ -23,12 +27,16 @@ public class PlaceService {
     }
 
     public Place createPlace(Place place) {
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        imageVariantService.pregenerate(Collections.singletonList(savedPlace.getImg()));
+        return savedPlace;
     }
 
     public Place updatePlace(Long id, Place place) {
         place.setId(id);
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        imageVariantService.pregenerate(Collections.singletonList(savedPlace.getImg()));
+        return savedPlace;
     }
 
     public void deletePlace(Long id) {
@@ -0,0 +1,264 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.dto.ChatPresenceResponse;
+import com.yatranepal.api.model.Chat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Online/typing state lives only in memory: lock-striped maps expired by a timing wheel,
+// so the heartbeat path never reaches the database.
+@Service
+public class PresenceService {
+
+    private static final int STRIPES = 64;
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SLOTS = 64;
+
+    @Value("${presence.heartbeat-ttl-ms:30000}")
+    private long heartbeatTtlMs;
+
+    @Value("${presence.typing-ttl-ms:6000}")
+    private long typingTtlMs;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final List<PresenceListener> listeners = new CopyOnWriteArrayList<>();
+    private long lastTick = System.currentTimeMillis() / TICK_MS;
+
+    public PresenceService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public interface PresenceListener {
+        void presenceChanged(Long userId, boolean online, Long typingChatId);
+    }
+
+    public void addListener(PresenceListener listener) {
+        listeners.add(listener);
+    }
+
+    public void heartbeat(Long userId) {
+        long now = System.currentTimeMillis();
+        boolean cameOnline;
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            Presence presence = stripe.users.get(userId);
+            cameOnline = presence == null;
+            if (cameOnline) {
+                presence = new Presence();
+                stripe.users.put(userId, presence);
+            }
+            presence.deadline = now + heartbeatTtlMs;
+            stripe.schedule(userId, presence);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (cameOnline) {
+            fire(userId, true, null);
+        }
+    }
+
+    public void typing(Long userId, Long chatId, boolean typing) {
+        long now = System.currentTimeMillis();
+        boolean changed;
+        Long typingChatId;
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            Presence presence = stripe.users.get(userId);
+            boolean cameOnline = presence == null;
+            if (cameOnline) {
+                presence = new Presence();
+                stripe.users.put(userId, presence);
+            }
+            presence.deadline = now + heartbeatTtlMs;
+            Long previous = presence.typingChatId;
+            if (typing) {
+                presence.typingChatId = chatId;
+                presence.typingDeadline = now + typingTtlMs;
+            } else if (chatId.equals(presence.typingChatId)) {
+                presence.typingChatId = null;
+            }
+            stripe.schedule(userId, presence);
+            typingChatId = presence.typingChatId;
+            changed = cameOnline || !Objects.equals(previous, typingChatId);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (changed) {
+            fire(userId, true, typingChatId);
+        }
+    }
+
+    public void disconnect(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        Presence removed;
+        stripe.lock.lock();
+        try {
+            removed = stripe.users.remove(userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (removed != null) {
+            fire(userId, false, null);
+        }
+    }
+
+    public boolean isOnline(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            return stripe.users.containsKey(userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public Long getTypingChatId(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            Presence presence = stripe.users.get(userId);
+            return presence != null ? presence.typingChatId : null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public ChatPresenceResponse getChatPresence(Chat chat) {
+        List<Long> online = new ArrayList<>();
+        List<Long> typing = new ArrayList<>();
+        if (chat.getMembers() != null) {
+            for (Long memberId : chat.getMembers()) {
+                Stripe stripe = stripeFor(memberId);
+                stripe.lock.lock();
+                try {
+                    Presence presence = stripe.users.get(memberId);
+                    if (presence != null) {
+                        online.add(memberId);
+                        if (chat.getId().equals(presence.typingChatId)) {
+                            typing.add(memberId);
+                        }
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        }
+        return new ChatPresenceResponse(chat.getId(), online, typing);
+    }
+
+    @Scheduled(fixedRate = TICK_MS)
+    public void expire() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / TICK_MS;
+        // Catch up on ticks missed by a delayed scheduler, but never spin more than one lap
+        long firstTick = Math.max(lastTick + 1, currentTick - WHEEL_SLOTS + 1);
+        List<PresenceEvent> events = new ArrayList<>();
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    stripe.advance(tick, now, events);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        }
+        lastTick = currentTick;
+        for (PresenceEvent event : events) {
+            fire(event.userId, event.online, event.typingChatId);
+        }
+    }
+
+    private Stripe stripeFor(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 58) & (STRIPES - 1)];
+    }
+
+    private void fire(Long userId, boolean online, Long typingChatId) {
+        for (PresenceListener listener : listeners) {
+            listener.presenceChanged(userId, online, typingChatId);
+        }
+    }
+
+    private static final class Presence {
+        long deadline;
+        Long typingChatId;
+        long typingDeadline;
+        long scheduledTick;
+
+        long nextDeadline() {
+            return typingChatId != null ? Math.min(deadline, typingDeadline) : deadline;
+        }
+    }
+
+    private record PresenceEvent(Long userId, boolean online, Long typingChatId) {}
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, Presence> users = new HashMap<>();
+        final List<List<Long>> wheel = new ArrayList<>(WHEEL_SLOTS);
+
+        Stripe() {
+            for (int i = 0; i < WHEEL_SLOTS; i++) {
+                wheel.add(new ArrayList<>());
+            }
+        }
+
+        // Only moves an entry to an earlier slot; later deadlines are picked up when the
+        // current slot fires, so repeated heartbeats cost no wheel insertions.
+        void schedule(Long userId, Presence presence) {
+            long tick = presence.nextDeadline() / TICK_MS + 1;
+            if (presence.scheduledTick == 0 || tick < presence.scheduledTick) {
+                presence.scheduledTick = tick;
+                wheel.get((int) (tick % WHEEL_SLOTS)).add(userId);
+            }
+        }
+
+        void advance(long tick, long now, List<PresenceEvent> events) {
+            List<Long> slot = wheel.get((int) (tick % WHEEL_SLOTS));
+            if (slot.isEmpty()) {
+                return;
+            }
+            List<Long> due = new ArrayList<>(slot);
+            slot.clear();
+            for (Long userId : due) {
+                Presence presence = users.get(userId);
+                if (presence == null) {
+                    continue;
+                }
+                if (presence.scheduledTick > tick) {
+                    // Deadline is more than one lap away
+                    slot.add(userId);
+                    continue;
+                }
+                if (presence.scheduledTick != tick) {
+                    continue;
+                }
+                presence.scheduledTick = 0;
+                if (presence.deadline <= now) {
+                    users.remove(userId);
+                    events.add(new PresenceEvent(userId, false, null));
+                    continue;
+                }
+                if (presence.typingChatId != null && presence.typingDeadline <= now) {
+                    presence.typingChatId = null;
+                    events.add(new PresenceEvent(userId, true, null));
+                }
+                schedule(userId, presence);
+            }
+        }
+    }
+}
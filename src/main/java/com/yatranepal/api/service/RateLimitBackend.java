@@ -0,0 +1,12 @@
+package com.yatranepal.api.service;
+
+// Token-bucket storage for RateLimitFilter. The local backend keeps buckets in this JVM; a shared
+// store (Redis or the database) can implement the same contract so limits hold across nodes.
+public interface RateLimitBackend {
+
+    // Takes one token from the bucket for key, creating a full bucket on first use. Returns 0 when
+    // the request may proceed, otherwise how many milliseconds until a token becomes available.
+    long tryAcquire(String key, int capacity, double refillPerSecond);
+
+    int size();
+}
@@ -0,0 +1,151 @@
+package com.yatranepal.api.service;
+
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency per endpoint and per repository method. Series are created on first use and then only
+// looked up, keyed by objects that already exist (the mapping's pattern string, the Method), so
+// recording a request or query allocates nothing.
+@Service
+public class RequestMetrics {
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS", "OTHER"};
+    // Requests no handler mapped (404s, static probes) share one series to bound cardinality
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final Map<String, EndpointSeries[]> endpoints = new ConcurrentHashMap<>();
+    // Keyed by repository first: inherited methods such as findById are one Method shared by all
+    private final Map<Class<?>, Map<Method, QuerySeries>> queries = new ConcurrentHashMap<>();
+
+    public static final class EndpointSeries {
+        private final String method;
+        private final String uri;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        // Index = status / 100 - 1
+        private final LongAdder[] responses = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder overStatementBudget = new LongAdder();
+
+        EndpointSeries(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        public String method() { return method; }
+        public String uri() { return uri; }
+        public LatencyHistogram.Snapshot latency() { return latency.snapshot(); }
+        public long responses(int statusClass) { return responses[statusClass - 1].sum(); }
+        public long statements() { return statements.sum(); }
+        public long overStatementBudget() { return overStatementBudget.sum(); }
+    }
+
+    public static final class QuerySeries {
+        private final String repository;
+        private final String method;
+        private final String label;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        QuerySeries(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.label = repository + "." + method;
+        }
+
+        public String repository() { return repository; }
+        public String method() { return method; }
+        public String label() { return label; }
+        public LatencyHistogram.Snapshot latency() { return latency.snapshot(); }
+        public long errors() { return errors.sum(); }
+
+        public void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    public void recordRequest(String httpMethod, String uriPattern, int status, long nanos,
+                              int statements, boolean overStatementBudget) {
+        String uri = uriPattern != null ? uriPattern : UNMATCHED;
+        int methodIndex = methodIndex(httpMethod);
+        EndpointSeries[] byMethod = endpoints.get(uri);
+        if (byMethod == null) {
+            byMethod = endpoints.computeIfAbsent(uri, u -> new EndpointSeries[METHODS.length]);
+        }
+        EndpointSeries series = byMethod[methodIndex];
+        if (series == null) {
+            synchronized (byMethod) {
+                series = byMethod[methodIndex];
+                if (series == null) {
+                    series = new EndpointSeries(METHODS[methodIndex], uri);
+                    byMethod[methodIndex] = series;
+                }
+            }
+        }
+        series.latency.record(nanos);
+        int statusClass = status / 100;
+        if (statusClass >= 1 && statusClass <= 5) {
+            series.responses[statusClass - 1].increment();
+        }
+        if (statements > 0) {
+            series.statements.add(statements);
+        }
+        if (overStatementBudget) {
+            series.overStatementBudget.increment();
+        }
+    }
+
+    public QuerySeries querySeries(Class<?> repository, Method method) {
+        Map<Method, QuerySeries> byMethod = queries.get(repository);
+        if (byMethod == null) {
+            byMethod = queries.computeIfAbsent(repository, r -> new ConcurrentHashMap<>());
+        }
+        QuerySeries series = byMethod.get(method);
+        if (series == null) {
+            series = byMethod.computeIfAbsent(method, m -> new QuerySeries(repository.getSimpleName(), m.getName()));
+        }
+        return series;
+    }
+
+    public List<EndpointSeries> getEndpoints() {
+        List<EndpointSeries> series = new ArrayList<>();
+        for (EndpointSeries[] byMethod : endpoints.values()) {
+            for (int i = 0; i < byMethod.length; i++) {
+                EndpointSeries entry = byMethod[i];
+                if (entry != null) {
+                    series.add(entry);
+                }
+            }
+        }
+        return series;
+    }
+
+    public List<QuerySeries> getQueries() {
+        List<QuerySeries> series = new ArrayList<>();
+        for (Map<Method, QuerySeries> byMethod : queries.values()) {
+            series.addAll(byMethod.values());
+        }
+        return series;
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            case "HEAD" -> 5;
+            case "OPTIONS" -> 6;
+            default -> 7;
+        };
+    }
+}
@@ -4,11 +4,15 @@ import com.yatranepal.api.model.Reservation;
 import com.yatranepal.api.repository.ReservationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ReservationService {
@@ -16,6 +20,12 @@ public class ReservationService {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     public List<Reservation> getAllReservations() {
         return reservationRepository.findAll();
     }
@@ -24,17 +34,36 @@ public class ReservationService {
         return reservationRepository.findById(id);
     }
 
+    @Transactional
     public Reservation createReservation(Reservation reservation) {
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        publishStayChanged(stayOf(saved));
+        return saved;
     }
 
+    @Transactional
     public Reservation updateReservation(Long id, Reservation reservation) {
+        // Copied before the merge below overwrites the managed entity's dates
+        DomainEvent.ReservationStayChanged before = reservationRepository.findById(id).map(this::stayOf).orElse(null);
         reservation.setId(id);
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        DomainEvent.ReservationStayChanged after = stayOf(saved);
+        if (before != null && before.hotelId() != null && before.hotelId().equals(after.hotelId())) {
+            Set<LocalDate> dates = new LinkedHashSet<>(before.dates());
+            dates.addAll(after.dates());
+            publishStayChanged(new DomainEvent.ReservationStayChanged(saved.getId(), saved.getHotelId(), new ArrayList<>(dates)));
+        } else {
+            publishStayChanged(before);
+            publishStayChanged(after);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteReservation(Long id) {
+        DomainEvent.ReservationStayChanged before = reservationRepository.findById(id).map(this::stayOf).orElse(null);
         reservationRepository.deleteById(id);
+        publishStayChanged(before);
     }
 
     public List<Reservation> getReservationsByUserId(Long userId) {
@@ -81,44 +110,72 @@ public class ReservationService {
         return reservationRepository.findCancellationRequests();
     }
 
+    @Transactional
     public Reservation confirmReservation(Long id) {
         Optional<Reservation> reservationOpt = reservationRepository.findById(id);
         if (reservationOpt.isPresent()) {
             Reservation reservation = reservationOpt.get();
             reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            mailService.enqueueReservationConfirmed(saved);
+            domainEventPublisher.publish(new DomainEvent.ReservationConfirmed(saved.getId(), saved.getUserId(), saved.getHotelId()));
+            publishStayChanged(stayOf(saved));
+            return saved;
         }
         return null;
     }
 
+    @Transactional
     public Reservation cancelReservation(Long id) {
         Optional<Reservation> reservationOpt = reservationRepository.findById(id);
         if (reservationOpt.isPresent()) {
             Reservation reservation = reservationOpt.get();
             reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            mailService.enqueueReservationCancelled(saved);
+            domainEventPublisher.publish(new DomainEvent.ReservationCancelled(saved.getId(), saved.getUserId(), saved.getHotelId()));
+            publishStayChanged(stayOf(saved));
+            return saved;
         }
         return null;
     }
 
+    @Transactional
     public Reservation requestCancellation(Long id) {
         Optional<Reservation> reservationOpt = reservationRepository.findById(id);
         if (reservationOpt.isPresent()) {
             Reservation reservation = reservationOpt.get();
             reservation.setStatus(Reservation.ReservationStatus.CANCEL_REQUESTED);
             reservation.setCancellationRequestedAt(LocalDateTime.now());
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            publishStayChanged(stayOf(saved));
+            return saved;
         }
         return null;
     }
 
+    @Transactional
     public Reservation updatePaymentStatus(Long id, Reservation.PaymentStatus paymentStatus) {
         Optional<Reservation> reservationOpt = reservationRepository.findById(id);
         if (reservationOpt.isPresent()) {
             Reservation reservation = reservationOpt.get();
             reservation.setPaymentStatus(paymentStatus);
-            return reservationRepository.save(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            domainEventPublisher.publish(new DomainEvent.PaymentStatusChanged(saved.getId(), paymentStatus.name()));
+            return saved;
         }
         return null;
     }
+
+    private DomainEvent.ReservationStayChanged stayOf(Reservation reservation) {
+        List<LocalDate> dates = reservation.getDates() != null ? new ArrayList<>(reservation.getDates()) : List.of();
+        return new DomainEvent.ReservationStayChanged(reservation.getId(), reservation.getHotelId(), dates);
+    }
+
+    // Feeds the hotel_daily_stats rollup; a stay without a hotel or nights has nothing to count
+    private void publishStayChanged(DomainEvent.ReservationStayChanged stay) {
+        if (stay != null && stay.hotelId() != null && !stay.dates().isEmpty()) {
+            domainEventPublisher.publish(stay);
+        }
+    }
 }
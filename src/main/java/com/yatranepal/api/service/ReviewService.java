@@ -4,8 +4,10 @@ import com.yatranepal.api.model.Review;
 import com.yatranepal.api.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,6 +16,9 @@ public class ReviewService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     public List<Review> getAllReviews() {
         return reviewRepository.findAll();
     }
@@ -22,17 +27,41 @@ public class ReviewService {
         return reviewRepository.findById(id);
     }
 
+    @Transactional
     public Review createReview(Review review) {
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        domainEventPublisher.publish(new DomainEvent.ReviewCreated(saved.getId(), saved.getReviewedItemId(),
+                saved.getReviewedModel() != null ? saved.getReviewedModel().name() : null, saved.getRating()));
+        return saved;
     }
 
+    @Transactional
     public Review updateReview(Long id, Review review) {
+        Optional<Review> previous = reviewRepository.findById(id);
+        // Captured before save, which may merge into the managed instance
+        Long previousItemId = previous.map(Review::getReviewedItemId).orElse(null);
+        Review.ReviewedModel previousModel = previous.map(Review::getReviewedModel).orElse(null);
         review.setId(id);
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        publishChanged(saved.getId(), saved.getReviewedItemId(), saved.getReviewedModel());
+        if (previous.isPresent() && (!Objects.equals(previousItemId, saved.getReviewedItemId())
+                || previousModel != saved.getReviewedModel())) {
+            publishChanged(saved.getId(), previousItemId, previousModel);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteReview(Long id) {
-        reviewRepository.deleteById(id);
+        reviewRepository.findById(id).ifPresent(review -> {
+            reviewRepository.delete(review);
+            publishChanged(review.getId(), review.getReviewedItemId(), review.getReviewedModel());
+        });
+    }
+
+    private void publishChanged(Long reviewId, Long reviewedItemId, Review.ReviewedModel reviewedModel) {
+        domainEventPublisher.publish(new DomainEvent.ReviewChanged(reviewId, reviewedItemId,
+                reviewedModel != null ? reviewedModel.name() : null));
     }
 
     public List<Review> getReviewsByUserId(Long userId) {
@@ -0,0 +1,70 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.Room;
+import com.yatranepal.api.repository.HotelRepository;
+import com.yatranepal.api.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+// Every change to a room re-derives its hotel's cheapestPrice in the same transaction
+@Service
+public class RoomService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelPriceService hotelPriceService;
+
+    public List<Room> getRoomsByHotelId(Long hotelId) {
+        return roomRepository.findByHotel_IdOrderByPrice(hotelId);
+    }
+
+    public Optional<Room> getRoom(Long hotelId, Long roomId) {
+        return roomRepository.findByIdAndHotel_Id(roomId, hotelId);
+    }
+
+    @Transactional
+    public Room createRoom(Long hotelId, Room room) {
+        hotelPriceService.lock(hotelId);
+        room.setId(null);
+        room.setHotel(hotelRepository.getReferenceById(hotelId));
+        Room savedRoom = roomRepository.save(room);
+        hotelPriceService.refresh(hotelId);
+        return savedRoom;
+    }
+
+    @Transactional
+    public Optional<Room> updateRoom(Long hotelId, Long roomId, Room room) {
+        hotelPriceService.lock(hotelId);
+        Optional<Room> existing = roomRepository.findByIdAndHotel_Id(roomId, hotelId);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        room.setId(roomId);
+        room.setHotel(existing.get().getHotel());
+        room.setCreatedAt(existing.get().getCreatedAt());
+        Room savedRoom = roomRepository.save(room);
+        hotelPriceService.refresh(hotelId);
+        return Optional.of(savedRoom);
+    }
+
+    @Transactional
+    public boolean deleteRoom(Long hotelId, Long roomId) {
+        hotelPriceService.lock(hotelId);
+        Optional<Room> existing = roomRepository.findByIdAndHotel_Id(roomId, hotelId);
+        if (existing.isEmpty()) {
+            return false;
+        }
+        roomRepository.delete(existing.get());
+        hotelPriceService.refresh(hotelId);
+        return true;
+    }
+}
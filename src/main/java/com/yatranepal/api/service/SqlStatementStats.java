@@ -0,0 +1,106 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.config.InstrumentedDataSource;
+import com.yatranepal.api.dto.QueryStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregates every JDBC statement by SQL text. Hibernate reuses the same SQL string for a query,
+// so the map lookup is a cached hash and an identity hit. Statements with inlined literals
+// would create a series each, so the map is capped and overflow lands in one "other" entry.
+@Service
+public class SqlStatementStats implements InstrumentedDataSource.StatementListener {
+
+    private static final String OTHER = "(other statements)";
+
+    @Value("${sql.stats.max-statements:2000}")
+    private int maxStatements;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public enum SortBy { TOTAL, MEAN, MAX, COUNT, ROWS }
+
+    private static final class Entry {
+        final String sql;
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        final LongAdder rows = new LongAdder();
+        volatile String lastCaller;
+
+        Entry(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    @Override
+    public void statementExecuted(InstrumentedDataSource.StatementExecution execution) {
+        Entry entry = entry(execution.sql());
+        entry.count.increment();
+        entry.totalNanos.add(execution.nanos());
+        entry.maxNanos.accumulate(execution.nanos());
+        if (execution.failed()) {
+            entry.errors.increment();
+        }
+        if (execution.updateCount() > 0) {
+            entry.rows.add(execution.updateCount());
+        }
+        if (execution.caller() != null && execution.caller() != entry.lastCaller) {
+            entry.lastCaller = execution.caller();
+        }
+    }
+
+    @Override
+    public void rowsFetched(InstrumentedDataSource.StatementExecution execution, long rows) {
+        if (rows > 0) {
+            entry(execution.sql()).rows.add(rows);
+        }
+    }
+
+    public List<QueryStatsResponse> top(SortBy sortBy, int limit) {
+        List<QueryStatsResponse> all = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            long count = entry.count.sum();
+            if (count == 0) {
+                continue;
+            }
+            double totalMs = entry.totalNanos.sum() / 1e6;
+            all.add(new QueryStatsResponse(entry.sql, entry.lastCaller, count, entry.errors.sum(), totalMs,
+                    totalMs / count, entry.maxNanos.get() / 1e6, entry.rows.sum()));
+        }
+        Comparator<QueryStatsResponse> order = switch (sortBy) {
+            case TOTAL -> Comparator.comparingDouble(QueryStatsResponse::getTotalMs);
+            case MEAN -> Comparator.comparingDouble(QueryStatsResponse::getMeanMs);
+            case MAX -> Comparator.comparingDouble(QueryStatsResponse::getMaxMs);
+            case COUNT -> Comparator.comparingLong(QueryStatsResponse::getCount);
+            case ROWS -> Comparator.comparingLong(QueryStatsResponse::getRows);
+        };
+        all.sort(order.reversed());
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    private Entry entry(String sql) {
+        String key = sql != null ? sql : OTHER;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxStatements) {
+                key = OTHER;
+            }
+            entry = entries.computeIfAbsent(key, Entry::new);
+        }
+        return entry;
+    }
+}
@@ -5,6 +5,7 @@ import com.yatranepal.api.repository.TouristGuideRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,9 @@ public class TouristGuideService {
     @Autowired
     private TouristGuideRepository touristGuideRepository;
 
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     public List<TouristGuide> getAllTouristGuides() {
         return touristGuideRepository.findAll();
     }
@@ -23,12 +27,16 @@ public class TouristGuideService {
     }
 
     public TouristGuide createTouristGuide(TouristGuide touristGuide) {
-        return touristGuideRepository.save(touristGuide);
+        TouristGuide savedGuide = touristGuideRepository.save(touristGuide);
+        imageVariantService.pregenerate(Collections.singletonList(savedGuide.getImg()));
+        return savedGuide;
     }
 
     public TouristGuide updateTouristGuide(Long id, TouristGuide touristGuide) {
         touristGuide.setId(id);
-        return touristGuideRepository.save(touristGuide);
+        TouristGuide savedGuide = touristGuideRepository.save(touristGuide);
+        imageVariantService.pregenerate(Collections.singletonList(savedGuide.getImg()));
+        return savedGuide;
     }
 
     public void deleteTouristGuide(Long id) {
@@ -0,0 +1,234 @@
+-- Baseline schema, matching what ddl-auto=update produced from the entity mappings before the
+-- move to Flyway. Databases that were created that way are baselined at this version instead of
+-- running it, so everything added since belongs in later migrations.
+
+create table users (
+    id bigserial not null,
+    city varchar(255),
+    country varchar(255),
+    created_at timestamp(6),
+    email varchar(255) not null unique,
+    img varchar(255),
+    is_admin boolean,
+    password varchar(255),
+    phone varchar(255),
+    reset_password_expires timestamp(6),
+    reset_password_token varchar(255),
+    role varchar(255),
+    updated_at timestamp(6),
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create table hotels (
+    id bigserial not null,
+    address varchar(255),
+    cheapest_price float(53),
+    city varchar(255),
+    created_at timestamp(6),
+    "desc" varchar(255),
+    distance varchar(255),
+    featured boolean,
+    name varchar(255),
+    photos varchar(255) array,
+    rating float(53),
+    title varchar(255),
+    type varchar(255),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table rooms (
+    id bigserial not null,
+    created_at timestamp(6),
+    "desc" varchar(255),
+    max_people integer,
+    price float(53),
+    title varchar(255),
+    updated_at timestamp(6),
+    hotel_id bigint not null,
+    primary key (id)
+);
+
+create table room_numbers (
+    room_id bigint not null,
+    number integer,
+    unavailable_dates timestamp(6) array
+);
+
+create table places (
+    id bigserial not null,
+    address varchar(255),
+    category varchar(255),
+    city varchar(255),
+    created_at timestamp(6),
+    description varchar(255),
+    img varchar(255),
+    coordinates float(53) array,
+    type varchar(255),
+    name varchar(255),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table reservations (
+    id bigserial not null,
+    cancellation_requested_at timestamp(6),
+    created_at timestamp(6),
+    hotel_id bigint not null,
+    payment_method varchar(255) check (payment_method in ('ESEWA','KHALTI','CASH')),
+    payment_status varchar(255) check (payment_status in ('PENDING','SUCCESS','FAILED')),
+    pidx varchar(255),
+    product_code varchar(255),
+    status varchar(255) check (status in ('PENDING','CONFIRMED','CANCELLED','CANCEL_REQUESTED')),
+    total_price float(53) not null,
+    transaction_id varchar(255) unique,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table reservation_room_ids (
+    reservation_id bigint not null,
+    room_id bigint
+);
+
+create table reservation_room_details (
+    reservation_id bigint not null,
+    room_number integer,
+    room_id bigint,
+    room_title varchar(255)
+);
+
+create table reservation_dates (
+    reservation_id bigint not null,
+    reservation_date date
+);
+
+create table reviews (
+    id bigserial not null,
+    comment text,
+    created_at timestamp(6),
+    rating integer not null,
+    reviewed_item_id bigint not null,
+    reviewed_model varchar(255) not null check (reviewed_model in ('PLACE','HOTEL','EXCHANGE_CENTER','TOURIST_GUIDE')),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table chats (
+    id bigserial not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table chat_members (
+    chat_id bigint not null,
+    user_id bigint
+);
+
+create table messages (
+    id bigserial not null,
+    chat_id bigint not null,
+    created_at timestamp(6),
+    file_url varchar(255),
+    sender_id bigint not null,
+    text text,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table blogs (
+    id bigserial not null,
+    content text not null,
+    created_at timestamp(6),
+    image_url varchar(255),
+    name varchar(255) not null,
+    title varchar(255) not null,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table blog_tags (
+    blog_id bigint not null,
+    tag varchar(255)
+);
+
+create table chad_parba (
+    id bigserial not null,
+    category varchar(255) not null,
+    created_at timestamp(6),
+    description text not null,
+    nepali_day integer not null,
+    nepali_month varchar(255) not null check (nepali_month in ('BAISAKH','JESTHA','ASHADH','SHRAWAN','BHADRA','ASHWIN','KARTIK','MANGSIR','POUSH','MAGH','FALGUN','CHAITRA')),
+    title varchar(255) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table exchange_centers (
+    id bigserial not null,
+    address varchar(200) not null,
+    contact_number varchar(15) not null,
+    created_at timestamp(6),
+    description varchar(500),
+    hours varchar(50) not null,
+    is_active boolean,
+    lat numeric(10,8) not null,
+    lng numeric(11,8) not null,
+    name varchar(100) not null,
+    owner_id bigint not null,
+    services varchar(300) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table exchange_center_images (
+    exchange_center_id bigint not null,
+    image_url varchar(255)
+);
+
+create table image_sliders (
+    id bigserial not null,
+    created_at timestamp(6),
+    image_path varchar(255) not null,
+    image_type varchar(255) not null check (image_type in ('JPEG','PNG')),
+    name varchar(255) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table tourist_guides (
+    id bigserial not null,
+    availability varchar(255) not null,
+    contact_number varchar(255) not null,
+    created_at timestamp(6),
+    email varchar(255) not null unique,
+    experience integer not null,
+    image_url varchar(255),
+    language varchar(255) not null,
+    license_number varchar(255) not null,
+    location varchar(255) not null,
+    name varchar(255) not null,
+    updated_at timestamp(6),
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table tourist_guide_categories (
+    guide_id bigint not null,
+    category varchar(255)
+);
+
+alter table rooms add constraint fk_rooms_hotel foreign key (hotel_id) references hotels;
+alter table room_numbers add constraint fk_room_numbers_room foreign key (room_id) references rooms;
+alter table reservation_room_ids add constraint fk_reservation_room_ids_reservation foreign key (reservation_id) references reservations;
+alter table reservation_room_details add constraint fk_reservation_room_details_reservation foreign key (reservation_id) references reservations;
+alter table reservation_dates add constraint fk_reservation_dates_reservation foreign key (reservation_id) references reservations;
+alter table chat_members add constraint fk_chat_members_chat foreign key (chat_id) references chats;
+alter table blog_tags add constraint fk_blog_tags_blog foreign key (blog_id) references blogs;
+alter table exchange_center_images add constraint fk_exchange_center_images_center foreign key (exchange_center_id) references exchange_centers;
+alter table tourist_guide_categories add constraint fk_tourist_guide_categories_guide foreign key (guide_id) references tourist_guides;
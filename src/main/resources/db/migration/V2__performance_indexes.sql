@@ -0,0 +1,59 @@
+-- Indexes for the lookups the repositories actually run. PostgreSQL doesn't index foreign keys
+-- or element collection join columns on its own, so every collection load used to scan.
+-- Equality columns come first in composite indexes, the ORDER BY / range column last.
+
+-- Reservations: my-bookings, hotel dashboards and the payment callbacks
+create index if not exists idx_reservations_user_status on reservations (user_id, status);
+create index if not exists idx_reservations_hotel_status on reservations (hotel_id, status);
+create index if not exists idx_reservations_status on reservations (status);
+-- Callbacks look these up by value; most rows are cash bookings without them
+create index if not exists idx_reservations_pidx on reservations (pidx) where pidx is not null;
+create index if not exists idx_reservations_product_code on reservations (product_code) where product_code is not null;
+-- Admin cancellation queue, oldest request first
+create index if not exists idx_reservations_cancel_requested on reservations (cancellation_requested_at)
+    where status = 'CANCEL_REQUESTED';
+
+create index if not exists idx_reservation_dates_reservation on reservation_dates (reservation_id);
+create index if not exists idx_reservation_dates_date on reservation_dates (reservation_date, reservation_id);
+create index if not exists idx_reservation_room_ids_reservation on reservation_room_ids (reservation_id);
+create index if not exists idx_reservation_room_details_reservation on reservation_room_details (reservation_id);
+
+-- Reviews per item serve the list (newest first), the average and the count
+create index if not exists idx_reviews_item on reviews (reviewed_item_id, reviewed_model, created_at desc);
+create index if not exists idx_reviews_user on reviews (user_id);
+
+-- Chat history in either direction, and a user's sent messages
+create index if not exists idx_messages_chat_created on messages (chat_id, created_at);
+create index if not exists idx_messages_sender_created on messages (sender_id, created_at);
+create index if not exists idx_chat_members_chat on chat_members (chat_id);
+create index if not exists idx_chat_members_user on chat_members (user_id, chat_id);
+
+-- Hotels by city (optionally with type), price band and the featured strip
+create index if not exists idx_hotels_city_type on hotels (city, type);
+create index if not exists idx_hotels_cheapest_price on hotels (cheapest_price);
+create index if not exists idx_hotels_featured on hotels (id) where featured;
+create index if not exists idx_rooms_hotel on rooms (hotel_id);
+create index if not exists idx_room_numbers_room on room_numbers (room_id);
+
+create index if not exists idx_places_city_category on places (city, category);
+create index if not exists idx_places_category on places (category);
+
+create index if not exists idx_blogs_user on blogs (user_id);
+create index if not exists idx_blogs_created on blogs (created_at desc);
+create index if not exists idx_blog_tags_blog on blog_tags (blog_id);
+create index if not exists idx_blog_tags_tag on blog_tags (tag, blog_id);
+
+create index if not exists idx_chad_parba_month_day on chad_parba (nepali_month, nepali_day);
+create index if not exists idx_exchange_centers_owner on exchange_centers (owner_id);
+create index if not exists idx_exchange_centers_active on exchange_centers (id) where is_active;
+create index if not exists idx_exchange_center_images_center on exchange_center_images (exchange_center_id);
+create index if not exists idx_tourist_guides_location on tourist_guides (location);
+create index if not exists idx_tourist_guide_categories_guide on tourist_guide_categories (guide_id);
+create index if not exists idx_tourist_guide_categories_category on tourist_guide_categories (category, guide_id);
+create index if not exists idx_image_sliders_created on image_sliders (created_at desc);
+
+-- Outbox polling only ever touches the few live rows; the purge only the delivered ones
+create index if not exists idx_domain_events_live on domain_events (id)
+    where status in ('PENDING', 'DISPATCHING');
+create index if not exists idx_domain_events_delivered on domain_events (delivered_at)
+    where status = 'DELIVERED';
@@ -0,0 +1,19 @@
+-- Per hotel, per night rollup of reservations for the owner analytics. Rows are derived from
+-- reservations and reservation_dates only, so any of them can be recomputed at any time.
+-- Room nights count every reserved room once per night; revenue spreads total_price evenly
+-- over the stay's nights; arrivals and cancellations are counted on a stay's first night.
+create table hotel_daily_stats (
+    hotel_id bigint not null,
+    day date not null,
+    room_nights bigint not null default 0,
+    confirmed_room_nights bigint not null default 0,
+    revenue float(53) not null default 0,
+    arrivals integer not null default 0,
+    cancellations integer not null default 0,
+    updated_at timestamp(6) not null,
+    primary key (hotel_id, day)
+);
+
+-- Lets a refresh find a hotel's stays on given days, and the backfill read a hotel's stays,
+-- from the index alone instead of visiting every reservation row of the hotel
+create index if not exists idx_reservations_hotel_stay on reservations (hotel_id, id) include (status, total_price);
@@ -0,0 +1,5 @@
+-- Hotel.cheapestPrice is now derived from room prices: the minimum per hotel is the first
+-- entry of this index, so it is re-derived on every room change without reading the rooms.
+-- It also serves every lookup by hotel_id that idx_rooms_hotel did.
+create index if not exists idx_rooms_hotel_price on rooms (hotel_id, price);
+drop index if exists idx_rooms_hotel;
@@ -0,0 +1,167 @@
+-- Version stamps for conditional GETs on the catalog endpoints, kept by triggers so that every
+-- writer is covered: JPA saves, the bulk price and rating updates and the dataset seeder's COPY.
+--
+-- Per entity: row_version takes a fresh value of one shared sequence on every insert and update of
+-- the row, and on every change to what its detail response embeds (a hotel's rooms and room numbers,
+-- an exchange center's images). updated_at is filled in when the writer left it unchanged.
+--
+-- Per collection: catalog_versions.version is bumped by every statement that changes at least one
+-- row. The row is updated inside the writing transaction, so a new version becomes visible together
+-- with the data it stands for; writers to the same collection queue on it until they commit.
+
+create sequence catalog_row_version_seq;
+
+create table catalog_versions (
+    name varchar(50) not null,
+    version bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (name)
+);
+
+insert into catalog_versions (name, version, updated_at) values
+    ('hotels', 1, now()),
+    ('places', 1, now()),
+    ('chad_parba', 1, now()),
+    ('image_sliders', 1, now()),
+    ('exchange_centers', 1, now());
+
+alter table hotels add column row_version bigint not null default 0;
+alter table places add column row_version bigint not null default 0;
+alter table chad_parba add column row_version bigint not null default 0;
+alter table image_sliders add column row_version bigint not null default 0;
+alter table exchange_centers add column row_version bigint not null default 0;
+
+create function stamp_catalog_row() returns trigger language plpgsql as $$
+begin
+    new.row_version := nextval('catalog_row_version_seq');
+    if tg_op = 'INSERT' then
+        new.updated_at := coalesce(new.updated_at, localtimestamp);
+    elsif new.updated_at is not distinct from old.updated_at then
+        new.updated_at := localtimestamp;
+    end if;
+    return new;
+end $$;
+
+-- Statement triggers with a transition table named "changed"; TRUNCATE has none and always bumps
+create function bump_catalog_version() returns trigger language plpgsql as $$
+begin
+    if tg_op <> 'TRUNCATE' then
+        if not exists (select 1 from changed) then
+            return null;
+        end if;
+    end if;
+    update catalog_versions
+    set version = version + 1, updated_at = greatest(updated_at, clock_timestamp())
+    where name = tg_argv[0];
+    return null;
+end $$;
+
+create function touch_hotels_from_rooms() returns trigger language plpgsql as $$
+begin
+    update hotels set updated_at = localtimestamp where id in (select hotel_id from changed);
+    return null;
+end $$;
+
+create function touch_hotels_from_moved_rooms() returns trigger language plpgsql as $$
+begin
+    update hotels set updated_at = localtimestamp
+    where id in (select hotel_id from changed union select hotel_id from previous);
+    return null;
+end $$;
+
+create function touch_hotels_from_room_numbers() returns trigger language plpgsql as $$
+begin
+    update hotels set updated_at = localtimestamp
+    where id in (select r.hotel_id from rooms r where r.id in (select room_id from changed));
+    return null;
+end $$;
+
+create function touch_exchange_centers_from_images() returns trigger language plpgsql as $$
+begin
+    update exchange_centers set updated_at = localtimestamp
+    where id in (select exchange_center_id from changed);
+    return null;
+end $$;
+
+create trigger hotels_stamp before insert or update on hotels
+    for each row execute function stamp_catalog_row();
+create trigger places_stamp before insert or update on places
+    for each row execute function stamp_catalog_row();
+create trigger chad_parba_stamp before insert or update on chad_parba
+    for each row execute function stamp_catalog_row();
+create trigger image_sliders_stamp before insert or update on image_sliders
+    for each row execute function stamp_catalog_row();
+create trigger exchange_centers_stamp before insert or update on exchange_centers
+    for each row execute function stamp_catalog_row();
+
+-- A transition table can only belong to a trigger with a single event, hence one trigger per event
+create trigger hotels_version_insert after insert on hotels referencing new table as changed
+    for each statement execute function bump_catalog_version('hotels');
+create trigger hotels_version_update after update on hotels referencing new table as changed
+    for each statement execute function bump_catalog_version('hotels');
+create trigger hotels_version_delete after delete on hotels referencing old table as changed
+    for each statement execute function bump_catalog_version('hotels');
+create trigger hotels_version_truncate after truncate on hotels
+    for each statement execute function bump_catalog_version('hotels');
+
+create trigger places_version_insert after insert on places referencing new table as changed
+    for each statement execute function bump_catalog_version('places');
+create trigger places_version_update after update on places referencing new table as changed
+    for each statement execute function bump_catalog_version('places');
+create trigger places_version_delete after delete on places referencing old table as changed
+    for each statement execute function bump_catalog_version('places');
+create trigger places_version_truncate after truncate on places
+    for each statement execute function bump_catalog_version('places');
+
+create trigger chad_parba_version_insert after insert on chad_parba referencing new table as changed
+    for each statement execute function bump_catalog_version('chad_parba');
+create trigger chad_parba_version_update after update on chad_parba referencing new table as changed
+    for each statement execute function bump_catalog_version('chad_parba');
+create trigger chad_parba_version_delete after delete on chad_parba referencing old table as changed
+    for each statement execute function bump_catalog_version('chad_parba');
+create trigger chad_parba_version_truncate after truncate on chad_parba
+    for each statement execute function bump_catalog_version('chad_parba');
+
+create trigger image_sliders_version_insert after insert on image_sliders referencing new table as changed
+    for each statement execute function bump_catalog_version('image_sliders');
+create trigger image_sliders_version_update after update on image_sliders referencing new table as changed
+    for each statement execute function bump_catalog_version('image_sliders');
+create trigger image_sliders_version_delete after delete on image_sliders referencing old table as changed
+    for each statement execute function bump_catalog_version('image_sliders');
+create trigger image_sliders_version_truncate after truncate on image_sliders
+    for each statement execute function bump_catalog_version('image_sliders');
+
+create trigger exchange_centers_version_insert after insert on exchange_centers referencing new table as changed
+    for each statement execute function bump_catalog_version('exchange_centers');
+create trigger exchange_centers_version_update after update on exchange_centers referencing new table as changed
+    for each statement execute function bump_catalog_version('exchange_centers');
+create trigger exchange_centers_version_delete after delete on exchange_centers referencing old table as changed
+    for each statement execute function bump_catalog_version('exchange_centers');
+create trigger exchange_centers_version_truncate after truncate on exchange_centers
+    for each statement execute function bump_catalog_version('exchange_centers');
+
+-- Changes to embedded rows touch their parent, which restamps it and bumps its collection.
+-- A room update touches the hotel it was in as well, in case it was moved.
+create trigger rooms_touch_insert after insert on rooms referencing new table as changed
+    for each statement execute function touch_hotels_from_rooms();
+create trigger rooms_touch_update after update on rooms referencing old table as previous new table as changed
+    for each statement execute function touch_hotels_from_moved_rooms();
+create trigger rooms_touch_delete after delete on rooms referencing old table as changed
+    for each statement execute function touch_hotels_from_rooms();
+
+create trigger room_numbers_touch_insert after insert on room_numbers referencing new table as changed
+    for each statement execute function touch_hotels_from_room_numbers();
+create trigger room_numbers_touch_update after update on room_numbers referencing new table as changed
+    for each statement execute function touch_hotels_from_room_numbers();
+create trigger room_numbers_touch_delete after delete on room_numbers referencing old table as changed
+    for each statement execute function touch_hotels_from_room_numbers();
+
+create trigger exchange_center_images_touch_insert after insert on exchange_center_images
+    referencing new table as changed
+    for each statement execute function touch_exchange_centers_from_images();
+create trigger exchange_center_images_touch_update after update on exchange_center_images
+    referencing new table as changed
+    for each statement execute function touch_exchange_centers_from_images();
+create trigger exchange_center_images_touch_delete after delete on exchange_center_images
+    referencing old table as changed
+    for each statement execute function touch_exchange_centers_from_images();
@@ -0,0 +1,9 @@
+-- Reset mail used to be queued with the plaintext token in its body. Unsent mail gets the
+-- placeholder MailDispatcher now renders a fresh token into; everything else loses the link.
+update mail_outbox
+set body = regexp_replace(body, '\S+\?token=[A-Za-z0-9_-]+', '{reset-link}')
+where type = 'PASSWORD_RESET' and status in ('PENDING', 'SENDING');
+
+update mail_outbox
+set body = regexp_replace(body, '\S+\?token=[A-Za-z0-9_-]+', '[link removed]')
+where type = 'PASSWORD_RESET' and status in ('SENT', 'FAILED');
@@ -0,0 +1,16 @@
+-- Each completed upload gets its own row with the name and type it was uploaded with; rows with
+-- the same content share the stored file, found by content_hash, which is no longer unique.
+do $$
+declare
+    name text;
+begin
+    for name in
+        select c.conname from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = any (c.conkey)
+        where c.conrelid = 'attachments'::regclass and c.contype = 'u' and a.attname = 'content_hash'
+    loop
+        execute format('alter table attachments drop constraint %I', name);
+    end loop;
+end $$;
+
+create index if not exists idx_attachments_content_hash on attachments (content_hash);
@@ -0,0 +1,3 @@
+-- Each outbox row now names the one listener it is for. Rows published before have none and are
+-- split into one row per listener when they are next dispatched.
+alter table domain_events add column if not exists listener varchar(200);
@@ -0,0 +1,36 @@
+package com.yatranepal.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void virtualProfileRefusesToStartWithoutVirtualThreads() {
+        VirtualThreadsConfig config = new VirtualThreadsConfig();
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", true);
+
+        assertThatThrownBy(config::checkRuntime).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("needs Java 21");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualProfileStartsWhereVirtualThreadsExist() {
+        VirtualThreadsConfig config = new VirtualThreadsConfig();
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", true);
+
+        assertThatCode(config::checkRuntime).doesNotThrowAnyException();
+    }
+
+    @Test
+    void platformThreadsNeedNoCheck() {
+        assertThatCode(new VirtualThreadsConfig()::checkRuntime).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,96 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.config.CorsConfig;
+import com.yatranepal.api.config.RateLimitFilter;
+import com.yatranepal.api.config.RequestTimingFilter;
+import com.yatranepal.api.config.SecurityConfig;
+import com.yatranepal.api.dto.HotelStatsResponse;
+import com.yatranepal.api.model.User;
+import com.yatranepal.api.service.AuthService;
+import com.yatranepal.api.service.HotelStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Goes through the application's security filter chain, which has no authentication of its own
+// for /admin/**: the controller checks the bearer token
+@WebMvcTest(controllers = AdminAnalyticsController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {RateLimitFilter.class, RequestTimingFilter.class}))
+@Import({SecurityConfig.class, CorsConfig.class, AdminAuthorization.class, BearerTokenAuthentication.class})
+class AdminAnalyticsControllerTest {
+
+    private static final String STATS = "/admin/analytics/hotels/7?from=2026-01-01&to=2026-01-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private HotelStatsService hotelStatsService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @BeforeEach
+    void setUp() {
+        when(authService.getCurrentUser("admin-token")).thenReturn(user(true));
+        when(authService.getCurrentUser("user-token")).thenReturn(user(false));
+        when(authService.getCurrentUser("expired-token")).thenThrow(new RuntimeException("Invalid token"));
+    }
+
+    @Test
+    void administratorsGetTheSeries() throws Exception {
+        when(hotelStatsService.getSeries(7L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), "day"))
+                .thenReturn(new HotelStatsResponse(7L, "day", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), 24, List.of()));
+
+        mockMvc.perform(get(STATS).header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hotelId").value(7))
+                .andExpect(jsonPath("$.roomCapacity").value(24));
+    }
+
+    @Test
+    void everyoneElseIsRefusedByTheController() throws Exception {
+        mockMvc.perform(get(STATS)).andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Admin access required"));
+        mockMvc.perform(get(STATS).header("Authorization", "Bearer user-token")).andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Admin access required"));
+        mockMvc.perform(get(STATS).header("Authorization", "Bearer expired-token")).andExpect(status().isForbidden());
+
+        verifyNoInteractions(hotelStatsService);
+    }
+
+    @Test
+    void badRangeIsReportedToAdministrators() throws Exception {
+        when(hotelStatsService.getSeries(any(), any(), any(), any())).thenThrow(new RuntimeException("from must not be after to"));
+
+        mockMvc.perform(get(STATS).header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must not be after to"));
+    }
+
+    private static User user(boolean admin) {
+        User user = new User();
+        user.setIsAdmin(admin);
+        return user;
+    }
+}
@@ -0,0 +1,142 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.config.CorsConfig;
+import com.yatranepal.api.config.RateLimitFilter;
+import com.yatranepal.api.config.RequestTimingFilter;
+import com.yatranepal.api.config.SecurityConfig;
+import com.yatranepal.api.dto.AttachmentUploadResponse;
+import com.yatranepal.api.model.Attachment;
+import com.yatranepal.api.model.User;
+import com.yatranepal.api.service.AttachmentService;
+import com.yatranepal.api.service.AttachmentStorage;
+import com.yatranepal.api.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AttachmentController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {RateLimitFilter.class, RequestTimingFilter.class}))
+@Import({SecurityConfig.class, CorsConfig.class, BearerTokenAuthentication.class})
+class AttachmentControllerTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private AttachmentService attachmentService;
+
+    @MockBean
+    private AttachmentStorage attachmentStorage;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path blob = Files.writeString(root.resolve(HASH), "test", StandardCharsets.UTF_8);
+        when(authService.getCurrentUser("user-token")).thenReturn(new User());
+        when(authService.getCurrentUser("expired-token")).thenThrow(new RuntimeException("Invalid token"));
+        when(attachmentStorage.contains(HASH)).thenReturn(true);
+        when(attachmentStorage.localPath(HASH)).thenReturn(blob);
+        when(attachmentStorage.openContent(HASH)).thenAnswer(invocation -> FileChannel.open(blob));
+        when(attachmentService.getAttachment(any())).thenReturn(Optional.empty());
+        when(attachmentService.getAttachment(1L)).thenReturn(Optional.of(attachment(1L, "itinerary.pdf", "application/pdf")));
+        when(attachmentService.getAttachment(2L)).thenReturn(Optional.of(attachment(2L, "notes.txt", "text/plain")));
+    }
+
+    @Test
+    void sameContentIsServedWithEachUploadsOwnType() throws Exception {
+        mockMvc.perform(get("/api/attachments/1/" + HASH).header("Authorization", "Bearer user-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(content().string("test"));
+        mockMvc.perform(get("/api/attachments/2/" + HASH).header("Authorization", "Bearer user-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/plain"));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/attachments/1/" + HASH).header("Authorization", "Bearer user-token").header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/attachments/1/" + HASH).header("Authorization", "Bearer user-token").header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void hashMustMatchTheAttachment() throws Exception {
+        mockMvc.perform(get("/api/attachments/1/" + "0".repeat(64)).header("Authorization", "Bearer user-token")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/attachments/3/" + HASH).header("Authorization", "Bearer user-token")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void requestsWithoutAValidTokenAreRefusedByTheController() throws Exception {
+        mockMvc.perform(get("/api/attachments/1/" + HASH)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/attachments/1/" + HASH).header("Authorization", "Bearer expired-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/attachments/uploads").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"a.pdf\",\"contentType\":\"application/pdf\",\"size\":4}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("No valid token provided"));
+        mockMvc.perform(delete("/api/attachments/uploads/abc")).andExpect(status().isUnauthorized());
+
+        verify(attachmentService, never()).startUpload(any());
+        verify(attachmentService, never()).cancelUpload(any());
+    }
+
+    @Test
+    void uploadsAreReachableWithAToken() throws Exception {
+        when(attachmentService.startUpload(any())).thenReturn(new AttachmentUploadResponse("abc", 0L, 4L));
+
+        mockMvc.perform(post("/api/attachments/uploads").header("Authorization", "Bearer user-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"a.pdf\",\"contentType\":\"application/pdf\",\"size\":4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadId").value("abc"));
+    }
+
+    private static Attachment attachment(Long id, String fileName, String contentType) {
+        Attachment attachment = new Attachment(HASH, fileName, contentType, 4L);
+        attachment.setId(id);
+        return attachment;
+    }
+}
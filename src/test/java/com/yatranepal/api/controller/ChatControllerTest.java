@@ -0,0 +1,102 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.config.CorsConfig;
+import com.yatranepal.api.config.RateLimitFilter;
+import com.yatranepal.api.config.RequestTimingFilter;
+import com.yatranepal.api.config.SecurityConfig;
+import com.yatranepal.api.dto.ChatPresenceResponse;
+import com.yatranepal.api.model.Chat;
+import com.yatranepal.api.model.User;
+import com.yatranepal.api.service.AuthService;
+import com.yatranepal.api.service.ChatService;
+import com.yatranepal.api.service.PresenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Through the application's security filter chain: presence is permitted there and the
+// controller checks the bearer token
+@WebMvcTest(controllers = ChatController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {RateLimitFilter.class, RequestTimingFilter.class}))
+@Import({SecurityConfig.class, CorsConfig.class, BearerTokenAuthentication.class})
+class ChatControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private ChatService chatService;
+
+    @MockBean
+    private PresenceService presenceService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @BeforeEach
+    void setUp() {
+        when(authService.getCurrentUser("member-token")).thenReturn(user(1L));
+        when(authService.getCurrentUser("outsider-token")).thenReturn(user(9L));
+        when(authService.getCurrentUser("expired-token")).thenThrow(new RuntimeException("Invalid token"));
+        Chat chat = new Chat(List.of(1L, 2L));
+        chat.setId(5L);
+        when(chatService.getChatWithMembers(any())).thenReturn(Optional.empty());
+        when(chatService.getChatWithMembers(5L)).thenReturn(Optional.of(chat));
+        when(presenceService.getChatPresence(chat)).thenReturn(new ChatPresenceResponse(5L, List.of(2L), List.of()));
+    }
+
+    @Test
+    void membersGetThePresence() throws Exception {
+        mockMvc.perform(get("/api/chats/5/presence").header("Authorization", "Bearer member-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chatId").value(5))
+                .andExpect(jsonPath("$.online[0]").value(2));
+    }
+
+    @Test
+    void presenceNeedsAValidTokenAndMembership() throws Exception {
+        mockMvc.perform(get("/api/chats/5/presence")).andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("No valid token provided"));
+        mockMvc.perform(get("/api/chats/5/presence").header("Authorization", "Bearer expired-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/chats/5/presence").header("Authorization", "Bearer outsider-token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Not a member of this chat"));
+        mockMvc.perform(get("/api/chats/6/presence").header("Authorization", "Bearer member-token"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(presenceService);
+    }
+
+    @Test
+    void otherChatEndpointsStayClosed() throws Exception {
+        mockMvc.perform(get("/api/chats/5").header("Authorization", "Bearer member-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,122 @@
+package com.yatranepal.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.service.FlightService;
+import com.yatranepal.api.service.FlightStateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightStreamPublisherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FlightStreamPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        FlightService flightService = mock(FlightService.class);
+        when(flightService.getNepalFlights()).thenReturn(Optional.empty());
+
+        publisher = new FlightStreamPublisher();
+        ReflectionTestUtils.setField(publisher, "flightService", flightService);
+        ReflectionTestUtils.setField(publisher, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(publisher, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(publisher, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(publisher, "sendThreads", 1);
+        ReflectionTestUtils.setField(publisher, "sendTimeoutMs", 200L);
+        ReflectionTestUtils.setField(publisher, "maxStalledSends", 4);
+        publisher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        publisher.stop();
+    }
+
+    @Test
+    void stalledClientIsDroppedWithoutHoldingUpTheOthers() {
+        CountDownLatch stalled = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        publisher.subscribe(null, () -> new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                // Like a socket write to a client whose receive buffer is full
+                stalled.countDown();
+                awaitUninterruptibly(release);
+            }
+        });
+        publisher.flightsUpdated(FlightStateTable.empty(1));
+        await().atMost(Duration.ofSeconds(5)).until(() -> stalled.getCount() == 0);
+
+        publisher.subscribe(null, () -> new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.incrementAndGet();
+            }
+        });
+        assertThat(publisher.getSubscriberCount()).isEqualTo(2);
+
+        // The only sender is stuck; the watchdog gives up on it and adds one in its place
+        await().atMost(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(50)).until(() -> {
+            publisher.expireStalledSends();
+            return received.get() >= 1;
+        });
+        assertThat(publisher.getSubscriberCount()).isEqualTo(1);
+        assertThat(publisher.getStalledSendCount()).isEqualTo(1);
+
+        publisher.flightsUpdated(FlightStateTable.empty(2));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.get() >= 2);
+
+        // Once the write returns, the extra thread goes
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> publisher.getStalledSendCount() == 0);
+        assertThat(publisher.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsWithinTheDeadlineAreLeftAlone() {
+        AtomicInteger received = new AtomicInteger();
+        publisher.subscribe(null, () -> new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.incrementAndGet();
+            }
+        });
+        publisher.flightsUpdated(FlightStateTable.empty(1));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.get() == 1);
+
+        publisher.expireStalledSends();
+
+        assertThat(publisher.getSubscriberCount()).isEqualTo(1);
+        assertThat(publisher.getStalledSendCount()).isZero();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.yatranepal.api.controller;
+
+import com.yatranepal.api.config.CorsConfig;
+import com.yatranepal.api.config.RateLimitFilter;
+import com.yatranepal.api.config.RequestTimingFilter;
+import com.yatranepal.api.config.SecurityConfig;
+import com.yatranepal.api.model.ImageSlider;
+import com.yatranepal.api.service.AuthService;
+import com.yatranepal.api.service.CatalogVersionService;
+import com.yatranepal.api.service.ImageDeliveryService;
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
+import com.yatranepal.api.service.ImageSliderService;
+import com.yatranepal.api.service.ImageVariantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ImageSliderController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {RateLimitFilter.class, RequestTimingFilter.class}))
+@Import({SecurityConfig.class, CorsConfig.class})
+class ImageSliderControllerTest {
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private ImageSliderService imageSliderService;
+
+    @MockBean
+    private CatalogVersionService catalogVersionService;
+
+    @MockBean
+    private ImageDeliveryService imageDeliveryService;
+
+    @MockBean
+    private ImageVariantService imageVariantService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stored as PNG, though the file is a JPEG
+        ImageSlider slider = new ImageSlider("Everest", ImageSlider.ImageType.PNG, "everest.jpg");
+        ImageFile original = image("everest.jpg");
+        ImageFile variant = image("w160-everest.jpg");
+        when(imageSliderService.getSliderImage(1L)).thenReturn(Optional.of(slider));
+        when(imageDeliveryService.resolve("everest.jpg")).thenReturn(Optional.of(original));
+        when(imageDeliveryService.cachedContent(any())).thenReturn(Optional.empty());
+        when(imageVariantService.select(original, null)).thenReturn(original);
+        when(imageVariantService.select(original, 160)).thenReturn(variant);
+    }
+
+    @Test
+    void originalIsLabelledWithTheStoredType() throws Exception {
+        mockMvc.perform(get("/api/image-sliders/1/image"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"));
+    }
+
+    @Test
+    void variantIsLabelledWithItsOwnType() throws Exception {
+        mockMvc.perform(get("/api/image-sliders/1/image").param("w", "160"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/jpeg"));
+    }
+
+    private ImageFile image(String name) throws IOException {
+        Path path = Files.write(root.resolve(name), new byte[]{1, 2, 3});
+        return new ImageFile(path, 3, 0, "\"" + name + "\"", "image/jpeg", false);
+    }
+}
@@ -0,0 +1,129 @@
+package com.yatranepal.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.model.Chat;
+import com.yatranepal.api.service.ChatService;
+import com.yatranepal.api.service.PresenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PresenceWebSocketHandlerTest {
+
+    private static final long CHAT_ID = 5L;
+
+    private PresenceService presenceService;
+    private ChatService chatService;
+    private PresenceWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        presenceService = mock(PresenceService.class);
+        chatService = mock(ChatService.class);
+        Chat chat = new Chat();
+        chat.setId(CHAT_ID);
+        chat.setMembers(new ArrayList<>(List.of(1L, 2L)));
+        when(chatService.getChatWithMembers(CHAT_ID)).thenReturn(Optional.of(chat));
+
+        handler = new PresenceWebSocketHandler();
+        ReflectionTestUtils.setField(handler, "presenceService", presenceService);
+        ReflectionTestUtils.setField(handler, "chatService", chatService);
+        ReflectionTestUtils.setField(handler, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void typingIsOnlyAcceptedFromMembers() throws Exception {
+        WebSocketSession member = connect("member", 1L, new CopyOnWriteArrayList<>());
+        WebSocketSession outsider = connect("outsider", 9L, new CopyOnWriteArrayList<>());
+
+        frame(outsider, "typing");
+        verify(presenceService, never()).typing(anyLong(), anyLong(), anyBoolean());
+
+        frame(member, "typing");
+        verify(presenceService).typing(1L, CHAT_ID, true);
+
+        // Members are taken from the subscription while the chat has one
+        frame(member, "subscribe");
+        frame(outsider, "typing");
+        verify(presenceService, never()).typing(9L, CHAT_ID, true);
+    }
+
+    @Test
+    void resubscribingWhileTheLastSubscriberLeavesKeepsPresenceFlowing() throws Exception {
+        List<String> firstFrames = new CopyOnWriteArrayList<>();
+        List<String> secondFrames = new CopyOnWriteArrayList<>();
+        WebSocketSession first = connect("first", 1L, firstFrames);
+        WebSocketSession second = connect("second", 2L, secondFrames);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        for (int i = 0; i < 500; i++) {
+            frame(first, "subscribe");
+            CompletableFuture<Void> leaving = CompletableFuture.runAsync(() -> {
+                await(barrier);
+                frame(first, "unsubscribe");
+            });
+            await(barrier);
+            frame(second, "subscribe");
+            leaving.get(5, TimeUnit.SECONDS);
+
+            secondFrames.clear();
+            handler.presenceChanged(1L, true, null);
+            assertThat(secondFrames).as("iteration %d", i).anyMatch(f -> f.contains("\"type\":\"presence\""));
+            frame(second, "unsubscribe");
+        }
+
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(handler, "subscribers")).isEmpty();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(handler, "subscribedChatsByMember")).isEmpty();
+    }
+
+    private WebSocketSession connect(String id, Long userId, List<String> frames) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("userId", userId);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> frames.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+                .when(session).sendMessage(any());
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private void frame(WebSocketSession session, String type) {
+        try {
+            handler.handleTextMessage(session, new TextMessage("{\"type\":\"" + type + "\",\"chatId\":" + CHAT_ID + "}"));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
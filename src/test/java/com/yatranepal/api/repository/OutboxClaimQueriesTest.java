@@ -0,0 +1,144 @@
+package com.yatranepal.api.repository;
+
+import com.yatranepal.api.model.DomainEventRecord;
+import com.yatranepal.api.model.DomainEventRecord.EventStatus;
+import com.yatranepal.api.model.MailOutbox;
+import com.yatranepal.api.model.MailOutbox.MailStatus;
+import com.yatranepal.api.model.MailOutbox.MailType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// lockDue of both outboxes, with the claiming transactions overlapping the way two nodes' pollers do
+@PostgresTest
+class OutboxClaimQueriesTest {
+
+    @Autowired
+    private DomainEventRecordRepository domainEventRecordRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        domainEventRecordRepository.deleteAll();
+        mailOutboxRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void eventClaimsSkipRowsLockedByAnotherClaim() throws Exception {
+        List<Long> ids = domainEventRecordRepository.saveAll(List.of(event(EventStatus.PENDING, -1), event(EventStatus.PENDING, -1),
+                event(EventStatus.PENDING, -1), event(EventStatus.PENDING, -1))).stream().map(DomainEventRecord::getId).toList();
+
+        List<Long> held = holdingClaim(() -> lockDueEvents(2),
+                () -> assertThat(claim(() -> lockDueEvents(10))).containsExactlyElementsOf(ids.subList(2, 4)));
+
+        assertThat(held).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(claim(() -> lockDueEvents(10))).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void mailClaimsSkipRowsLockedByAnotherClaim() throws Exception {
+        List<Long> ids = mailOutboxRepository.saveAll(List.of(mail(MailStatus.PENDING, -4), mail(MailStatus.PENDING, -3),
+                mail(MailStatus.PENDING, -2), mail(MailStatus.PENDING, -1))).stream().map(MailOutbox::getId).toList();
+
+        List<Long> held = holdingClaim(() -> lockDueMail(3),
+                () -> assertThat(claim(() -> lockDueMail(10))).containsExactly(ids.get(3)));
+
+        assertThat(held).containsExactlyElementsOf(ids.subList(0, 3));
+    }
+
+    @Test
+    void eventClaimsTakeExpiredLeasesButNotLiveOnes() {
+        List<DomainEventRecord> rows = domainEventRecordRepository.saveAll(List.of(
+                event(EventStatus.DISPATCHING, -1), // Its node died
+                event(EventStatus.DISPATCHING, 60), // Still being delivered
+                event(EventStatus.PENDING, 60), // Backing off
+                event(EventStatus.DELIVERED, -1),
+                event(EventStatus.FAILED, -1),
+                event(EventStatus.PENDING, -1)));
+
+        assertThat(claim(() -> lockDueEvents(10))).containsExactly(rows.get(0).getId(), rows.get(5).getId());
+    }
+
+    @Test
+    void mailClaimsTakeExpiredLeasesInDueOrder() {
+        List<MailOutbox> rows = mailOutboxRepository.saveAll(List.of(
+                mail(MailStatus.PENDING, -1),
+                mail(MailStatus.SENDING, -5), // Its node died
+                mail(MailStatus.SENDING, 60), // Still being sent
+                mail(MailStatus.PENDING, 60), // Backing off
+                mail(MailStatus.SENT, -10),
+                mail(MailStatus.FAILED, -10)));
+
+        assertThat(claim(() -> lockDueMail(10))).containsExactly(rows.get(1).getId(), rows.get(0).getId());
+    }
+
+    private List<Long> lockDueEvents(int limit) {
+        return domainEventRecordRepository.lockDue(LocalDateTime.now(), limit).stream().map(DomainEventRecord::getId).toList();
+    }
+
+    private List<Long> lockDueMail(int limit) {
+        return mailOutboxRepository.lockDue(LocalDateTime.now(), limit).stream().map(MailOutbox::getId).toList();
+    }
+
+    private List<Long> claim(Supplier<List<Long>> lockDue) {
+        return transactionTemplate.execute(status -> lockDue.get());
+    }
+
+    // Runs claim in a transaction on another thread and keeps it open, with its row locks, while
+    // meanwhile runs; a claim that waited on those locks instead of skipping them times out here
+    private List<Long> holdingClaim(Supplier<List<Long>> claim, Runnable meanwhile) throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<List<Long>> holder = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> result = claim.get();
+            claimed.countDown();
+            try {
+                done.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        }));
+        try {
+            assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture.runAsync(meanwhile).get(5, TimeUnit.SECONDS);
+        } finally {
+            done.countDown();
+        }
+        return holder.get(10, TimeUnit.SECONDS);
+    }
+
+    private static DomainEventRecord event(EventStatus status, long dueInSeconds) {
+        DomainEventRecord record = new DomainEventRecord("MessagePosted", 7L, "{}", "presence");
+        record.setStatus(status);
+        record.setNextAttemptAt(LocalDateTime.now().plusSeconds(dueInSeconds));
+        return record;
+    }
+
+    private static MailOutbox mail(MailStatus status, long dueInSeconds) {
+        MailOutbox mail = new MailOutbox("guest@example.com", "Your reservation is confirmed", "Hello",
+                MailType.RESERVATION_CONFIRMED);
+        mail.setStatus(status);
+        mail.setNextAttemptAt(LocalDateTime.now().plusSeconds(dueInSeconds));
+        return mail;
+    }
+}
@@ -0,0 +1,30 @@
+package com.yatranepal.api.repository;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// A JPA slice against a local PostgreSQL (TEST_DB_URL, TEST_DB_USER, TEST_DB_PASSWORD), for what
+// only the real database can show, such as row locks. Flyway creates the schema, so the database
+// only has to exist; without one the test is skipped. Tests are not wrapped in a transaction,
+// so they commit and clean up after themselves.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=" + TestDatabase.URL,
+        "spring.datasource.username=" + TestDatabase.USER,
+        "spring.datasource.password=" + TestDatabase.PASSWORD,
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIf("com.yatranepal.api.repository.TestDatabase#reachable")
+public @interface PostgresTest {
+}
@@ -0,0 +1,33 @@
+package com.yatranepal.api.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+final class TestDatabase {
+
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/yatranepal_test";
+    private static final String DEFAULT_USER = "postgres";
+    private static final String DEFAULT_PASSWORD = "postgres";
+
+    // Placeholders, so the environment wins over the defaults just as in reachable()
+    static final String URL = "${TEST_DB_URL:" + DEFAULT_URL + "}";
+    static final String USER = "${TEST_DB_USER:" + DEFAULT_USER + "}";
+    static final String PASSWORD = "${TEST_DB_PASSWORD:" + DEFAULT_PASSWORD + "}";
+
+    private TestDatabase() {}
+
+    static boolean reachable() {
+        try (Connection connection = DriverManager.getConnection(env("TEST_DB_URL", DEFAULT_URL),
+                env("TEST_DB_USER", DEFAULT_USER), env("TEST_DB_PASSWORD", DEFAULT_PASSWORD))) {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
@@ -0,0 +1,193 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.dto.AttachmentUploadRequest;
+import com.yatranepal.api.model.Attachment;
+import com.yatranepal.api.repository.AttachmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentServiceTest {
+
+    private static final long IDLE_TIMEOUT_MS = 3_600_000;
+
+    @TempDir
+    Path root;
+
+    private Path parts;
+    private AttachmentRepository attachmentRepository;
+    private AttachmentService attachmentService;
+
+    @BeforeEach
+    void setUp() {
+        parts = root.resolve("parts");
+        attachmentService = new AttachmentService();
+        ReflectionTestUtils.setField(attachmentService, "attachmentStorage", new LocalAttachmentStorage(root));
+        attachmentRepository = mock(AttachmentRepository.class);
+        when(attachmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReflectionTestUtils.setField(attachmentService, "attachmentRepository", attachmentRepository);
+        ReflectionTestUtils.setField(attachmentService, "maxSize", 1024L);
+        ReflectionTestUtils.setField(attachmentService, "uploadIdleTimeoutMs", IDLE_TIMEOUT_MS);
+    }
+
+    @Test
+    void sweepDeletesPartsLeftBehindByARestart() throws IOException {
+        Path orphaned = writePart("before-restart", Duration.ofHours(2));
+        Path recent = writePart("still-uploading-elsewhere", Duration.ofMinutes(5));
+        String live = start(8);
+        attachmentService.appendChunk(live, 0, new ByteArrayInputStream(new byte[4]));
+
+        attachmentService.expireIdleUploads();
+
+        assertThat(orphaned).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(parts.resolve(live + ".part")).exists();
+        assertThat(attachmentService.getUpload(live)).isPresent();
+    }
+
+    @Test
+    void sweepExpiresIdleSessionsAndTheirParts() throws IOException {
+        String idle = start(8);
+        attachmentService.appendChunk(idle, 0, new ByteArrayInputStream(new byte[4]));
+        ReflectionTestUtils.setField(attachmentService, "uploadIdleTimeoutMs", -1L);
+
+        attachmentService.expireIdleUploads();
+
+        assertThat(attachmentService.getUpload(idle)).isEmpty();
+        assertThat(parts.resolve(idle + ".part")).doesNotExist();
+    }
+
+    @Test
+    void cancelWaitsForTheChunkInProgress() throws Exception {
+        String uploadId = start(8);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowBody = new InputStream() {
+            private int sent;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (sent == 1) {
+                    return -1;
+                }
+                reading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent = 1;
+                buffer[offset] = 1;
+                return 1;
+            }
+        };
+        CompletableFuture<?> chunk = CompletableFuture.runAsync(() -> {
+            try {
+                attachmentService.appendChunk(uploadId, 0, slowBody);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<?> cancel = CompletableFuture.runAsync(() -> {
+            try {
+                attachmentService.cancelUpload(uploadId);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertThat(cancel).isNotDone();
+
+        release.countDown();
+        chunk.get(5, TimeUnit.SECONDS);
+        cancel.get(5, TimeUnit.SECONDS);
+
+        assertThat(parts.resolve(uploadId + ".part")).doesNotExist();
+        assertThat(attachmentService.getUpload(uploadId)).isEmpty();
+    }
+
+    @Test
+    void chunkAfterACancelDoesNotRecreateThePart() throws IOException {
+        String uploadId = start(8);
+        attachmentService.cancelUpload(uploadId);
+
+        assertThatThrownBy(() -> attachmentService.appendChunk(uploadId, 0, new ByteArrayInputStream(new byte[4])))
+                .hasMessage("Upload not found");
+        assertThat(parts.resolve(uploadId + ".part")).doesNotExist();
+    }
+
+    @Test
+    void cancellingAnUnknownUploadIsANoOp() throws IOException {
+        attachmentService.cancelUpload("no-such-upload");
+    }
+
+    @Test
+    void uploadsOfTheSameContentKeepTheirOwnNameAndTypeButShareTheFile() throws IOException {
+        Attachment first = upload("itinerary.pdf", "application/pdf");
+        Attachment second = upload("copy.txt", "text/plain");
+
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(first.getFileName()).isEqualTo("itinerary.pdf");
+        assertThat(second.getFileName()).isEqualTo("copy.txt");
+        assertThat(second.getContentType()).isEqualTo("text/plain");
+        verify(attachmentRepository, times(2)).save(any());
+        try (Stream<Path> files = Files.list(parts)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(new LocalAttachmentStorage(root).contains(first.getContentHash())).isTrue();
+    }
+
+    private String start(long size) {
+        return start(size, "file.bin", "application/octet-stream");
+    }
+
+    private String start(long size, String fileName, String contentType) {
+        AttachmentUploadRequest request = new AttachmentUploadRequest();
+        request.setFileName(fileName);
+        request.setContentType(contentType);
+        request.setSize(size);
+        return attachmentService.startUpload(request).getUploadId();
+    }
+
+    private Attachment upload(String fileName, String contentType) throws IOException {
+        String uploadId = start(4, fileName, contentType);
+        attachmentService.appendChunk(uploadId, 0, new ByteArrayInputStream(new byte[] {1, 2, 3, 4}));
+        return attachmentService.completeUpload(uploadId);
+    }
+
+    private Path writePart(String uploadId, Duration age) throws IOException {
+        Path part = parts.resolve(uploadId + ".part");
+        Files.write(part, new byte[4]);
+        Files.setLastModifiedTime(part, FileTime.from(Instant.now().minus(age)));
+        return part;
+    }
+}
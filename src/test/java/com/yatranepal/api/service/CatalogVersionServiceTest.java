@@ -0,0 +1,104 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.CatalogVersion;
+import com.yatranepal.api.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionServiceTest {
+
+    private CatalogVersionRepository repository;
+    private CatalogVersionService catalogVersionService;
+
+    @BeforeEach
+    void setUp() {
+        CatalogVersion version = mock(CatalogVersion.class);
+        when(version.getVersion()).thenReturn(42L);
+        when(version.getUpdatedAt()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+        repository = mock(CatalogVersionRepository.class);
+        when(repository.findById("hotels")).thenReturn(Optional.of(version));
+        catalogVersionService = newInstance();
+    }
+
+    @Test
+    void listingVariesByAcceptAlongsideOtherVaryFields() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+
+        boolean notModified = catalogVersionService.checkNotModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/hotels"), response),
+                CatalogVersionService.Catalog.HOTELS);
+
+        assertThat(notModified).isFalse();
+        assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"hotels-42\"");
+    }
+
+    @Test
+    void notModifiedResponseVariesByAcceptOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"hotels-42\"");
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader(HttpHeaders.VARY, "Origin, accept");
+
+        boolean notModified = catalogVersionService.checkNotModified(new ServletWebRequest(request, response),
+                CatalogVersionService.Catalog.HOTELS);
+
+        assertThat(notModified).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly("Origin, accept");
+    }
+
+    @Test
+    void indexInStepWithTheCatalogSharesItsValidators() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        catalogVersionService.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/hotels"), response),
+                CatalogVersionService.Catalog.HOTELS, new CatalogVersionService.IndexVersion(42, 0));
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"hotels-42\"");
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void indexWithLocalChangesIsTaggedPerInstance() {
+        // Both instances reloaded at 41 and applied one change of their own since
+        CatalogVersionService.IndexVersion index = new CatalogVersionService.IndexVersion(41, 1);
+        CatalogVersionService other = newInstance();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        catalogVersionService.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/hotels"), response),
+                CatalogVersionService.Catalog.HOTELS, index);
+        String etag = response.getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).startsWith("W/\"hotels-42-").endsWith(".41.1\"");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+        assertThat(revalidate(catalogVersionService, etag, index)).isTrue();
+        assertThat(revalidate(other, etag, index)).isFalse();
+    }
+
+    private CatalogVersionService newInstance() {
+        CatalogVersionService service = new CatalogVersionService();
+        ReflectionTestUtils.setField(service, "catalogVersionRepository", repository);
+        return service;
+    }
+
+    private static boolean revalidate(CatalogVersionService service, String etag, CatalogVersionService.IndexVersion index) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return service.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse()),
+                CatalogVersionService.Catalog.HOTELS, index);
+    }
+}
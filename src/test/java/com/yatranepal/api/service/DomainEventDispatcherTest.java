@@ -0,0 +1,253 @@
+package com.yatranepal.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yatranepal.api.model.DomainEventRecord;
+import com.yatranepal.api.model.DomainEventRecord.EventStatus;
+import com.yatranepal.api.repository.DomainEventRecordRepository;
+import com.yatranepal.api.repository.PostgresTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Each dispatcher started here stands in for one node; they share the domain_events table
+@PostgresTest
+class DomainEventDispatcherTest {
+
+    private static final long LEASE_MS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<DomainEventDispatcher> dispatchers = new ArrayList<>();
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @Autowired
+    private DomainEventRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        released.countDown();
+        for (DomainEventDispatcher dispatcher : dispatchers) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void redeliversTheRestOfABatchAfterTheNodeDiesMidway() {
+        for (long message = 1; message <= 5; message++) {
+            publish(new DomainEvent.MessagePosted(message, 7L, 1L), "presence");
+        }
+
+        // Node A takes all five, delivers two and hangs inside the third. Stopping its poller as well
+        // leaves it like a killed process: nothing it holds is ever marked again
+        List<Long> deliveredByA = new CopyOnWriteArrayList<>();
+        CountDownLatch hung = new CountDownLatch(1);
+        DomainEventDispatcher nodeA = start(listener("presence", DomainEvent.MessagePosted.class, event -> {
+            if (event.messageId() == 3) {
+                hung.countDown();
+                awaitQuietly(released);
+                throw new IllegalStateException("Node A is gone");
+            }
+            deliveredByA.add(event.messageId());
+        }));
+        await().atMost(Duration.ofSeconds(5)).until(() -> hung.getCount() == 0);
+        ((ScheduledExecutorService) ReflectionTestUtils.getField(nodeA, "poller")).shutdownNow();
+
+        assertThat(deliveredByA).containsExactly(1L, 2L);
+        assertThat(statuses()).containsExactly(EventStatus.DELIVERED, EventStatus.DELIVERED,
+                EventStatus.DISPATCHING, EventStatus.DISPATCHING, EventStatus.DISPATCHING);
+
+        // Node B leaves the leased rows alone until the lease runs out, then takes them over
+        LocalDateTime leaseExpiry = rows().get(2).getNextAttemptAt();
+        List<Long> deliveredByB = new CopyOnWriteArrayList<>();
+        start(listener("presence", DomainEvent.MessagePosted.class, event -> deliveredByB.add(event.messageId())));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> deliveredByB.size() == 3);
+
+        assertThat(deliveredByB).containsExactly(3L, 4L, 5L);
+        assertThat(rows().get(2).getDeliveredAt()).isAfterOrEqualTo(leaseExpiry);
+        assertThat(statuses()).containsOnly(EventStatus.DELIVERED);
+        assertThat(rows()).allSatisfy(row -> assertThat(row.getAttempts()).isEqualTo(1));
+    }
+
+    @Test
+    void listenersOfASealedGroupReceiveEveryEventInIt() {
+        List<DomainEvent> anyReview = new CopyOnWriteArrayList<>();
+        List<DomainEvent> createdOnly = new CopyOnWriteArrayList<>();
+        DomainEventDispatcher dispatcher = start(listener("anyReview", DomainEvent.ReviewEvent.class, anyReview::add),
+                listener("createdOnly", DomainEvent.ReviewCreated.class, createdOnly::add));
+
+        assertThat(dispatcher.listenerNames(DomainEvent.ReviewCreated.class)).containsExactly("anyReview", "createdOnly");
+        assertThat(dispatcher.listenerNames(DomainEvent.ReviewChanged.class)).containsExactly("anyReview");
+        assertThat(dispatcher.listenerNames(DomainEvent.MessagePosted.class)).isEmpty();
+        publish(new DomainEvent.ReviewCreated(1L, 10L, "HOTEL", 4), "anyReview", "createdOnly");
+        publish(new DomainEvent.ReviewChanged(1L, 10L, "HOTEL"), "anyReview");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> statuses().stream().allMatch(EventStatus.DELIVERED::equals));
+
+        assertThat(anyReview).containsExactly(new DomainEvent.ReviewCreated(1L, 10L, "HOTEL", 4),
+                new DomainEvent.ReviewChanged(1L, 10L, "HOTEL"));
+        assertThat(createdOnly).containsExactly(new DomainEvent.ReviewCreated(1L, 10L, "HOTEL", 4));
+    }
+
+    @Test
+    void failingListenerIsRetriedWithoutRedeliveringToTheOthers() {
+        List<DomainEvent> stats = new CopyOnWriteArrayList<>();
+        AtomicInteger ratingAttempts = new AtomicInteger();
+        start(listener("stats", DomainEvent.ReviewCreated.class, stats::add),
+                listener("rating", DomainEvent.ReviewCreated.class, event -> {
+                    if (ratingAttempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Deadlock detected");
+                    }
+                }));
+        ReflectionTestUtils.setField(dispatchers.get(0), "retryBaseMs", 50L);
+
+        publish(new DomainEvent.ReviewCreated(1L, 10L, "HOTEL", 4), "stats", "rating");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> statuses().stream().allMatch(EventStatus.DELIVERED::equals));
+        assertThat(stats).hasSize(1);
+        assertThat(ratingAttempts).hasValue(2);
+        assertThat(rows()).extracting(DomainEventRecord::getAttempts).containsExactly(1, 2);
+    }
+
+    @Test
+    void rowsFromBeforeTheUpgradeAreSplitPerListener() {
+        List<DomainEvent> stats = new CopyOnWriteArrayList<>();
+        List<DomainEvent> rating = new CopyOnWriteArrayList<>();
+        publish(new DomainEvent.ReviewCreated(1L, 10L, "HOTEL", 4), (String) null);
+
+        start(listener("stats", DomainEvent.ReviewCreated.class, stats::add),
+                listener("rating", DomainEvent.ReviewCreated.class, rating::add));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> statuses().size() == 3
+                && statuses().stream().allMatch(EventStatus.DELIVERED::equals));
+        assertThat(stats).hasSize(1);
+        assertThat(rating).hasSize(1);
+        assertThat(rows()).extracting(DomainEventRecord::getListener).containsExactly(null, "stats", "rating");
+    }
+
+    @Test
+    void concurrentNodesDeliverEveryEventExactlyOnce() {
+        List<Long> deliveredByA = new CopyOnWriteArrayList<>();
+        List<Long> deliveredByB = new CopyOnWriteArrayList<>();
+        start(listener("presence", DomainEvent.MessagePosted.class, event -> slowly(deliveredByA, event.messageId())));
+        start(listener("presence", DomainEvent.MessagePosted.class, event -> slowly(deliveredByB, event.messageId())));
+        dispatchers.forEach(dispatcher -> ReflectionTestUtils.setField(dispatcher, "batchSize", 10));
+
+        LongStream.rangeClosed(1, 200).forEach(message -> publish(new DomainEvent.MessagePosted(message, 7L, 1L), "presence"));
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> deliveredByA.size() + deliveredByB.size() >= 200
+                && statuses().stream().allMatch(EventStatus.DELIVERED::equals));
+        assertThat(deliveredByA).isNotEmpty();
+        assertThat(deliveredByB).isNotEmpty();
+        assertThat(Stream.concat(deliveredByA.stream(), deliveredByB.stream()).sorted())
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 200).boxed().toList());
+        assertThat(rows()).allSatisfy(row -> assertThat(row.getAttempts()).isEqualTo(1));
+    }
+
+    private void publish(DomainEvent event, String... listeners) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            for (String listener : listeners) {
+                repository.save(new DomainEventRecord(event.getClass().getSimpleName(), event.aggregateId(), payload, listener));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private DomainEventDispatcher start(DomainEventListener<?>... listeners) {
+        ObjectProvider<DomainEventListener<?>> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(listeners));
+
+        DomainEventDispatcher dispatcher = new DomainEventDispatcher(transactionManager, 2);
+        ReflectionTestUtils.setField(dispatcher, "domainEventRecordRepository", repository);
+        ReflectionTestUtils.setField(dispatcher, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(dispatcher, "listenerProvider", provider);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "pollIntervalMs", 20L);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 10);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "retryMaxMs", 600_000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", LEASE_MS);
+        dispatcher.start();
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private List<DomainEventRecord> rows() {
+        return repository.findAll(Sort.by("id"));
+    }
+
+    private List<EventStatus> statuses() {
+        return rows().stream().map(DomainEventRecord::getStatus).toList();
+    }
+
+    private static <E extends DomainEvent> DomainEventListener<E> listener(String name, Class<E> type, Consumer<E> handler) {
+        return new DomainEventListener<>() {
+            @Override
+            public Class<E> eventType() {
+                return type;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void onEvent(E event) {
+                handler.accept(event);
+            }
+        };
+    }
+
+    // Long enough for the other node's poller to find rows still due
+    private static void slowly(List<Long> delivered, long messageId) {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delivered.add(messageId);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
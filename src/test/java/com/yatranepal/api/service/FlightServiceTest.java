@@ -0,0 +1,70 @@
+package com.yatranepal.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightServiceTest {
+
+    private final AtomicLong upstreamTime = new AtomicLong(1_700_000_000);
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        // Every fetch returns a new body, so every refresh publishes a new version
+        OutboundHttpClient outboundHttpClient = mock(OutboundHttpClient.class);
+        when(outboundHttpClient.getBytes(any(), any())).thenAnswer(invocation -> Mono.just(body(upstreamTime.incrementAndGet())));
+
+        flightService = new FlightService();
+        ReflectionTestUtils.setField(flightService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(flightService, "outboundHttpClient", outboundHttpClient);
+        ReflectionTestUtils.setField(flightService, "openSkyUrl", "http://opensky.test/");
+        ReflectionTestUtils.setField(flightService, "refreshIntervalMs", 10L);
+        ReflectionTestUtils.setField(flightService, "maxBackoffMs", 100L);
+        ReflectionTestUtils.setField(flightService, "initialWaitMs", 1000L);
+        ReflectionTestUtils.setField(flightService, "deltaHistory", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightService.stop();
+    }
+
+    @Test
+    void failingListenerNeitherStopsRefreshesNorStarvesTheOthers() {
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        flightService.addListener(states -> {
+            throw new RejectedExecutionException("sender pool full");
+        });
+        flightService.addListener(states -> delivered.add(states.getVersion()));
+
+        flightService.start();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> delivered.size() >= 3);
+        assertThat(delivered).isSorted().doesNotHaveDuplicates();
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                flightService.getNepalFlights().orElseThrow().states().getVersion() > delivered.get(2));
+    }
+
+    private static byte[] body(long time) {
+        return ("{\"time\":" + time + ",\"states\":[[\"abc123\",\"NPL1 \",\"Nepal\"," + time + "," + time
+                + ",85.3,27.7,10000.0,false,220.5,90.0,0.0,null,10100.0,\"1234\",false,0]]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
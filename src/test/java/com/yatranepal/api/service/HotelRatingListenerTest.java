@@ -0,0 +1,87 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.Review;
+import com.yatranepal.api.repository.HotelRepository;
+import com.yatranepal.api.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Each test stands in for the dispatcher's delivery transaction with a bare synchronization scope
+class HotelRatingListenerTest {
+
+    private ReviewRepository reviewRepository;
+    private HotelRepository hotelRepository;
+    private HotelSearchIndex hotelSearchIndex;
+    private HotelRatingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = mock(ReviewRepository.class);
+        hotelRepository = mock(HotelRepository.class);
+        hotelSearchIndex = mock(HotelSearchIndex.class);
+        listener = new HotelRatingListener();
+        ReflectionTestUtils.setField(listener, "reviewRepository", reviewRepository);
+        ReflectionTestUtils.setField(listener, "hotelRepository", hotelRepository);
+        ReflectionTestUtils.setField(listener, "hotelSearchIndex", hotelSearchIndex);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void searchIndexTakesTheNewRatingOnlyAfterCommit() {
+        HotelRepository.SearchRow row = mock(HotelRepository.SearchRow.class);
+        when(reviewRepository.findAverageRatingByItemAndModel(10L, Review.ReviewedModel.HOTEL)).thenReturn(3.66);
+        when(hotelRepository.findSearchRow(10L)).thenReturn(Optional.of(row));
+
+        listener.onEvent(new DomainEvent.ReviewChanged(5L, 10L, "HOTEL"));
+
+        verify(hotelRepository).updateRating(10L, 3.7);
+        verifyNoInteractions(hotelSearchIndex);
+
+        commit();
+
+        verify(hotelSearchIndex).put(row);
+    }
+
+    @Test
+    void searchIndexDropsAHotelThatIsGoneByCommit() {
+        when(reviewRepository.findAverageRatingByItemAndModel(10L, Review.ReviewedModel.HOTEL)).thenReturn(null);
+        when(hotelRepository.findSearchRow(10L)).thenReturn(Optional.empty());
+
+        listener.onEvent(new DomainEvent.ReviewChanged(5L, 10L, "HOTEL"));
+        commit();
+
+        verify(hotelRepository).updateRating(10L, null);
+        verify(hotelSearchIndex).remove(10L);
+    }
+
+    @Test
+    void reviewsOfOtherItemsLeaveHotelsAlone() {
+        listener.onEvent(new DomainEvent.ReviewChanged(5L, 10L, "PLACE"));
+        commit();
+
+        verify(hotelRepository, never()).updateRating(any(), any());
+        verifyNoInteractions(hotelSearchIndex);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.ImageSlider;
+import com.yatranepal.api.repository.ImageSliderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageSliderServiceTest {
+
+    private ImageSliderRepository imageSliderRepository;
+    private ImageSliderService imageSliderService;
+
+    @BeforeEach
+    void setUp() {
+        imageSliderRepository = mock(ImageSliderRepository.class);
+        when(imageSliderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        imageSliderService = new ImageSliderService();
+        ReflectionTestUtils.setField(imageSliderService, "imageSliderRepository", imageSliderRepository);
+        ReflectionTestUtils.setField(imageSliderService, "imageVariantService", mock(ImageVariantService.class));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void updateEvictsTheCachedImageOnlyOnCommit() {
+        when(imageSliderRepository.findById(3L)).thenReturn(Optional.of(slider("old.png")));
+        imageSliderService.getSliderImage(3L);
+
+        imageSliderService.updateImageSlider(3L, slider("new.png"));
+        assertThat(imageSliderService.getSliderImage(3L)).get().extracting(ImageSlider::getImagePath).isEqualTo("old.png");
+
+        when(imageSliderRepository.findById(3L)).thenReturn(Optional.of(slider("new.png")));
+        commit();
+
+        assertThat(imageSliderService.getSliderImage(3L)).get().extracting(ImageSlider::getImagePath).isEqualTo("new.png");
+    }
+
+    @Test
+    void readOverlappingAnEvictionIsNotCached() {
+        // The read sees the row as it was, and the update commits before the read caches it
+        when(imageSliderRepository.findById(3L)).thenAnswer(invocation -> {
+            imageSliderService.deleteImageSlider(3L);
+            commit();
+            return Optional.of(slider("old.png"));
+        }).thenReturn(Optional.empty());
+
+        assertThat(imageSliderService.getSliderImage(3L)).isPresent();
+
+        assertThat(imageSliderService.getSliderImage(3L)).isEmpty();
+        verify(imageSliderRepository, times(2)).findById(3L);
+    }
+
+    private static ImageSlider slider(String imagePath) {
+        ImageSlider slider = new ImageSlider();
+        slider.setImagePath(imagePath);
+        return slider;
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
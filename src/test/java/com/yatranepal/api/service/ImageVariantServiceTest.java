@@ -0,0 +1,70 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.service.ImageDeliveryService.ImageFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path root;
+
+    private ImageDeliveryService imageDeliveryService;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        imageDeliveryService = new ImageDeliveryService(root.toString());
+        imageVariantService = new ImageVariantService(1, 4);
+        ReflectionTestUtils.setField(imageVariantService, "imageDeliveryService", imageDeliveryService);
+        ReflectionTestUtils.setField(imageVariantService, "waitMs", 10_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    void jpegVariantsAreJpegsWhetherScaledOrCopied() throws IOException {
+        ImageFile wide = original("wide.jpg", "jpeg", 800);
+        ImageFile narrow = original("narrow.jpg", "jpeg", 100);
+
+        ImageFile scaled = imageVariantService.select(wide, 160);
+        ImageFile copied = imageVariantService.select(narrow, 160);
+
+        assertThat(scaled.path()).isNotEqualTo(wide.path());
+        assertThat(scaled.contentType()).isEqualTo("image/jpeg");
+        assertThat(ImageIO.read(scaled.path().toFile()).getWidth()).isEqualTo(160);
+        assertThat(copied.path()).isNotEqualTo(narrow.path());
+        assertThat(copied.contentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    void formatsThatAreNotReencodedGetNoVariants() throws IOException {
+        ImageFile wide = original("wide.gif", "gif", 800);
+        ImageFile narrow = original("narrow.gif", "gif", 100);
+
+        assertThat(imageVariantService.select(wide, 160)).isEqualTo(wide);
+        assertThat(imageVariantService.select(narrow, 160)).isEqualTo(narrow);
+        imageVariantService.pregenerate(List.of("wide.gif", "narrow.gif"));
+
+        assertThat(root.resolve("variants")).doesNotExist();
+    }
+
+    private ImageFile original(String name, String format, int width) throws IOException {
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_RGB), format, root.resolve(name).toFile());
+        return imageDeliveryService.resolve(name).orElseThrow();
+    }
+}
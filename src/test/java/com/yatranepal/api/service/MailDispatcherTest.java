@@ -0,0 +1,347 @@
+package com.yatranepal.api.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.yatranepal.api.model.MailOutbox;
+import com.yatranepal.api.model.MailOutbox.MailStatus;
+import com.yatranepal.api.model.MailOutbox.MailType;
+import com.yatranepal.api.repository.MailOutboxRepository;
+import com.yatranepal.api.repository.PostgresTest;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Runs MailDispatcher against a GreenMail SMTP server and the mail_outbox table
+@PostgresTest
+class MailDispatcherTest {
+
+    private static final long RETRY_BASE_MS = 60_000;
+
+    private final List<MailDispatcher> dispatchers = new ArrayList<>();
+
+    @Autowired
+    private MailOutboxRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private PasswordResetService passwordResetService;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+
+        mailSender = spy(new JavaMailSenderImpl());
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        passwordResetService = mock(PasswordResetService.class);
+
+        dispatcher = newDispatcher();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MailDispatcher node : dispatchers) {
+            node.shutdown();
+        }
+        greenMail.stop();
+    }
+
+    @Test
+    void sendsEachClaimedBatchInOneCall() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        for (int i = 0; i < 5; i++) {
+            queue("guest" + i + "@example.com");
+        }
+
+        dispatchUntilSettled();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(repository.findAll()).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailStatus.SENT);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+            assertThat(mail.getSentAt()).isNotNull();
+        });
+        // 2 + 2 + 1
+        verify(mailSender, times(3)).send(any(MimeMessage[].class));
+        assertThat(dispatcher.getStats().sent()).isEqualTo(5);
+    }
+
+    @Test
+    void backsOffExponentiallyWhileTheServerIsDown() {
+        MailOutbox mail = queue("guest@example.com");
+        greenMail.stop();
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatchUntilSettled();
+
+        mail = reload(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotBlank();
+        assertDelay(before, mail, RETRY_BASE_MS / 2, RETRY_BASE_MS);
+
+        makeDue(mail);
+        before = LocalDateTime.now();
+        dispatchUntilSettled();
+
+        mail = reload(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(2);
+        assertDelay(before, mail, RETRY_BASE_MS, 2 * RETRY_BASE_MS);
+
+        greenMail.start();
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        makeDue(mail);
+        dispatchUntilSettled();
+
+        mail = reload(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(mail.getAttempts()).isEqualTo(3);
+        assertThat(mail.getLastError()).isNull();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void retriesTransientRepliesAndGivesUpOnRejectedRecipients() throws Exception {
+        MailOutbox busy = queue("busy@example.com");
+        MailOutbox unknown = queue("unknown@example.com");
+        MailOutbox fine = queue("fine@example.com");
+        // What JavaMailSenderImpl reports when the server answers 451 to one message and 550 to another
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (MimeMessage message : messages) {
+                String to = message.getAllRecipients()[0].toString();
+                if (to.equals("busy@example.com")) {
+                    failed.put(message, new SMTPSendFailedException("DATA", 451, "451 Try again later",
+                            null, null, null, null));
+                } else if (to.equals("unknown@example.com")) {
+                    SendFailedException rejected = new SendFailedException("Invalid Addresses");
+                    rejected.setNextException(new SMTPAddressFailedException(new InternetAddress(to),
+                            "RCPT TO", 550, "550 No such user"));
+                    failed.put(message, rejected);
+                }
+            }
+            throw new MailSendException(failed);
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatchUntilSettled();
+
+        assertThat(reload(busy).getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(reload(busy).getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(reload(unknown).getStatus()).isEqualTo(MailStatus.FAILED);
+        assertThat(reload(unknown).getAttempts()).isEqualTo(1);
+        assertThat(reload(fine).getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(dispatcher.getStats().failedAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void failsPermanentlyWhenTheMessageCannotBeBuilt() {
+        MailOutbox malformed = queue("not an address");
+        MailOutbox fine = queue("fine@example.com");
+
+        dispatchUntilSettled();
+
+        malformed = reload(malformed);
+        assertThat(malformed.getStatus()).isEqualTo(MailStatus.FAILED);
+        assertThat(malformed.getAttempts()).isEqualTo(1);
+        assertThat(malformed.getLastError()).isNotBlank();
+        assertThat(reload(fine).getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+        MailOutbox mail = queue("guest@example.com");
+        greenMail.stop();
+
+        dispatchUntilSettled();
+        assertThat(reload(mail).getStatus()).isEqualTo(MailStatus.PENDING);
+
+        makeDue(mail);
+        dispatchUntilSettled();
+
+        assertThat(reload(mail).getStatus()).isEqualTo(MailStatus.FAILED);
+        assertThat(reload(mail).getAttempts()).isEqualTo(2);
+        assertThat(dispatcher.getStats().failedAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void rendersResetLinksAtSendTimeOnly() throws Exception {
+        String body = "Use the link below:\n\n" + MailService.RESET_LINK + "\n";
+        MailOutbox mail = queue("guest@example.com", MailType.PASSWORD_RESET, body);
+        when(passwordResetService.issueToken("guest@example.com")).thenReturn(Optional.of("abc123"));
+
+        dispatchUntilSettled();
+
+        assertThat(reload(mail).getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(reload(mail).getBody()).isEqualTo(body);
+        assertThat((String) greenMail.getReceivedMessages()[0].getContent())
+                .contains("https://yatranepal.test/reset-password?token=abc123");
+    }
+
+    @Test
+    void resetMailForAVanishedAccountFailsPermanently() {
+        MailOutbox mail = queue("gone@example.com", MailType.PASSWORD_RESET, MailService.RESET_LINK);
+        when(passwordResetService.issueToken("gone@example.com")).thenReturn(Optional.empty());
+
+        dispatchUntilSettled();
+
+        assertThat(reload(mail).getStatus()).isEqualTo(MailStatus.FAILED);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void purgesFinishedMailInChunks() {
+        // More than one chunk of old finished mail, plus rows that have to stay
+        jdbcTemplate.update("INSERT INTO mail_outbox (recipient, subject, body, type, status, attempts, next_attempt_at, " +
+                "created_at, sent_at) SELECT 'guest' || g || '@example.com', 'Hello', 'Hello', 'RESERVATION_CONFIRMED', " +
+                "CASE WHEN g % 2 = 0 THEN 'SENT' ELSE 'FAILED' END, 1, now() - interval '200 hours', " +
+                "now() - interval '200 hours', now() - interval '200 hours' FROM generate_series(1, 1500) g");
+        MailOutbox recent = queue("recent@example.com");
+        recent.setStatus(MailStatus.SENT);
+        recent.setSentAt(LocalDateTime.now());
+        repository.save(recent);
+        MailOutbox stuck = queue("stuck@example.com");
+        stuck.setNextAttemptAt(LocalDateTime.now().minusHours(200));
+        repository.save(stuck);
+
+        dispatcher.purgeFinished();
+
+        assertThat(repository.findAll()).extracting(MailOutbox::getRecipient)
+                .containsExactlyInAnyOrder("recent@example.com", "stuck@example.com");
+    }
+
+    @Test
+    void concurrentNodesSendEveryMailExactlyOnce() throws Exception {
+        MailDispatcher other = newDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 5);
+        ReflectionTestUtils.setField(other, "batchSize", 5);
+        for (int i = 0; i < 100; i++) {
+            queue("guest" + i + "@example.com");
+        }
+
+        dispatchUntilSettled(dispatcher, other);
+
+        assertThat(Arrays.stream(greenMail.getReceivedMessages()).map(MailDispatcherTest::recipient))
+                .hasSize(100).doesNotHaveDuplicates();
+        assertThat(repository.findAll()).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailStatus.SENT);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+        });
+        assertThat(dispatcher.getStats().sent()).isPositive();
+        assertThat(other.getStats().sent()).isPositive();
+        assertThat(dispatcher.getStats().sent() + other.getStats().sent()).isEqualTo(100);
+    }
+
+    private MailDispatcher newDispatcher() {
+        MailDispatcher node = new MailDispatcher(transactionManager, 1);
+        ReflectionTestUtils.setField(node, "mailOutboxRepository", repository);
+        ReflectionTestUtils.setField(node, "mailSender", mailSender);
+        ReflectionTestUtils.setField(node, "passwordResetService", passwordResetService);
+        ReflectionTestUtils.setField(node, "enabled", true);
+        ReflectionTestUtils.setField(node, "from", "no-reply@yatranepal.com");
+        ReflectionTestUtils.setField(node, "resetPasswordUrl", "https://yatranepal.test/reset-password");
+        ReflectionTestUtils.setField(node, "batchSize", 50);
+        ReflectionTestUtils.setField(node, "maxAttempts", 8);
+        ReflectionTestUtils.setField(node, "retryBaseMs", RETRY_BASE_MS);
+        ReflectionTestUtils.setField(node, "retryMaxMs", 3_600_000L);
+        ReflectionTestUtils.setField(node, "leaseMs", 300_000L);
+        ReflectionTestUtils.setField(node, "retentionHours", 168L);
+        dispatchers.add(node);
+        return node;
+    }
+
+    private MailOutbox queue(String recipient) {
+        return queue(recipient, MailType.RESERVATION_CONFIRMED, "Hello");
+    }
+
+    private MailOutbox queue(String recipient, MailType type, String body) {
+        MailOutbox mail = new MailOutbox(recipient, "Your reservation is confirmed", body, type);
+        mail.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        return repository.save(mail);
+    }
+
+    private MailOutbox reload(MailOutbox mail) {
+        return repository.findById(mail.getId()).orElseThrow();
+    }
+
+    private void makeDue(MailOutbox mail) {
+        MailOutbox row = reload(mail);
+        row.setNextAttemptAt(LocalDateTime.now());
+        repository.save(row);
+    }
+
+    private void dispatchUntilSettled() {
+        dispatchUntilSettled(dispatcher);
+    }
+
+    // Keeps every node dispatching, all at once, until nothing is due and no batch is in flight
+    private void dispatchUntilSettled(MailDispatcher... nodes) {
+        await().atMost(Duration.ofSeconds(20)).pollInterval(Duration.ofMillis(20)).until(() -> {
+            CompletableFuture.allOf(Arrays.stream(nodes)
+                    .map(node -> CompletableFuture.runAsync(node::dispatch))
+                    .toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            LocalDateTime now = LocalDateTime.now();
+            return repository.findAll().stream().noneMatch(mail -> mail.getStatus() == MailStatus.SENDING
+                    || mail.getStatus() == MailStatus.PENDING && !mail.getNextAttemptAt().isAfter(now));
+        });
+    }
+
+    private static String recipient(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertDelay(LocalDateTime before, MailOutbox mail, long minMs, long maxMs) {
+        assertThat(mail.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plus(Duration.ofMillis(minMs)))
+                .isBefore(LocalDateTime.now().plus(Duration.ofMillis(maxMs)).plusSeconds(1));
+    }
+}
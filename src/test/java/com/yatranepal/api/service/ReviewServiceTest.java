@@ -0,0 +1,85 @@
+package com.yatranepal.api.service;
+
+import com.yatranepal.api.model.Review;
+import com.yatranepal.api.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewServiceTest {
+
+    private ReviewRepository reviewRepository;
+    private DomainEventPublisher domainEventPublisher;
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = mock(ReviewRepository.class);
+        domainEventPublisher = mock(DomainEventPublisher.class);
+        reviewService = new ReviewService();
+        ReflectionTestUtils.setField(reviewService, "reviewRepository", reviewRepository);
+        ReflectionTestUtils.setField(reviewService, "domainEventPublisher", domainEventPublisher);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updatePublishesAChangeForTheReviewedItem() {
+        when(reviewRepository.findById(5L)).thenReturn(Optional.of(review(5L, 10L, 4)));
+
+        reviewService.updateReview(5L, review(null, 10L, 2));
+
+        verify(domainEventPublisher).publish(new DomainEvent.ReviewChanged(5L, 10L, "HOTEL"));
+    }
+
+    @Test
+    void updateThatMovesAReviewPublishesForBothItems() {
+        when(reviewRepository.findById(5L)).thenReturn(Optional.of(review(5L, 10L, 4)));
+
+        reviewService.updateReview(5L, review(null, 11L, 4));
+
+        ArgumentCaptor<DomainEvent> events = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(domainEventPublisher, times(2)).publish(events.capture());
+        assertThat(events.getAllValues()).containsExactly(new DomainEvent.ReviewChanged(5L, 11L, "HOTEL"),
+                new DomainEvent.ReviewChanged(5L, 10L, "HOTEL"));
+    }
+
+    @Test
+    void deletePublishesAChangeForTheItemItWasOn() {
+        Review existing = review(5L, 10L, 4);
+        when(reviewRepository.findById(5L)).thenReturn(Optional.of(existing));
+
+        reviewService.deleteReview(5L);
+
+        verify(reviewRepository).delete(existing);
+        verify(domainEventPublisher).publish(new DomainEvent.ReviewChanged(5L, 10L, "HOTEL"));
+    }
+
+    @Test
+    void deletingAMissingReviewPublishesNothing() {
+        when(reviewRepository.findById(5L)).thenReturn(Optional.empty());
+
+        reviewService.deleteReview(5L);
+
+        verify(domainEventPublisher, never()).publish(any());
+    }
+
+    private static Review review(Long id, Long hotelId, int rating) {
+        Review review = new Review();
+        review.setId(id);
+        review.setReviewedItemId(hotelId);
+        review.setReviewedModel(Review.ReviewedModel.HOTEL);
+        review.setRating(rating);
+        return review;
+    }
+}